@@ -0,0 +1,54 @@
+package com.antajia.app.reservationapi.benchmarks;
+
+import com.antajia.app.reservationapi.models.ContactMethod;
+import com.antajia.app.reservationapi.models.Reservation;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Deterministic, production-shaped reservations shared by the benchmarks.
+ */
+final class BenchmarkData {
+
+    static final int SIZE = 1024;
+    static final List<ContactMethod> CONTACT_METHODS = List.of(contactMethod(1L, "Email"), contactMethod(2L, "SMS"));
+
+    private static final String[] FIRST_NAMES = {"Maria", "Jose", "Andrea", "Juan", "Angelica", "Mark", "Kristine", "Paolo"};
+    private static final String[] LAST_NAMES = {"Santos", "Reyes", "Cruz", "Bautista", "Garcia", "Mendoza", "Dela Cruz", "Villanueva"};
+
+    private BenchmarkData() {
+    }
+
+    static Reservation[] reservations() {
+        Random random = new Random(42);
+        Reservation[] reservations = new Reservation[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            String first = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)];
+            String last = LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+            Set<ContactMethod> contactMethods = random.nextInt(4) == 0
+                    ? Set.copyOf(CONTACT_METHODS)
+                    : Set.of(CONTACT_METHODS.get(random.nextInt(CONTACT_METHODS.size())));
+            Reservation reservation = new Reservation(first + " " + last,
+                    String.format("+639%09d", random.nextInt(1_000_000_000)),
+                    (first + "." + last).toLowerCase().replace(' ', '.') + i + "@example.com",
+                    LocalDate.of(2025, 1, 1).plusDays(random.nextInt(365)),
+                    LocalTime.of(11, 0).plusMinutes(30L * random.nextInt(22)),
+                    1 + random.nextInt(8),
+                    contactMethods);
+            reservation.setId(100_000L + i);
+            reservation.setVersion((long) random.nextInt(5));
+            reservations[i] = reservation;
+        }
+        return reservations;
+    }
+
+    private static ContactMethod contactMethod(Long id, String name) {
+        ContactMethod contactMethod = new ContactMethod(name);
+        contactMethod.setId(id);
+        return contactMethod;
+    }
+}
@@ -0,0 +1,62 @@
+package com.antajia.app.reservationapi.benchmarks;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import com.antajia.app.reservationapi.config.NotificationProperties;
+import com.antajia.app.reservationapi.models.Reservation;
+import com.antajia.app.reservationapi.services.NotificationService;
+import com.antajia.app.reservationapi.services.notifications.NotificationTemplates;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Notification message formatting and the notification log line.
+ * <p>
+ * Appenders are detached so the numbers cover building the log event, not console I/O. With the level at
+ * {@code WARN} the INFO line is disabled, which shows what formatting costs when nothing is logged.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class NotificationFormattingBenchmark {
+
+    @Param({"INFO", "WARN"})
+    public String level;
+
+    private NotificationService notificationService;
+    private Reservation[] reservations;
+    private String[] messages;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        Logger root = (Logger) LoggerFactory.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME);
+        root.detachAndStopAllAppenders();
+        ((Logger) LoggerFactory.getLogger(NotificationService.class)).setLevel(Level.toLevel(level));
+        notificationService = new NotificationService(null, null, null,
+                new NotificationTemplates(new NotificationProperties()), new SimpleMeterRegistry(), List.of());
+        reservations = BenchmarkData.reservations();
+        messages = new String[reservations.length];
+        for (int i = 0; i < reservations.length; i++) {
+            messages[i] = notificationService.formatNotificationMessage(reservations[i]);
+        }
+    }
+
+    @Benchmark
+    public String formatNotificationMessage() {
+        return notificationService.formatNotificationMessage(reservations[next++ & (BenchmarkData.SIZE - 1)]);
+    }
+
+    @Benchmark
+    public void logNotification() {
+        int i = next++ & (BenchmarkData.SIZE - 1);
+        notificationService.logNotification(reservations[i], messages[i], true);
+    }
+}
@@ -0,0 +1,53 @@
+package com.antajia.app.reservationapi.benchmarks;
+
+import com.antajia.app.reservationapi.dtos.ReservationDto;
+import com.antajia.app.reservationapi.models.Reservation;
+import com.antajia.app.reservationapi.repositories.ContactMethodRepository;
+import com.antajia.app.reservationapi.services.ContactMethodRegistry;
+import com.antajia.app.reservationapi.services.ReservationService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity to DTO mapping and back, as done on every read and write request.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ReservationMappingBenchmark {
+
+    private ReservationService reservationService;
+    private Reservation[] reservations;
+    private ReservationDto[] dtos;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        ContactMethodRepository contactMethodRepository = Mockito.mock(ContactMethodRepository.class);
+        Mockito.when(contactMethodRepository.findAll()).thenReturn(BenchmarkData.CONTACT_METHODS);
+        ContactMethodRegistry contactMethodRegistry = new ContactMethodRegistry(contactMethodRepository, new SimpleMeterRegistry());
+        contactMethodRegistry.load();
+        reservationService = new ReservationService(null, contactMethodRegistry, null, null, null, null, null, null, null, null);
+        reservations = BenchmarkData.reservations();
+        dtos = new ReservationDto[reservations.length];
+        for (int i = 0; i < reservations.length; i++) {
+            dtos[i] = reservationService.convertToDto(reservations[i]);
+        }
+    }
+
+    @Benchmark
+    public ReservationDto convertToDto() {
+        return reservationService.convertToDto(reservations[next++ & (BenchmarkData.SIZE - 1)]);
+    }
+
+    @Benchmark
+    public Reservation convertToEntity() {
+        return reservationService.convertToEntity(dtos[next++ & (BenchmarkData.SIZE - 1)]);
+    }
+}
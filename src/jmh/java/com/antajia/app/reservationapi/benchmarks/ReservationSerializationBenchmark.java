@@ -0,0 +1,80 @@
+package com.antajia.app.reservationapi.benchmarks;
+
+import com.antajia.app.reservationapi.dtos.ReservationDto;
+import com.antajia.app.reservationapi.dtos.ReservationDtoSerializer;
+import com.antajia.app.reservationapi.models.Reservation;
+import com.antajia.app.reservationapi.services.ReservationService;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialization of reservations, for a single GET by id and for a default sized page, comparing reflective
+ * bean serialization with {@link ReservationDtoSerializer}, in JSON and CBOR. The mappers are built the way
+ * Spring Boot builds them for the web layer.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ReservationSerializationBenchmark {
+
+    private static final int PAGE_SIZE = 50;
+
+    @Param({"reflective", "streaming"})
+    public String serializer;
+
+    @Param({"json", "cbor"})
+    public String format;
+
+    private ObjectWriter singleWriter;
+    private ObjectWriter pageWriter;
+    private ReservationDto[] dtos;
+    private List<ReservationDto> page;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        if (serializer.equals("streaming")) {
+            builder.serializers(new ReservationDtoSerializer());
+        }
+        if (format.equals("cbor")) {
+            builder.factory(new CBORFactory());
+        }
+        ObjectMapper objectMapper = builder.build();
+        singleWriter = objectMapper.writerFor(ReservationDto.class);
+        pageWriter = objectMapper.writerFor(new TypeReference<List<ReservationDto>>() {
+        });
+        ReservationService reservationService = new ReservationService(null, null, null, null, null, null, null, null, null, null);
+        Reservation[] reservations = BenchmarkData.reservations();
+        dtos = new ReservationDto[reservations.length];
+        for (int i = 0; i < reservations.length; i++) {
+            dtos[i] = reservationService.convertToDto(reservations[i]);
+        }
+        page = Arrays.asList(Arrays.copyOf(dtos, PAGE_SIZE));
+    }
+
+    @Benchmark
+    public byte[] serializeReservation() throws IOException {
+        return singleWriter.writeValueAsBytes(dtos[next++ & (BenchmarkData.SIZE - 1)]);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PAGE_SIZE)
+    public byte[] serializePage() throws IOException {
+        return pageWriter.writeValueAsBytes(page);
+    }
+}
@@ -0,0 +1,35 @@
+package com.antajia.app.reservationapi.config;
+
+import com.antajia.app.reservationapi.utils.AdmissionControlFilter;
+import com.antajia.app.reservationapi.utils.ClientIdResolver;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Puts admission control in front of the reservation API. Actuator and documentation endpoints are not limited,
+ * so health checks keep answering while the API sheds load.
+ */
+@Configuration
+@EnableConfigurationProperties(AdmissionControlProperties.class)
+public class AdmissionControlConfig {
+
+    @Bean
+    public ClientIdResolver clientIdResolver(AdmissionControlProperties properties) {
+        return new ClientIdResolver(properties.getClientIdHeader(), properties.getTrustedProxies());
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "reservation.admission", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public FilterRegistrationBean<AdmissionControlFilter> admissionControlFilter(AdmissionControlProperties properties,
+                                                                                 ClientIdResolver clientIdResolver,
+                                                                                 MeterRegistry meterRegistry) {
+        FilterRegistrationBean<AdmissionControlFilter> registration =
+                new FilterRegistrationBean<>(new AdmissionControlFilter(properties, clientIdResolver, meterRegistry));
+        registration.addUrlPatterns("/api/*");
+        return registration;
+    }
+}
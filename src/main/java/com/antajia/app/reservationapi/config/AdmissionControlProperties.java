@@ -0,0 +1,98 @@
+package com.antajia.app.reservationapi.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Settings of the API admission control, bound from {@code reservation.admission}.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "reservation.admission")
+public class AdmissionControlProperties {
+
+    /**
+     * Whether requests to the API pass through admission control at all.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Request header a trusted proxy puts the client id in; ignored on requests from any other address.
+     */
+    private String clientIdHeader = "X-Client-Id";
+
+    /**
+     * Addresses or CIDR blocks of the proxies allowed to name the client in {@link #clientIdHeader}. Empty by
+     * default, so clients are told apart by remote address or authenticated principal.
+     */
+    private List<String> trustedProxies = new ArrayList<>();
+
+    /**
+     * Sustained requests per second allowed for each client.
+     */
+    private double clientRate = 50;
+
+    /**
+     * Requests a client may send at once after being idle.
+     */
+    private int clientBurst = 100;
+
+    /**
+     * Most clients whose buckets are remembered; the least recently seen are dropped first.
+     */
+    private long maxClients = 100_000;
+
+    /**
+     * Retry-After sent with 503 responses when a concurrency budget is exhausted.
+     */
+    private Duration overloadRetryAfter = Duration.ofSeconds(1);
+
+    /**
+     * How far each request moves a concurrency limit toward its new estimate, between 0 and 1.
+     */
+    private double smoothing = 0.2;
+
+    /**
+     * How much slower than usual requests may get before the concurrency limits shrink.
+     */
+    private double rttTolerance = 1.5;
+
+    /**
+     * Concurrency budget of GET and HEAD requests.
+     */
+    private Budget reads = new Budget(40, 4, 200);
+
+    /**
+     * Concurrency budget of every other method; writes hold a connection for longer, so keep it near the pool size.
+     */
+    private Budget writes = new Budget(16, 2, 40);
+
+    /**
+     * Ant-style paths that skip the concurrency budgets but not the client rate: long-lived responses that hold
+     * no database connection, such as the change feed, which caps its subscribers itself.
+     */
+    private List<String> unlimitedPaths = new ArrayList<>(List.of("/api/reservations/changes"));
+
+    @Getter
+    @Setter
+    public static class Budget {
+
+        private int initialLimit;
+        private int minLimit;
+        private int maxLimit;
+
+        public Budget() {
+        }
+
+        public Budget(int initialLimit, int minLimit, int maxLimit) {
+            this.initialLimit = initialLimit;
+            this.minLimit = minLimit;
+            this.maxLimit = maxLimit;
+        }
+    }
+}
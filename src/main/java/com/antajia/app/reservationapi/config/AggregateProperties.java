@@ -0,0 +1,32 @@
+package com.antajia.app.reservationapi.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings of the reservation summary counters, bound from {@code reservation.aggregates}.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "reservation.aggregates")
+public class AggregateProperties {
+
+    /**
+     * How often counter changes are written to the summary table; a crash loses at most this much, until the
+     * next reconcile.
+     */
+    private Duration flushInterval = Duration.ofSeconds(5);
+
+    /**
+     * When the counters are recomputed from the reservation tables, as a Spring cron expression.
+     */
+    private String reconcileCron = "0 30 3 * * *";
+
+    /**
+     * Whether to reconcile once the application has started, picking up rows written while it was down.
+     */
+    private boolean reconcileOnStartup = true;
+}
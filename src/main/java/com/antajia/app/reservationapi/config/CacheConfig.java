@@ -0,0 +1,39 @@
+package com.antajia.app.reservationapi.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Enables the reservation read-through cache.
+ * <p>
+ * Size and TTL come from {@code spring.cache.caffeine.spec}. Spring Boot publishes the {@code cache.gets},
+ * {@code cache.evictions} and {@code cache.size} meters for it; setting {@code spring.cache.type=none}
+ * turns caching off, e.g. for debugging. {@code ReservationService} evicts an entry only once the write that
+ * changed it has committed.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String RESERVATIONS_CACHE = "reservations";
+
+    /**
+     * Adds the hit ratio, which the standard cache meters only expose as separate hit and miss counts.
+     */
+    @Bean
+    public MeterBinder reservationCacheHitRatio(CacheManager cacheManager) {
+        return registry -> {
+            if (cacheManager.getCache(RESERVATIONS_CACHE) instanceof CaffeineCache cache) {
+                Gauge.builder("cache.hit.ratio", cache, c -> c.getNativeCache().stats().hitRate())
+                        .tag("cache", RESERVATIONS_CACHE)
+                        .description("Share of lookups answered from the cache")
+                        .register(registry);
+            }
+        };
+    }
+}
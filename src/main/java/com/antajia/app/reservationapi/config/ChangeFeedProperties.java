@@ -0,0 +1,41 @@
+package com.antajia.app.reservationapi.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings of the reservation change stream, bound from {@code reservation.changes}.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "reservation.changes")
+public class ChangeFeedProperties {
+
+    /**
+     * Most recent changes kept for subscribers that reconnect with Last-Event-ID.
+     */
+    private int bufferSize = 10_000;
+
+    /**
+     * Changes a subscriber may fall behind before it is disconnected.
+     */
+    private int queueCapacity = 256;
+
+    /**
+     * Concurrent subscribers; further ones get a 503.
+     */
+    private int maxSubscribers = 1_000;
+
+    /**
+     * Idle time after which a comment is sent, keeping proxies from closing the connection.
+     */
+    private Duration heartbeatInterval = Duration.ofSeconds(15);
+
+    /**
+     * How long one connection lasts; clients reconnect and resume from their last event.
+     */
+    private Duration timeout = Duration.ofMinutes(30);
+}
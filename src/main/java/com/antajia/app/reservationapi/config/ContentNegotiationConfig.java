@@ -0,0 +1,24 @@
+package com.antajia.app.reservationapi.config;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * Serves {@code application/cbor} to clients that ask for it in {@code Accept}, e.g. internal consumers that
+ * would rather skip JSON parsing.
+ */
+@Configuration
+public class ContentNegotiationConfig {
+
+    /**
+     * Built from Boot's mapper builder rather than Spring MVC's default CBOR mapper, so it shares the JSON
+     * mapper's modules, date handling and {@code @JsonComponent} serializers.
+     */
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.createXmlMapper(false).factory(new CBORFactory()).build());
+    }
+}
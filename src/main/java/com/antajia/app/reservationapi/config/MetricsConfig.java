@@ -0,0 +1,55 @@
+package com.antajia.app.reservationapi.config;
+
+import com.antajia.app.reservationapi.services.notifications.NotificationDispatcher;
+import com.antajia.app.reservationapi.services.notifications.NotificationScheduler;
+import com.antajia.app.reservationapi.utils.SqlStatementMetricsFilter;
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Application metrics beyond what Spring Boot binds on its own (HTTP server requests, Hikari, Tomcat, JVM).
+ */
+@Configuration
+public class MetricsConfig {
+
+    /**
+     * Backs {@code @Timed} on service classes.
+     */
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        return new TimedAspect(meterRegistry);
+    }
+
+    @Bean
+    public FilterRegistrationBean<SqlStatementMetricsFilter> sqlStatementMetricsFilter(MeterRegistry meterRegistry) {
+        return new FilterRegistrationBean<>(new SqlStatementMetricsFilter(meterRegistry));
+    }
+
+    /**
+     * Saturation of the per-channel delivery limits and the reminder timers.
+     */
+    @Bean
+    public MeterBinder notificationPoolMetrics(NotificationDispatcher dispatcher, NotificationScheduler scheduler,
+                                               NotificationProperties properties) {
+        return registry -> {
+            for (String channel : properties.getChannelConcurrency().keySet()) {
+                Gauge.builder("notification.channel.in.flight", dispatcher, d -> d.getInFlight(channel))
+                        .description("Deliveries in progress on the channel")
+                        .tag("channel", channel)
+                        .register(registry);
+                Gauge.builder("notification.channel.limit", dispatcher, d -> d.channelLimit(channel))
+                        .description("Concurrent deliveries allowed on the channel")
+                        .tag("channel", channel)
+                        .register(registry);
+            }
+            Gauge.builder("notification.scheduler.pending", scheduler, NotificationScheduler::getPendingCount)
+                    .description("Scheduled notifications waiting to fire")
+                    .register(registry);
+        };
+    }
+}
@@ -0,0 +1,27 @@
+package com.antajia.app.reservationapi.config;
+
+import com.antajia.app.reservationapi.models.Reservation;
+import com.antajia.app.reservationapi.services.notifications.LoggingNotificationSender;
+import com.antajia.app.reservationapi.services.notifications.NotificationSender;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Notification channel wiring. The logging stubs registered here are only used for channels that have no other
+ * {@link NotificationSender} bean, so a real gateway replaces them just by being declared.
+ */
+@Configuration
+@EnableConfigurationProperties({NotificationProperties.class, OutboxProperties.class})
+public class NotificationConfig {
+
+    @Bean
+    public NotificationSender emailNotificationSender() {
+        return new LoggingNotificationSender(NotificationSender.EMAIL, Reservation::getEmail);
+    }
+
+    @Bean
+    public NotificationSender smsNotificationSender() {
+        return new LoggingNotificationSender(NotificationSender.SMS, Reservation::getPhoneNumber);
+    }
+}
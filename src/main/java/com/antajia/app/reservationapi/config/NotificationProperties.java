@@ -0,0 +1,63 @@
+package com.antajia.app.reservationapi.config;
+
+import com.antajia.app.reservationapi.services.notifications.NotificationEvent;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Settings of notification delivery, reminders and templates, bound from {@code reservation.notifications}.
+ * Retries of failed deliveries are configured on the outbox, see {@link OutboxProperties}.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "reservation.notifications")
+public class NotificationProperties {
+
+    /**
+     * Concurrent deliveries allowed for channels missing from {@link #channelConcurrency}.
+     */
+    private int defaultChannelConcurrency = 8;
+
+    /**
+     * Concurrent deliveries allowed per channel name, e.g. {@code Email: 16}.
+     */
+    private Map<String, Integer> channelConcurrency = new HashMap<>();
+
+    /**
+     * How long before the reservation time the reminder is sent.
+     */
+    private Duration reminderLead = Duration.ofHours(2);
+
+    /**
+     * Resolution of the scheduler's timer wheel; scheduled notifications fire at most one tick late.
+     */
+    private Duration schedulerTick = Duration.ofMillis(100);
+
+    /**
+     * Number of buckets of the scheduler's timer wheel.
+     */
+    private int schedulerWheelSize = 512;
+
+    /**
+     * Delay before a scheduled notification that failed to fire is tried again.
+     */
+    private Duration schedulerRetryDelay = Duration.ofSeconds(30);
+
+    /**
+     * Locale of the templates used for guests, and the fallback for locales without their own templates.
+     */
+    private Locale locale = Locale.ENGLISH;
+
+    /**
+     * Message templates per locale tag and event, e.g. {@code templates.en.created}, overriding the built-in
+     * English ones. Placeholders are {@code {id}}, {@code {name}}, {@code {date}}, {@code {time}} and
+     * {@code {guests}}.
+     */
+    private Map<String, Map<NotificationEvent, String>> templates = new HashMap<>();
+}
@@ -0,0 +1,51 @@
+package com.antajia.app.reservationapi.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings of the notification outbox relay, bound from {@code reservation.outbox}.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "reservation.outbox")
+public class OutboxProperties {
+
+    /**
+     * Whether the background relay runs; outbox rows are written either way.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Events claimed and delivered together.
+     */
+    private int batchSize = 200;
+
+    /**
+     * How long the relay waits for new events when the outbox is empty.
+     */
+    private Duration pollInterval = Duration.ofMillis(500);
+
+    /**
+     * How long a claim lasts; events of a relay that died are claimed again after this.
+     */
+    private Duration lease = Duration.ofSeconds(30);
+
+    /**
+     * Delivery attempts before an event is handed to the failure handler and dropped.
+     */
+    private int maxAttempts = 5;
+
+    /**
+     * Delay before the first retry, doubled on every further attempt.
+     */
+    private Duration retryBackoff = Duration.ofSeconds(1);
+
+    /**
+     * Upper bound of the retry delay.
+     */
+    private Duration maxRetryBackoff = Duration.ofMinutes(5);
+}
@@ -0,0 +1,48 @@
+package com.antajia.app.reservationapi.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Settings of read replica routing, bound from {@code reservation.read-replicas}.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "reservation.read-replicas")
+public class ReadReplicaProperties {
+
+    /**
+     * Whether read-only transactions go to the replicas; when off the application uses the single datasource.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Replicas, used in turn by read-only transactions.
+     */
+    private List<Replica> replicas = new ArrayList<>();
+
+    /**
+     * Longest replication lag to allow for; a client reads from the primary for this long after its own write.
+     */
+    private Duration maxLag = Duration.ofSeconds(2);
+
+    /**
+     * Clients whose last write is remembered at once; the oldest are forgotten first.
+     */
+    private long maxClients = 100_000;
+
+    @Getter
+    @Setter
+    public static class Replica {
+
+        private String url;
+        private String username;
+        private String password;
+        private int maximumPoolSize = 10;
+    }
+}
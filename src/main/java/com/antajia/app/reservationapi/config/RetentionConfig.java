@@ -0,0 +1,14 @@
+package com.antajia.app.reservationapi.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables the scheduled reservation retention job.
+ */
+@Configuration
+@EnableScheduling
+@EnableConfigurationProperties(RetentionProperties.class)
+public class RetentionConfig {
+}
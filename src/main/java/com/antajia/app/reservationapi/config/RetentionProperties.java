@@ -0,0 +1,51 @@
+package com.antajia.app.reservationapi.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings of the reservation retention job, bound from {@code reservation.retention}.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "reservation.retention")
+public class RetentionProperties {
+
+    /**
+     * Whether the scheduled run is active; the job can still be started programmatically.
+     */
+    private boolean enabled = true;
+
+    /**
+     * When the scheduled run starts, as a Spring cron expression.
+     */
+    private String cron = "0 0 3 * * *";
+
+    /**
+     * Reservations dated earlier than this long ago are archived.
+     */
+    private Duration horizon = Duration.ofDays(180);
+
+    /**
+     * Reservations moved per transaction.
+     */
+    private int chunkSize = 500;
+
+    /**
+     * Pause after each chunk as a multiple of the time the chunk took; 1.0 keeps the job at half duty.
+     */
+    private double throttleRatio = 1.0;
+
+    /**
+     * Pause after a chunk when online requests are waiting for database connections.
+     */
+    private Duration contentionBackoff = Duration.ofSeconds(2);
+
+    /**
+     * Longest a single run may take; the rest is picked up by the next run.
+     */
+    private Duration maxRunTime = Duration.ofHours(1);
+}
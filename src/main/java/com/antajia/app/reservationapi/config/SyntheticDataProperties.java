@@ -0,0 +1,56 @@
+package com.antajia.app.reservationapi.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.LocalDate;
+
+/**
+ * Settings of the load test data generator, bound from {@code reservation.synthetic-data}.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "reservation.synthetic-data")
+public class SyntheticDataProperties {
+
+    /**
+     * Reservations to generate.
+     */
+    private int reservations = 1_000_000;
+
+    /**
+     * Random seed; the same seed, anchor date and chunk size always produce the same rows.
+     */
+    private long seed = 42;
+
+    /**
+     * Reservations inserted per JDBC batch and transaction.
+     */
+    private int chunkSize = 5_000;
+
+    /**
+     * Chunks inserted in parallel.
+     */
+    private int threads = 4;
+
+    /**
+     * Date the generated bookings are spread around; today when unset.
+     */
+    private LocalDate anchorDate;
+
+    /**
+     * Days before the anchor date covered by past bookings.
+     */
+    private int pastDays = 365;
+
+    /**
+     * Days after the anchor date covered by upcoming bookings.
+     */
+    private int futureDays = 90;
+
+    /**
+     * Whether to add rows to a table that already has reservations rather than leave it alone.
+     */
+    private boolean append = false;
+}
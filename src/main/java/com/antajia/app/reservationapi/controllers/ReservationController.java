@@ -1,20 +1,53 @@
 package com.antajia.app.reservationapi.controllers;
 
+import com.antajia.app.reservationapi.dtos.BatchItemResultDto;
 import com.antajia.app.reservationapi.dtos.ReservationDto;
-import com.antajia.app.reservationapi.models.Reservation;
-import com.antajia.app.reservationapi.services.NotificationService;
+import com.antajia.app.reservationapi.dtos.ReservationPage;
+import com.antajia.app.reservationapi.dtos.DailyReportDto;
+import com.antajia.app.reservationapi.dtos.ReservationChangeDto;
+import com.antajia.app.reservationapi.dtos.SlotAvailabilityDto;
+import com.antajia.app.reservationapi.exceptions.StaleReservationException;
+import com.antajia.app.reservationapi.services.IdempotencyStore;
 import com.antajia.app.reservationapi.services.ReservationService;
+import com.antajia.app.reservationapi.services.ReservationAggregates;
+import com.antajia.app.reservationapi.services.ReservationChangeFeed;
+import com.antajia.app.reservationapi.services.SlotOccupancyIndex;
+import com.antajia.app.reservationapi.utils.ClientIdResolver;
+import com.antajia.app.reservationapi.utils.ReservationCursor;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -24,42 +57,310 @@ import java.util.Optional;
 @RequestMapping("/api/reservations")
 public class ReservationController {
 
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    static final String NEXT_PAGE_HEADER = "X-Next-Page";
+    static final String MERGE_PATCH_JSON_VALUE = "application/merge-patch+json";
+    // API sort names to entity properties, in the snake_case used by the JSON payloads.
+    private static final Map<String, String> SORTABLE_PROPERTIES = Map.of(
+            "id", "id",
+            "name", "name",
+            "reservation_date", "reservationDate",
+            "reservation_time", "reservationTime",
+            "number_of_guests", "numberOfGuests");
+    private static final int STREAM_FLUSH_INTERVAL = 500;
+
     private final ReservationService reservationService;
-    private final NotificationService notificationService;
+    private final SlotOccupancyIndex slotOccupancyIndex;
+    private final IdempotencyStore idempotencyStore;
+    private final ClientIdResolver clientIdResolver;
+    private final ReservationAggregates aggregates;
+    private final ReservationChangeFeed changeFeed;
+    private final ObjectMapper objectMapper;
+    private final int defaultPageSize;
+    private final int maxPageSize;
+    private final int maxBatchSize;
+    private final int defaultSearchResults;
+    private final int maxSearchResults;
+    private final int maxReportDays;
 
     /**
      * Constructor to inject the ReservationService dependency.
      *
-     * @param reservationService  the service layer for reservation operations
-     * @param notificationService the service for notification operations
+     * @param reservationService   the service layer for reservation operations
+     * @param slotOccupancyIndex   the per-slot guest counts used to answer availability
+     * @param idempotencyStore     the responses of recent creates, by client and Idempotency-Key
+     * @param clientIdResolver     tells clients apart, so their Idempotency-Keys cannot collide
+     * @param aggregates           the per-day summary counters used to answer reports
+     * @param changeFeed           the stream of committed reservation changes
+     * @param objectMapper         the mapper used to write streamed reservations
+     * @param defaultPageSize      the page size used when the client does not ask for one
+     * @param maxPageSize          the upper bound applied to client supplied page sizes
+     * @param maxBatchSize         the largest number of reservations accepted by one batch request
+     * @param defaultSearchResults the number of search results returned when the client does not ask for a limit
+     * @param maxSearchResults     the upper bound applied to client supplied search limits
+     * @param maxReportDays        the longest date range a single report may cover
      */
     @Autowired
-    public ReservationController(ReservationService reservationService, NotificationService notificationService) {
+    public ReservationController(ReservationService reservationService, SlotOccupancyIndex slotOccupancyIndex,
+                                 IdempotencyStore idempotencyStore, ClientIdResolver clientIdResolver,
+                                 ReservationAggregates aggregates, ReservationChangeFeed changeFeed,
+                                 ObjectMapper objectMapper,
+                                 @Value("${reservation.pagination.default-page-size:50}") int defaultPageSize,
+                                 @Value("${reservation.pagination.max-page-size:500}") int maxPageSize,
+                                 @Value("${reservation.batch.max-size:5000}") int maxBatchSize,
+                                 @Value("${reservation.search.default-results:20}") int defaultSearchResults,
+                                 @Value("${reservation.search.max-results:100}") int maxSearchResults,
+                                 @Value("${reservation.aggregates.max-report-days:366}") int maxReportDays) {
         this.reservationService = reservationService;
-        this.notificationService = notificationService;
+        this.slotOccupancyIndex = slotOccupancyIndex;
+        this.idempotencyStore = idempotencyStore;
+        this.clientIdResolver = clientIdResolver;
+        this.aggregates = aggregates;
+        this.changeFeed = changeFeed;
+        this.objectMapper = objectMapper;
+        this.defaultPageSize = defaultPageSize;
+        this.maxPageSize = maxPageSize;
+        this.maxBatchSize = maxBatchSize;
+        this.defaultSearchResults = defaultSearchResults;
+        this.maxSearchResults = maxSearchResults;
+        this.maxReportDays = maxReportDays;
     }
 
     /**
-     * Retrieves all reservations.
+     * Retrieves one page of reservations using keyset pagination.
      *
-     * @return a list of all reservations
+     * @param cursor the continuation token returned in the {@value #NEXT_CURSOR_HEADER} header of the previous page
+     * @param limit  the requested page size, capped at the configured maximum
+     * @param sort   the sort order of the first page, either {@code id} or {@code reservation_date}
+     * @return a page of reservations
      */
-    @Operation(summary = "Get all reservations", description = "Returns a list of all reservations.")
+    @Operation(summary = "Get all reservations", description = "Returns a page of reservations. " +
+            "The next page is fetched by passing the X-Next-Cursor header value as the cursor parameter.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Successfully retrieved list",
                     content = @Content(mediaType = "application/json", schema = @Schema(implementation = ReservationDto.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor or sort"),
             @ApiResponse(responseCode = "500", description = "Internal server error")
     })
     @GetMapping
-    public ResponseEntity<List<ReservationDto>> getAllReservations() {
-        List<ReservationDto> reservations = reservationService.getAllReservations();
-        return ResponseEntity.ok(reservations);
+    public ResponseEntity<List<ReservationDto>> getAllReservations(@RequestParam(required = false) String cursor,
+                                                                   @RequestParam(required = false) Integer limit,
+                                                                   @RequestParam(defaultValue = "id") String sort) {
+        ReservationCursor position;
+        try {
+            position = cursor != null
+                    ? ReservationCursor.decode(cursor)
+                    : ReservationCursor.first(ReservationCursor.SortKey.fromParameter(sort));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        int pageSize = limit == null ? defaultPageSize : Math.max(1, Math.min(limit, maxPageSize));
+
+        ReservationPage page = reservationService.getReservationPage(position, pageSize);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.hasNext()) {
+            String nextCursor = page.getNextCursor().encode();
+            String nextLink = ServletUriComponentsBuilder.fromCurrentRequest()
+                    .replaceQueryParam("cursor", nextCursor)
+                    .replaceQueryParam("sort")
+                    .toUriString();
+            response.header(NEXT_CURSOR_HEADER, nextCursor)
+                    .header(HttpHeaders.LINK, "<" + nextLink + ">; rel=\"next\"");
+        }
+        return response.body(page.getItems());
+    }
+
+    /**
+     * Retrieves reservations between two dates, optionally within a daily time window.
+     *
+     * @param from      the first date, inclusive
+     * @param to        the last date, inclusive
+     * @param startTime the start of the daily time window, inclusive
+     * @param endTime   the end of the daily time window, inclusive
+     * @param page      the zero based page number
+     * @param size      the requested page size, capped at the configured maximum
+     * @param sort      the property to sort by
+     * @param direction the sort direction, {@code asc} or {@code desc}
+     * @return a page of matching reservations
+     */
+    @Operation(summary = "Get reservations in a date range", description = "Returns reservations between two dates, " +
+            "optionally limited to a daily time window such as 18:00 to 22:00.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved list",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ReservationDto.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid range, time window or sort"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @GetMapping("/range")
+    public ResponseEntity<List<ReservationDto>> getReservationsInRange(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(name = "start_time", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.TIME) LocalTime startTime,
+            @RequestParam(name = "end_time", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.TIME) LocalTime endTime,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(defaultValue = "reservation_date") String sort,
+            @RequestParam(defaultValue = "asc") String direction) {
+        String sortProperty = SORTABLE_PROPERTIES.get(sort);
+        Optional<Sort.Direction> sortDirection = Sort.Direction.fromOptionalString(direction);
+        if (to.isBefore(from) || (startTime == null) != (endTime == null)
+                || (startTime != null && endTime.isBefore(startTime))
+                || page < 0 || sortProperty == null || sortDirection.isEmpty()) {
+            return ResponseEntity.badRequest().build();
+        }
+        int pageSize = size == null ? defaultPageSize : Math.max(1, Math.min(size, maxPageSize));
+        Sort order = Sort.by(sortDirection.get(), sortProperty);
+        if (sortProperty.equals("reservationDate")) {
+            order = order.and(Sort.by(sortDirection.get(), "reservationTime"));
+        }
+        order = order.and(Sort.by("id"));
+
+        Slice<ReservationDto> slice = reservationService.getReservationsInRange(from, to, startTime, endTime,
+                PageRequest.of(page, pageSize, order));
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (slice.hasNext()) {
+            String nextLink = ServletUriComponentsBuilder.fromCurrentRequest()
+                    .replaceQueryParam("page", page + 1)
+                    .toUriString();
+            response.header(NEXT_PAGE_HEADER, String.valueOf(page + 1))
+                    .header(HttpHeaders.LINK, "<" + nextLink + ">; rel=\"next\"");
+        }
+        return response.body(slice.getContent());
+    }
+
+    /**
+     * Streams all reservations as newline delimited JSON, one reservation per line.
+     *
+     * @return a streaming body that writes reservations as they are read from the database
+     */
+    @Operation(summary = "Stream all reservations", description = "Streams every reservation as newline delimited JSON.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully streamed reservations",
+                    content = @Content(mediaType = MediaType.APPLICATION_NDJSON_VALUE, schema = @Schema(implementation = ReservationDto.class))),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAllReservations() {
+        ObjectWriter writer = objectMapper.writerFor(ReservationDto.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        StreamingResponseBody body = outputStream -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+                generator.setRootValueSeparator(null);
+                int[] written = {0};
+                reservationService.streamAllReservations(reservation -> {
+                    try {
+                        writer.writeValue(generator, reservation);
+                        generator.writeRaw('\n');
+                        if (++written[0] % STREAM_FLUSH_INTERVAL == 0) {
+                            generator.flush();
+                        }
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    /**
+     * Streams reservation changes as server-sent events, replacing polling of the reservation list.
+     * <p>
+     * Events are named {@code created}, {@code updated} and {@code deleted}, and carry a {@link ReservationChangeDto}.
+     * A client that reconnects with Last-Event-ID receives the changes it missed while they are still buffered,
+     * or a {@value ReservationChangeFeed#RESET_EVENT} event telling it to reload the list first.
+     *
+     * @param lastEventId the id of the last event the client received, when resuming
+     * @return an event stream that stays open until the client disconnects or the connection times out
+     */
+    @Operation(summary = "Stream reservation changes", description = "Pushes created, updated and deleted reservations " +
+            "as server-sent events. Reconnecting with Last-Event-ID resumes after that event.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Event stream opened",
+                    content = @Content(mediaType = MediaType.TEXT_EVENT_STREAM_VALUE, schema = @Schema(implementation = ReservationChangeDto.class))),
+            @ApiResponse(responseCode = "503", description = "Too many subscribers")
+    })
+    @GetMapping(value = "/changes", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamChanges(@RequestHeader(value = ReservationChangeFeed.LAST_EVENT_ID_HEADER, required = false) String lastEventId) {
+        return changeFeed.subscribe(lastEventId);
+    }
+
+    /**
+     * Reports how many guests are booked in the time slot containing the given time.
+     *
+     * @param date the reservation date
+     * @param time any time within the slot
+     * @return the slot capacity, booked guests and remaining room
+     */
+    @Operation(summary = "Get slot availability", description = "Returns the booked and remaining guest capacity of a time slot.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved availability",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = SlotAvailabilityDto.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid date or time")
+    })
+    @GetMapping("/availability")
+    public ResponseEntity<SlotAvailabilityDto> getAvailability(@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+                                                               @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.TIME) LocalTime time) {
+        return ResponseEntity.ok(slotOccupancyIndex.getAvailability(date, time));
+    }
+
+    /**
+     * Reports bookings per day, per time slot and per contact method from the summary counters.
+     *
+     * @param from the first day of the report
+     * @param to   the last day of the report, inclusive
+     * @return one entry per day of the range, days without bookings included
+     */
+    @Operation(summary = "Get daily report", description = "Returns reservations and guests per day and time slot, " +
+            "and reservations per contact method, without scanning the reservations.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved report",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = DailyReportDto.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid dates, or a range longer than allowed")
+    })
+    @GetMapping("/reports/daily")
+    public ResponseEntity<List<DailyReportDto>> getDailyReport(@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                               @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        if (to.isBefore(from) || ChronoUnit.DAYS.between(from, to) >= maxReportDays) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(aggregates.getDays(from, to));
+    }
+
+    /**
+     * Looks up reservations by a partial guest name, email address or phone number.
+     *
+     * @param q     the start of a name word, an email address or the first or last digits of a phone number
+     * @param limit the maximum number of results, capped at the configured maximum
+     * @return the matching reservations
+     */
+    @Operation(summary = "Search reservations", description = "Finds reservations whose guest name words, email " +
+            "or phone number start with the query. Digits also match the end of a phone number.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved matches",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ReservationDto.class))),
+            @ApiResponse(responseCode = "400", description = "Missing or blank query")
+    })
+    @GetMapping("/search")
+    public ResponseEntity<List<ReservationDto>> searchReservations(@RequestParam String q,
+                                                                   @RequestParam(required = false) Integer limit) {
+        if (q.isBlank()) {
+            return ResponseEntity.badRequest().build();
+        }
+        int resultLimit = limit == null ? defaultSearchResults : Math.max(1, Math.min(limit, maxSearchResults));
+        return ResponseEntity.ok(reservationService.searchReservations(q, resultLimit));
     }
 
     /**
      * Retrieves a reservation by its ID.
+     * <p>
+     * The response carries the reservation version as a strong ETag; a matching {@code If-None-Match} gets a
+     * 304 without a body.
      *
-     * @param id the ID of the reservation
+     * @param id         the ID of the reservation
+     * @param webRequest the current request, used to evaluate {@code If-None-Match}
      * @return the reservation with the given ID
      */
 
@@ -67,36 +368,83 @@ public class ReservationController {
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Successfully retrieved reservation",
                     content = @Content(mediaType = "application/json", schema = @Schema(implementation = ReservationDto.class))),
+            @ApiResponse(responseCode = "304", description = "Reservation unchanged since the version in If-None-Match"),
             @ApiResponse(responseCode = "404", description = "Reservation not found"),
             @ApiResponse(responseCode = "500", description = "Internal server error")
     })
     @GetMapping("/{id}")
-    public ResponseEntity<ReservationDto> getReservationById(@PathVariable Long id) {
-        return reservationService.getReservationById(id)
-                .map(ResponseEntity::ok)
-                .orElse(ResponseEntity.notFound().build());
+    public ResponseEntity<ReservationDto> getReservationById(@PathVariable Long id, WebRequest webRequest) {
+        Optional<ReservationDto> reservation = reservationService.getReservationById(id);
+        if (reservation.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        String eTag = toETag(reservation.get().getVersion());
+        if (webRequest.checkNotModified(eTag)) {
+            // The 304 status and headers are already set, nothing to serialize.
+            return null;
+        }
+        // JSON and CBOR share the version ETag, so caches must key on Accept as well.
+        return ResponseEntity.ok().eTag(eTag).varyBy(HttpHeaders.ACCEPT).body(reservation.get());
     }
 
     /**
      * Creates a new reservation.
+     * <p>
+     * With an {@code Idempotency-Key} header the reservation is created at most once per key: retries get the
+     * original response replayed, and a retry that arrives while the first request is running waits for it.
      *
      * @param reservationDto the reservation data to create
+     * @param idempotencyKey a client chosen key identifying this create across retries
      * @return the newly created reservation
      */
-    @Operation(summary = "Create a new reservation", description = "Creates a new reservation and returns the created reservation.")
+    @Operation(summary = "Create a new reservation", description = "Creates a new reservation and returns the created reservation. " +
+            "Send an Idempotency-Key header to make retries safe.")
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "201", description = "Reservation successfully created",
+            @ApiResponse(responseCode = "201", description = "Reservation successfully created, or replayed for a known Idempotency-Key",
                     content = @Content(mediaType = "application/json", schema = @Schema(implementation = ReservationDto.class))),
-            @ApiResponse(responseCode = "400", description = "Invalid input"),
+            @ApiResponse(responseCode = "400", description = "Invalid input or Idempotency-Key"),
+            @ApiResponse(responseCode = "409", description = "The time slot is fully booked, or a request with the same Idempotency-Key is still running"),
+            @ApiResponse(responseCode = "422", description = "The Idempotency-Key was already used with a different body"),
             @ApiResponse(responseCode = "500", description = "Internal server error")
     })
     @PostMapping
-    public ResponseEntity<ReservationDto> createReservation(@RequestBody ReservationDto reservationDto) {
-        ReservationDto createdReservation = reservationService.createReservation(reservationDto);
-        Reservation reservation = reservationService.convertToEntity(createdReservation);
-        String message = notificationService.formatNotificationMessage(reservation);
-        notificationService.sendNotification(reservation, message);
-        return ResponseEntity.status(HttpStatus.CREATED).body(createdReservation);
+    public ResponseEntity<ReservationDto> createReservation(@RequestBody ReservationDto reservationDto,
+                                                            @RequestHeader(value = IdempotencyStore.IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
+                                                            HttpServletRequest request) {
+        if (idempotencyKey == null) {
+            return create(reservationDto);
+        }
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > IdempotencyStore.MAX_KEY_LENGTH) {
+            return ResponseEntity.badRequest().build();
+        }
+        return idempotencyStore.execute(clientIdResolver.resolve(request), idempotencyKey, reservationDto,
+                () -> create(reservationDto));
+    }
+
+    /**
+     * Creates many reservations in one request.
+     *
+     * @param reservationDtos the reservations to create
+     * @return one result per submitted reservation, in request order
+     */
+    @Operation(summary = "Create reservations in bulk", description = "Validates every reservation, creates the valid ones " +
+            "in a single batched transaction and reports a result per item.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", description = "All reservations created",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = BatchItemResultDto.class))),
+            @ApiResponse(responseCode = "207", description = "Some reservations were rejected, see the per-item results",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = BatchItemResultDto.class))),
+            @ApiResponse(responseCode = "413", description = "Too many reservations in one request"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @PostMapping("/batch")
+    public ResponseEntity<List<BatchItemResultDto>> createReservations(@RequestBody List<ReservationDto> reservationDtos) {
+        if (reservationDtos.size() > maxBatchSize) {
+            return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).build();
+        }
+        List<BatchItemResultDto> results = reservationService.createReservations(reservationDtos);
+        boolean allCreated = results.stream().allMatch(BatchItemResultDto::isCreated);
+        return ResponseEntity.status(allCreated ? HttpStatus.CREATED : HttpStatus.MULTI_STATUS).body(results);
     }
 
     /**
@@ -104,6 +452,7 @@ public class ReservationController {
      *
      * @param id             the ID of the reservation to update
      * @param reservationDto the updated reservation data
+     * @param ifMatch        the ETag the client last read; when present the update only applies to that version
      * @return the updated reservation
      */
     @Operation(summary = "Update a reservation", description = "Updates an existing reservation based on the given ID.")
@@ -112,18 +461,41 @@ public class ReservationController {
                     content = @Content(mediaType = "application/json", schema = @Schema(implementation = ReservationDto.class))),
             @ApiResponse(responseCode = "404", description = "Reservation not found"),
             @ApiResponse(responseCode = "400", description = "Invalid input"),
+            @ApiResponse(responseCode = "409", description = "The reservation was modified concurrently"),
+            @ApiResponse(responseCode = "412", description = "If-Match does not name the current version"),
             @ApiResponse(responseCode = "500", description = "Internal server error")
     })
     @PutMapping("/{id}")
-    public ResponseEntity<ReservationDto> updateReservation(@PathVariable Long id, @RequestBody ReservationDto reservationDto) {
-        Optional<ReservationDto> updatedReservationDto = reservationService.updateReservation(id, reservationDto);
+    public ResponseEntity<ReservationDto> updateReservation(@PathVariable Long id, @RequestBody ReservationDto reservationDto,
+                                                            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        Optional<ReservationDto> updatedReservationDto = reservationService.updateReservation(id, reservationDto, parseIfMatch(id, ifMatch));
+        return updatedReservationDto.map(updated -> ResponseEntity.ok().eTag(toETag(updated.getVersion())).body(updated))
+                .orElse(ResponseEntity.notFound().build());
+    }
 
-        if (updatedReservationDto.isPresent()){
-            Reservation updatedReservation = reservationService.convertToEntity(updatedReservationDto.get());
-        String message = "Your reservation has been updated: " + notificationService.formatNotificationMessage(updatedReservation);
-        notificationService.sendNotification(updatedReservation, message);
-        }
-        return updatedReservationDto.map(ResponseEntity::ok)
+    /**
+     * Partially updates a reservation with a JSON Merge Patch.
+     *
+     * @param id      the ID of the reservation to patch
+     * @param patch   the fields to change; {@code null} clears optional fields
+     * @param ifMatch the ETag the client last read; when present the patch only applies to that version
+     * @return the patched reservation
+     */
+    @Operation(summary = "Patch a reservation", description = "Applies a JSON Merge Patch (RFC 7396), writing only the supplied fields.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Reservation successfully patched",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ReservationDto.class))),
+            @ApiResponse(responseCode = "400", description = "Malformed patch or invalid resulting reservation"),
+            @ApiResponse(responseCode = "404", description = "Reservation not found"),
+            @ApiResponse(responseCode = "409", description = "The time slot is fully booked or the reservation was modified concurrently"),
+            @ApiResponse(responseCode = "412", description = "If-Match does not name the current version"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @PatchMapping(value = "/{id}", consumes = {MERGE_PATCH_JSON_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<ReservationDto> patchReservation(@PathVariable Long id, @RequestBody JsonNode patch,
+                                                           @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        Optional<ReservationDto> patchedReservationDto = reservationService.patchReservation(id, patch, parseIfMatch(id, ifMatch));
+        return patchedReservationDto.map(patched -> ResponseEntity.ok().eTag(toETag(patched.getVersion())).body(patched))
                 .orElse(ResponseEntity.notFound().build());
     }
 
@@ -147,4 +519,32 @@ public class ReservationController {
             return ResponseEntity.notFound().build();
         }
     }
+
+    private ResponseEntity<ReservationDto> create(ReservationDto reservationDto) {
+        ReservationDto createdReservation = reservationService.createReservation(reservationDto);
+        return ResponseEntity.status(HttpStatus.CREATED).body(createdReservation);
+    }
+
+    private static String toETag(Long version) {
+        return "\"" + version + "\"";
+    }
+
+    /**
+     * Reads the expected version out of an {@code If-Match} header. Weak or unparseable tags can never match
+     * strongly, so they are rejected as stale.
+     */
+    private static Long parseIfMatch(Long id, String ifMatch) {
+        if (ifMatch == null || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        if (tag.length() < 2 || !tag.startsWith("\"") || !tag.endsWith("\"")) {
+            throw new StaleReservationException(id);
+        }
+        try {
+            return Long.valueOf(tag.substring(1, tag.length() - 1));
+        } catch (NumberFormatException e) {
+            throw new StaleReservationException(id);
+        }
+    }
 }
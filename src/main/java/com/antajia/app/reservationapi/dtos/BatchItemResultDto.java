@@ -0,0 +1,47 @@
+package com.antajia.app.reservationapi.dtos;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Outcome of a single item of a batch request, reported at the item's position in the request.
+ */
+@Data
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BatchItemResultDto {
+
+    public static final String CREATED = "created";
+    public static final String REJECTED = "rejected";
+
+    @JsonProperty("index")
+    private int index;
+    @JsonProperty("status")
+    private String status;
+    @JsonProperty("reservation")
+    private ReservationDto reservation;
+    @JsonProperty("error")
+    private String error;
+
+    public static BatchItemResultDto created(int index, ReservationDto reservation) {
+        BatchItemResultDto result = new BatchItemResultDto();
+        result.setIndex(index);
+        result.setStatus(CREATED);
+        result.setReservation(reservation);
+        return result;
+    }
+
+    public static BatchItemResultDto rejected(int index, String error) {
+        BatchItemResultDto result = new BatchItemResultDto();
+        result.setIndex(index);
+        result.setStatus(REJECTED);
+        result.setError(error);
+        return result;
+    }
+
+    public boolean isCreated() {
+        return CREATED.equals(status);
+    }
+}
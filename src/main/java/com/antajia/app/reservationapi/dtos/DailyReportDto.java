@@ -0,0 +1,31 @@
+package com.antajia.app.reservationapi.dtos;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Booking totals of one day, split by time slot and by contact method.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DailyReportDto {
+
+    @JsonProperty("reservation_date")
+    private LocalDate reservationDate;
+    @JsonProperty("reservations")
+    private long reservations;
+    @JsonProperty("guests")
+    private long guests;
+    @JsonProperty("slots")
+    private List<SlotReportDto> slots;
+    // Reservations listing each contact method; one reservation may count under several.
+    @JsonProperty("contact_methods")
+    private Map<String, Long> contactMethods;
+}
@@ -0,0 +1,28 @@
+package com.antajia.app.reservationapi.dtos;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One committed reservation change, as pushed to change feed subscribers. Deletions carry no reservation.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ReservationChangeDto {
+
+    public static final String CREATED = "created";
+    public static final String UPDATED = "updated";
+    public static final String DELETED = "deleted";
+
+    @JsonProperty("type")
+    private String type;
+    @JsonProperty("reservation_id")
+    private Long reservationId;
+    @JsonProperty("reservation")
+    private ReservationDto reservation;
+}
@@ -1,5 +1,6 @@
 package com.antajia.app.reservationapi.dtos;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.Data;
 import java.time.LocalDate;
@@ -36,6 +37,9 @@ public class ReservationDto {
     private Integer numberOfGuests;
     @JsonProperty("contact_methods")
     private Set<String> contactMethods;
+    // Travels in the ETag header rather than the body.
+    @JsonIgnore
+    private Long version;
 
     public ReservationDto(String name, String phoneNumber, String email, LocalDate reservationDate, LocalTime reservationTime, Integer numberOfGuests, Set<String> contactMethods) {
         this.name = name;
@@ -47,6 +51,14 @@ public class ReservationDto {
         this.contactMethods = contactMethods;
     }
 
+    /**
+     * Used by the JPQL constructor projections of the read path; contact methods are filled in afterwards.
+     */
+    public ReservationDto(Long id, String name, String phoneNumber, String email, LocalDate reservationDate, LocalTime reservationTime, Integer numberOfGuests) {
+        this(name, phoneNumber, email, reservationDate, reservationTime, numberOfGuests, null);
+        this.id = id;
+    }
+
     public ReservationDto() {
     }
     // Constructor, getters, and setters are automatically generated by Lombok
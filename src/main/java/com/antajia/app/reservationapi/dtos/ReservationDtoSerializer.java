@@ -0,0 +1,121 @@
+package com.antajia.app.reservationapi.dtos;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import org.springframework.boot.jackson.JsonComponent;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Set;
+
+/**
+ * Writes {@link ReservationDto} straight to the generator instead of going through reflective bean
+ * serialization. Field names are pre-encoded once and dates and times are written from a char buffer.
+ * <p>
+ * The output must stay identical to what Jackson produces from the DTO's annotations: same names, same order,
+ * nulls included, {@code LocalDate} as {@code yyyy-MM-dd} and {@code LocalTime} as {@code HH:mm:ss}. Works for
+ * any Jackson format, so the CBOR representation uses it too.
+ */
+@JsonComponent
+public class ReservationDtoSerializer extends StdSerializer<ReservationDto> {
+
+    private static final SerializedString ID = new SerializedString("id");
+    private static final SerializedString NAME = new SerializedString("name");
+    private static final SerializedString PHONE_NUMBER = new SerializedString("phone_number");
+    private static final SerializedString EMAIL = new SerializedString("email");
+    private static final SerializedString RESERVATION_DATE = new SerializedString("reservation_date");
+    private static final SerializedString RESERVATION_TIME = new SerializedString("reservation_time");
+    private static final SerializedString NUMBER_OF_GUESTS = new SerializedString("number_of_guests");
+    private static final SerializedString CONTACT_METHODS = new SerializedString("contact_methods");
+
+    public ReservationDtoSerializer() {
+        super(ReservationDto.class);
+    }
+
+    @Override
+    public void serialize(ReservationDto reservation, JsonGenerator generator, SerializerProvider provider) throws IOException {
+        char[] buffer = new char[10];
+        generator.writeStartObject(reservation);
+        generator.writeFieldName(ID);
+        if (reservation.getId() == null) {
+            generator.writeNull();
+        } else {
+            generator.writeNumber(reservation.getId());
+        }
+        generator.writeFieldName(NAME);
+        generator.writeString(reservation.getName());
+        generator.writeFieldName(PHONE_NUMBER);
+        generator.writeString(reservation.getPhoneNumber());
+        generator.writeFieldName(EMAIL);
+        generator.writeString(reservation.getEmail());
+        generator.writeFieldName(RESERVATION_DATE);
+        writeDate(generator, reservation.getReservationDate(), buffer);
+        generator.writeFieldName(RESERVATION_TIME);
+        writeTime(generator, reservation.getReservationTime(), buffer);
+        generator.writeFieldName(NUMBER_OF_GUESTS);
+        if (reservation.getNumberOfGuests() == null) {
+            generator.writeNull();
+        } else {
+            generator.writeNumber(reservation.getNumberOfGuests());
+        }
+        generator.writeFieldName(CONTACT_METHODS);
+        Set<String> contactMethods = reservation.getContactMethods();
+        if (contactMethods == null) {
+            generator.writeNull();
+        } else {
+            generator.writeStartArray(contactMethods, contactMethods.size());
+            for (String contactMethod : contactMethods) {
+                generator.writeString(contactMethod);
+            }
+            generator.writeEndArray();
+        }
+        generator.writeEndObject();
+    }
+
+    private static void writeDate(JsonGenerator generator, LocalDate date, char[] buffer) throws IOException {
+        if (date == null) {
+            generator.writeNull();
+        } else if (date.getYear() < 0 || date.getYear() > 9999) {
+            generator.writeString(date.toString());
+        } else {
+            int year = date.getYear();
+            buffer[0] = digit(year / 1000);
+            buffer[1] = digit(year / 100 % 10);
+            buffer[2] = digit(year / 10 % 10);
+            buffer[3] = digit(year % 10);
+            buffer[4] = '-';
+            writeTwoDigits(buffer, 5, date.getMonthValue());
+            buffer[7] = '-';
+            writeTwoDigits(buffer, 8, date.getDayOfMonth());
+            generator.writeString(buffer, 0, 10);
+        }
+    }
+
+    private static void writeTime(JsonGenerator generator, LocalTime time, char[] buffer) throws IOException {
+        if (time == null) {
+            generator.writeNull();
+        } else if (time.getNano() != 0) {
+            generator.writeString(time.format(DateTimeFormatter.ISO_LOCAL_TIME));
+        } else {
+            writeTwoDigits(buffer, 0, time.getHour());
+            buffer[2] = ':';
+            writeTwoDigits(buffer, 3, time.getMinute());
+            buffer[5] = ':';
+            writeTwoDigits(buffer, 6, time.getSecond());
+            generator.writeString(buffer, 0, 8);
+        }
+    }
+
+    private static void writeTwoDigits(char[] buffer, int offset, int value) {
+        buffer[offset] = digit(value / 10);
+        buffer[offset + 1] = digit(value % 10);
+    }
+
+    private static char digit(int value) {
+        return (char) ('0' + value);
+    }
+}
@@ -0,0 +1,26 @@
+package com.antajia.app.reservationapi.dtos;
+
+import com.antajia.app.reservationapi.utils.ReservationCursor;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * One keyset page of reservations together with the cursor of the next page.
+ */
+@Getter
+@AllArgsConstructor
+public class ReservationPage {
+
+    private final List<ReservationDto> items;
+
+    /**
+     * Position after the last item, or {@code null} when this is the last page.
+     */
+    private final ReservationCursor nextCursor;
+
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+}
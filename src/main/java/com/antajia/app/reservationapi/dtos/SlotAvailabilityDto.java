@@ -0,0 +1,29 @@
+package com.antajia.app.reservationapi.dtos;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * Booked and remaining guest capacity of one time slot.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SlotAvailabilityDto {
+
+    @JsonProperty("reservation_date")
+    private LocalDate reservationDate;
+    @JsonProperty("slot_start")
+    private LocalTime slotStart;
+    @JsonProperty("capacity")
+    private int capacity;
+    @JsonProperty("booked_guests")
+    private int bookedGuests;
+    @JsonProperty("available_guests")
+    private int availableGuests;
+}
@@ -0,0 +1,24 @@
+package com.antajia.app.reservationapi.dtos;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalTime;
+
+/**
+ * Reservations and guests booked into one time slot.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SlotReportDto {
+
+    @JsonProperty("slot_start")
+    private LocalTime slotStart;
+    @JsonProperty("reservations")
+    private long reservations;
+    @JsonProperty("guests")
+    private long guests;
+}
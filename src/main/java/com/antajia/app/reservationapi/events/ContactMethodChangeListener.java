@@ -0,0 +1,31 @@
+package com.antajia.app.reservationapi.events;
+
+import com.antajia.app.reservationapi.models.ContactMethod;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+/**
+ * JPA entity listener that turns contact method writes into a {@link ContactMethodsChangedEvent}.
+ * Hibernate obtains it from the Spring context, so the publisher is injected as usual.
+ */
+@Component
+public class ContactMethodChangeListener {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    public ContactMethodChangeListener(ApplicationEventPublisher eventPublisher) {
+        this.eventPublisher = eventPublisher;
+    }
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onContactMethodChanged(ContactMethod contactMethod) {
+        eventPublisher.publishEvent(new ContactMethodsChangedEvent());
+    }
+}
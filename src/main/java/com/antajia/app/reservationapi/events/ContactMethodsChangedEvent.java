@@ -0,0 +1,7 @@
+package com.antajia.app.reservationapi.events;
+
+/**
+ * Published whenever a {@link com.antajia.app.reservationapi.models.ContactMethod} row is inserted, updated or removed.
+ */
+public class ContactMethodsChangedEvent {
+}
@@ -0,0 +1,8 @@
+package com.antajia.app.reservationapi.events;
+
+/**
+ * Published when an {@link com.antajia.app.reservationapi.models.OutboxEvent} is written, so the relay can pick
+ * it up as soon as the transaction commits instead of at its next poll.
+ */
+public class OutboxEventRecordedEvent {
+}
@@ -0,0 +1,15 @@
+package com.antajia.app.reservationapi.events;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Published by the notification scheduler when a delayed notification is due.
+ */
+@Getter
+@AllArgsConstructor
+public class ScheduledNotificationDueEvent {
+
+    private final Long reservationId;
+    private final String message;
+}
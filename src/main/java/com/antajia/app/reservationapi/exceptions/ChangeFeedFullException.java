@@ -0,0 +1,15 @@
+package com.antajia.app.reservationapi.exceptions;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Thrown when the change feed already has as many subscribers as it accepts.
+ */
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class ChangeFeedFullException extends RuntimeException {
+
+    public ChangeFeedFullException(int maxSubscribers) {
+        super("The change feed is limited to " + maxSubscribers + " subscribers");
+    }
+}
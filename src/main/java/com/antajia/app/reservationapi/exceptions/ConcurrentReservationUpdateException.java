@@ -0,0 +1,15 @@
+package com.antajia.app.reservationapi.exceptions;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Thrown when an unconditional update loses a race with another update of the same reservation.
+ */
+@ResponseStatus(HttpStatus.CONFLICT)
+public class ConcurrentReservationUpdateException extends RuntimeException {
+
+    public ConcurrentReservationUpdateException(Long id) {
+        super(String.format("Reservation %d was modified concurrently, retry the update", id));
+    }
+}
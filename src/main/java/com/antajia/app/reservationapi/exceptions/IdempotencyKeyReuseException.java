@@ -0,0 +1,15 @@
+package com.antajia.app.reservationapi.exceptions;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Thrown when an {@code Idempotency-Key} is sent again with a different request body.
+ */
+@ResponseStatus(HttpStatus.UNPROCESSABLE_ENTITY)
+public class IdempotencyKeyReuseException extends RuntimeException {
+
+    public IdempotencyKeyReuseException(String key) {
+        super(String.format("Idempotency key %s was already used for a different request", key));
+    }
+}
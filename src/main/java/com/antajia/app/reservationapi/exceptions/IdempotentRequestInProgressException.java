@@ -0,0 +1,15 @@
+package com.antajia.app.reservationapi.exceptions;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Thrown when a retry waited too long for the first request with the same {@code Idempotency-Key} to finish.
+ */
+@ResponseStatus(HttpStatus.CONFLICT)
+public class IdempotentRequestInProgressException extends RuntimeException {
+
+    public IdempotentRequestInProgressException(String key) {
+        super(String.format("A request with idempotency key %s is still in progress", key));
+    }
+}
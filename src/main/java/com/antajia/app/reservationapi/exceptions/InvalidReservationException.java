@@ -0,0 +1,15 @@
+package com.antajia.app.reservationapi.exceptions;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Thrown when a request would leave a reservation malformed or incomplete.
+ */
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class InvalidReservationException extends RuntimeException {
+
+    public InvalidReservationException(String message) {
+        super(message);
+    }
+}
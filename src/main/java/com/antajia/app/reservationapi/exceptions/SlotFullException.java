@@ -0,0 +1,18 @@
+package com.antajia.app.reservationapi.exceptions;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * Thrown when a reservation would push its time slot over capacity.
+ */
+@ResponseStatus(HttpStatus.CONFLICT)
+public class SlotFullException extends RuntimeException {
+
+    public SlotFullException(LocalDate date, LocalTime time, int guests) {
+        super(String.format("No room for %d guests on %s at %s", guests, date, time));
+    }
+}
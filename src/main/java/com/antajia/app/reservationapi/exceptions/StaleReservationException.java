@@ -0,0 +1,15 @@
+package com.antajia.app.reservationapi.exceptions;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Thrown when an update names a reservation version, through {@code If-Match}, that is no longer current.
+ */
+@ResponseStatus(HttpStatus.PRECONDITION_FAILED)
+public class StaleReservationException extends RuntimeException {
+
+    public StaleReservationException(Long id) {
+        super(String.format("Reservation %d has been modified since it was read", id));
+    }
+}
@@ -0,0 +1,17 @@
+package com.antajia.app.reservationapi.exceptions;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+import java.util.Set;
+
+/**
+ * Thrown when a reservation refers to a contact method name that does not exist.
+ */
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class UnknownContactMethodException extends RuntimeException {
+
+    public UnknownContactMethodException(Set<String> names) {
+        super("Unknown contact methods: " + names);
+    }
+}
@@ -0,0 +1,54 @@
+package com.antajia.app.reservationapi.models;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Set;
+
+/**
+ * A past reservation moved out of {@code reservations} by the retention job. Rows are written with set-based
+ * SQL, never through this entity; it exists so the archive tables are part of the schema and can be read.
+ */
+@Setter
+@Getter
+@Entity
+@NoArgsConstructor
+@Table(name = "reservations_archive", indexes = {
+        @Index(name = "idx_reservations_archive_date", columnList = "reservation_date")
+})
+public class ArchivedReservation {
+
+    @Id
+    private Long id;
+
+    private String name;
+
+    @Column(name = "phone_number")
+    private String phoneNumber;
+
+    private String email;
+
+    @Column(name = "reservation_date")
+    private LocalDate reservationDate;
+
+    @Column(name = "reservation_time")
+    private LocalTime reservationTime;
+
+    @Column(name = "number_of_guests")
+    private Integer numberOfGuests;
+
+    private Long version;
+
+    @Column(name = "archived_at", nullable = false)
+    private Instant archivedAt;
+
+    @ElementCollection
+    @CollectionTable(name = "reservation_contact_methods_archive", joinColumns = @JoinColumn(name = "reservation_id"))
+    @Column(name = "contact_method_id")
+    private Set<Long> contactMethodIds;
+}
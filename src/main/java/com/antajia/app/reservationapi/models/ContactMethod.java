@@ -1,5 +1,6 @@
 package com.antajia.app.reservationapi.models;
 
+import com.antajia.app.reservationapi.events.ContactMethodChangeListener;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
@@ -9,6 +10,7 @@ import lombok.AllArgsConstructor;
 import java.util.Set;
 
 @Entity
+@EntityListeners(ContactMethodChangeListener.class)
 @Table(name = "contact_methods")
 @Getter
 @Setter
@@ -0,0 +1,69 @@
+package com.antajia.app.reservationapi.models;
+
+import com.antajia.app.reservationapi.services.notifications.NotificationEvent;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+
+/**
+ * A notification written in the same transaction as the reservation change it announces, and deleted once the
+ * {@link com.antajia.app.reservationapi.services.OutboxRelay} has delivered it. The message and recipient are
+ * captured at write time, so cancellations can still be delivered after the reservation is gone.
+ */
+@Setter
+@Getter
+@Entity
+@NoArgsConstructor
+@Table(name = "reservation_outbox", indexes = {
+        // Finds the oldest pending event of each reservation, which is the only one that may be delivered.
+        @Index(name = "idx_reservation_outbox_reservation", columnList = "reservation_id, id"),
+        @Index(name = "idx_reservation_outbox_available", columnList = "available_at")
+})
+public class OutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "reservation_id", nullable = false)
+    private Long reservationId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "event_type", nullable = false, length = 20)
+    private NotificationEvent eventType;
+
+    @Column(nullable = false, length = 50)
+    private String channel;
+
+    @Column(length = 1000, nullable = false)
+    private String message;
+
+    private String name;
+
+    private String email;
+
+    @Column(name = "phone_number")
+    private String phoneNumber;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(name = "available_at", nullable = false)
+    private Instant availableAt;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    // Relay batch currently delivering the event, and when its claim lapses if that relay dies.
+    @Column(name = "claimed_by", length = 36)
+    private String claimedBy;
+
+    @Column(name = "claimed_until")
+    private Instant claimedUntil;
+
+    @Column(name = "last_error", length = 1000)
+    private String lastError;
+}
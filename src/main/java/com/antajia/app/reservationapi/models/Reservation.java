@@ -4,6 +4,9 @@ import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.DynamicUpdate;
 import java.time.LocalDate;
 import java.time.LocalTime;
 import java.util.Set;
@@ -12,11 +15,23 @@ import java.util.Set;
 @Getter
 @Entity
 @NoArgsConstructor
-@Table(name = "reservations")
+// Updates only write the columns that changed, which keeps partial updates cheap.
+@DynamicUpdate
+@Table(name = "reservations", indexes = {
+        // Serves date range and time window queries, and the availability rebuild.
+        @Index(name = "idx_reservations_date_time", columnList = "reservation_date, reservation_time"),
+        // Serves keyset pagination sorted by date.
+        @Index(name = "idx_reservations_date_id", columnList = "reservation_date, id")
+})
 public class Reservation {
 
+    public static final String ID_SEQUENCE = "reservations_seq";
+    public static final int ID_ALLOCATION_SIZE = 50;
+
+    // A pooled sequence hands out ids in blocks, which lets Hibernate batch inserts (IDENTITY cannot).
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = ID_SEQUENCE)
+    @SequenceGenerator(name = ID_SEQUENCE, sequenceName = ID_SEQUENCE, allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
 
     private String name;
@@ -35,7 +50,14 @@ public class Reservation {
     @Column(name = "number_of_guests")
     private Integer numberOfGuests;
 
+    // Bumped on every update; the default lets existing rows pick up the column.
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
+
     @ManyToMany
+    @BatchSize(size = 100)
     @JoinTable(name = "reservation_contact_methods",
                joinColumns = @JoinColumn(name = "reservation_id"),
                inverseJoinColumns = @JoinColumn(name = "contact_method_id"))
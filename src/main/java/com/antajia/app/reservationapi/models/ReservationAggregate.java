@@ -0,0 +1,53 @@
+package com.antajia.app.reservationapi.models;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+/**
+ * One counter of the reservation summary table: the reservations and guests of a day, of one time slot of that
+ * day, or of the bookings on that day that list one contact method. Maintained by
+ * {@link com.antajia.app.reservationapi.services.ReservationAggregates}.
+ */
+@Setter
+@Getter
+@Entity
+@NoArgsConstructor
+@Table(name = "reservation_aggregates", uniqueConstraints =
+        @UniqueConstraint(name = "uk_reservation_aggregates_key", columnNames = {"reservation_date", "kind", "bucket"}))
+public class ReservationAggregate {
+
+    public enum Kind {
+        DAY,
+        SLOT,
+        CHANNEL
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "reservation_date", nullable = false)
+    private LocalDate reservationDate;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10)
+    private Kind kind;
+
+    // Slot start as HH:mm for SLOT, contact method name for CHANNEL, empty for DAY.
+    @Column(nullable = false, length = 50)
+    private String bucket;
+
+    @Column(nullable = false)
+    private long reservations;
+
+    @Column(nullable = false)
+    private long guests;
+
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt;
+}
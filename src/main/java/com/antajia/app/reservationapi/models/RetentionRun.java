@@ -0,0 +1,59 @@
+package com.antajia.app.reservationapi.models;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+/**
+ * Progress of one retention run. Updated after every chunk, so a run interrupted by a crash is found with
+ * {@link Status#RUNNING} on the next start and resumed with the same cutoff.
+ */
+@Setter
+@Getter
+@Entity
+@NoArgsConstructor
+@Table(name = "retention_runs")
+public class RetentionRun {
+
+    public enum Status {
+        RUNNING,
+        COMPLETED
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private LocalDate cutoff;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Status status;
+
+    @Column(name = "rows_moved", nullable = false)
+    private long rowsMoved;
+
+    @Column(nullable = false)
+    private int chunks;
+
+    @Column(name = "started_at", nullable = false)
+    private Instant startedAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt;
+
+    @Column(name = "finished_at")
+    private Instant finishedAt;
+
+    public RetentionRun(LocalDate cutoff, Instant startedAt) {
+        this.cutoff = cutoff;
+        this.status = Status.RUNNING;
+        this.startedAt = startedAt;
+        this.updatedAt = startedAt;
+    }
+}
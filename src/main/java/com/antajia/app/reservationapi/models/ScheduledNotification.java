@@ -0,0 +1,42 @@
+package com.antajia.app.reservationapi.models;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+
+/**
+ * A notification waiting to be sent at a later time. Rows are deleted once the notification fires or the
+ * reservation is deleted, so the table only holds pending timers and survives restarts.
+ */
+@Setter
+@Getter
+@Entity
+@NoArgsConstructor
+@Table(name = "scheduled_notifications", indexes = {
+        @Index(name = "idx_scheduled_notifications_reservation", columnList = "reservation_id"),
+        @Index(name = "idx_scheduled_notifications_fire_at", columnList = "fire_at")
+})
+public class ScheduledNotification {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "reservation_id", nullable = false)
+    private Long reservationId;
+
+    @Column(length = 1000, nullable = false)
+    private String message;
+
+    @Column(name = "fire_at", nullable = false)
+    private Instant fireAt;
+
+    public ScheduledNotification(Long reservationId, String message, Instant fireAt) {
+        this.reservationId = reservationId;
+        this.message = message;
+        this.fireAt = fireAt;
+    }
+}
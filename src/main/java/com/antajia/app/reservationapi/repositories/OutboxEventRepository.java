@@ -0,0 +1,11 @@
+package com.antajia.app.reservationapi.repositories;
+
+import com.antajia.app.reservationapi.models.OutboxEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    List<OutboxEvent> findByReservationIdOrderByIdAsc(Long reservationId);
+}
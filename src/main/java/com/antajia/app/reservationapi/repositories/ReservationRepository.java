@@ -1,19 +1,101 @@
 package com.antajia.app.reservationapi.repositories;
 
+import com.antajia.app.reservationapi.dtos.ReservationDto;
 import com.antajia.app.reservationapi.models.Reservation;
+import com.antajia.app.reservationapi.repositories.projections.ReservationContactMethodView;
+import com.antajia.app.reservationapi.repositories.projections.SlotOccupancyView;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface ReservationRepository extends JpaRepository<Reservation, Long> {
 
+    /**
+     * Constructor projection shared by the read path. Contact methods are loaded separately
+     * for a whole batch of rows with {@link #findContactMethodNamesByReservationIdIn}.
+     */
+    String DTO_PROJECTION = "SELECT new com.antajia.app.reservationapi.dtos.ReservationDto(" +
+            "r.id, r.name, r.phoneNumber, r.email, r.reservationDate, r.reservationTime, r.numberOfGuests) " +
+            "FROM Reservation r ";
+
     //region Custom Queries
     @Query("SELECT DISTINCT r FROM Reservation r LEFT JOIN FETCH r.contactMethods")
     List<Reservation> findAllWithContactMethods();
 
     @Query("SELECT r FROM Reservation r LEFT JOIN FETCH r.contactMethods WHERE r.id = :id")
     Reservation findByIdWithContactMethods(Long id);
+
+    /**
+     * Loads a reservation and holds its row lock until the transaction ends, so a concurrent update or delete
+     * waits and then sees what this one wrote.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r FROM Reservation r WHERE r.id = :id")
+    Optional<Reservation> findByIdForUpdate(Long id);
+
+    @Query("SELECT r.id AS reservationId, cm.name AS contactMethodName " +
+            "FROM Reservation r JOIN r.contactMethods cm WHERE r.id IN :reservationIds")
+    List<ReservationContactMethodView> findContactMethodNamesByReservationIdIn(Collection<Long> reservationIds);
+    //endregion
+
+    //region Keyset Pagination
+    // The pageable only carries the limit; ordering is fixed by each query so the cursor stays valid.
+    @Query(DTO_PROJECTION + "WHERE r.id > :afterId ORDER BY r.id ASC")
+    List<ReservationDto> findPageAfterId(Long afterId, Pageable pageable);
+
+    @Query(DTO_PROJECTION + "ORDER BY r.reservationDate ASC NULLS FIRST, r.id ASC")
+    List<ReservationDto> findFirstPageByReservationDate(Pageable pageable);
+
+    @Query(DTO_PROJECTION + "WHERE r.reservationDate IS NOT NULL OR r.id > :afterId " +
+            "ORDER BY r.reservationDate ASC NULLS FIRST, r.id ASC")
+    List<ReservationDto> findPageAfterUndatedId(Long afterId, Pageable pageable);
+
+    @Query(DTO_PROJECTION + "WHERE r.reservationDate > :afterDate " +
+            "OR (r.reservationDate = :afterDate AND r.id > :afterId) " +
+            "ORDER BY r.reservationDate ASC NULLS FIRST, r.id ASC")
+    List<ReservationDto> findPageAfterDate(LocalDate afterDate, Long afterId, Pageable pageable);
+    //endregion
+
+    //region Range Queries
+    // Both predicates are range scans on idx_reservations_date_time; the pageable carries sort and limit.
+    @Query(DTO_PROJECTION + "WHERE r.reservationDate BETWEEN :fromDate AND :toDate")
+    Slice<ReservationDto> findByDateRange(LocalDate fromDate, LocalDate toDate, Pageable pageable);
+
+    @Query(DTO_PROJECTION + "WHERE r.reservationDate BETWEEN :fromDate AND :toDate " +
+            "AND r.reservationTime BETWEEN :fromTime AND :toTime")
+    Slice<ReservationDto> findByDateRangeAndTimeWindow(LocalDate fromDate, LocalDate toDate,
+                                                       LocalTime fromTime, LocalTime toTime, Pageable pageable);
+    //endregion
+
+    //region Search
+    @Query(DTO_PROJECTION + "WHERE r.id IN :ids")
+    List<ReservationDto> findDtosByIdIn(Collection<Long> ids);
+    //endregion
+
+    //region Occupancy
+    @Query("SELECT r.reservationDate AS reservationDate, r.reservationTime AS reservationTime, " +
+            "SUM(r.numberOfGuests) AS guests FROM Reservation r " +
+            "WHERE r.reservationDate >= :fromDate GROUP BY r.reservationDate, r.reservationTime")
+    List<SlotOccupancyView> sumGuestsBySlotFrom(LocalDate fromDate);
+    //endregion
+
+    //region Streaming
+    @Query(DTO_PROJECTION + "ORDER BY r.id ASC")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    Stream<ReservationDto> streamAllOrderedById();
     //endregion
 }
@@ -0,0 +1,11 @@
+package com.antajia.app.reservationapi.repositories;
+
+import com.antajia.app.reservationapi.models.RetentionRun;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.Optional;
+
+public interface RetentionRunRepository extends JpaRepository<RetentionRun, Long> {
+
+    Optional<RetentionRun> findFirstByStatusOrderByIdDesc(RetentionRun.Status status);
+}
@@ -0,0 +1,26 @@
+package com.antajia.app.reservationapi.repositories;
+
+import com.antajia.app.reservationapi.models.ScheduledNotification;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+public interface ScheduledNotificationRepository extends JpaRepository<ScheduledNotification, Long> {
+
+    @Query("SELECT s FROM ScheduledNotification s WHERE s.id > :afterId ORDER BY s.id ASC")
+    List<ScheduledNotification> findBatchAfterId(Long afterId, Pageable pageable);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM ScheduledNotification s WHERE s.reservationId = :reservationId")
+    int deleteAllByReservationId(Long reservationId);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM ScheduledNotification s WHERE s.id = :id")
+    int deletePending(Long id);
+}
@@ -0,0 +1,11 @@
+package com.antajia.app.reservationapi.repositories.projections;
+
+/**
+ * Projection of a single row of the reservation/contact method join table, resolved to the contact method name.
+ */
+public interface ReservationContactMethodView {
+
+    Long getReservationId();
+
+    String getContactMethodName();
+}
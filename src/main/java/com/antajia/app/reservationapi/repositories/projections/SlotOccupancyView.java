@@ -0,0 +1,16 @@
+package com.antajia.app.reservationapi.repositories.projections;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * Guests booked at one reservation date and time.
+ */
+public interface SlotOccupancyView {
+
+    LocalDate getReservationDate();
+
+    LocalTime getReservationTime();
+
+    Long getGuests();
+}
@@ -0,0 +1,124 @@
+package com.antajia.app.reservationapi.services;
+
+import com.antajia.app.reservationapi.events.ContactMethodsChangedEvent;
+import com.antajia.app.reservationapi.exceptions.UnknownContactMethodException;
+import com.antajia.app.reservationapi.models.ContactMethod;
+import com.antajia.app.reservationapi.repositories.ContactMethodRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * In-memory registry of contact methods by name.
+ * <p>
+ * The reference table is tiny and almost never written, so it is loaded once at startup into an immutable map
+ * and swapped as a whole after any committed change. Lookups are case insensitive and never touch the database.
+ */
+@Component
+public class ContactMethodRegistry {
+
+    private static final Logger logger = LoggerFactory.getLogger(ContactMethodRegistry.class);
+
+    private final ContactMethodRepository contactMethodRepository;
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter refreshes;
+
+    private volatile Map<String, ContactMethod> contactMethodsByName = Map.of();
+
+    @Autowired
+    public ContactMethodRegistry(ContactMethodRepository contactMethodRepository, MeterRegistry meterRegistry) {
+        this.contactMethodRepository = contactMethodRepository;
+        this.hits = Counter.builder("contact.method.registry.lookups").tag("result", "hit")
+                .description("Contact method names resolved from the registry").register(meterRegistry);
+        this.misses = Counter.builder("contact.method.registry.lookups").tag("result", "miss")
+                .description("Contact method names that did not match any contact method").register(meterRegistry);
+        this.refreshes = Counter.builder("contact.method.registry.refreshes")
+                .description("Reloads of the contact method registry").register(meterRegistry);
+        Gauge.builder("contact.method.registry.size", this, registry -> registry.contactMethodsByName.size())
+                .description("Contact methods currently held by the registry").register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void load() {
+        refresh();
+    }
+
+    /**
+     * Reloads the registry after a contact method change has been committed.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onContactMethodsChanged(ContactMethodsChangedEvent event) {
+        refresh();
+    }
+
+    public void refresh() {
+        Map<String, ContactMethod> loaded = new HashMap<>();
+        for (ContactMethod contactMethod : contactMethodRepository.findAll()) {
+            loaded.put(key(contactMethod.getName()), contactMethod);
+        }
+        contactMethodsByName = Map.copyOf(loaded);
+        refreshes.increment();
+        logger.info("Loaded {} contact methods into the registry", loaded.size());
+    }
+
+    /**
+     * Resolves contact method names without any I/O.
+     *
+     * @param names the contact method names, may be {@code null}
+     * @return the matching contact methods
+     * @throws UnknownContactMethodException if any name does not match a contact method
+     */
+    public Set<ContactMethod> resolve(Set<String> names) {
+        Set<ContactMethod> resolved = new HashSet<>();
+        if (names == null) {
+            return resolved;
+        }
+        Map<String, ContactMethod> snapshot = contactMethodsByName;
+        Set<String> unknown = null;
+        for (String name : names) {
+            ContactMethod contactMethod = name != null ? snapshot.get(key(name)) : null;
+            if (contactMethod != null) {
+                hits.increment();
+                resolved.add(contactMethod);
+            } else {
+                misses.increment();
+                if (unknown == null) {
+                    unknown = new LinkedHashSet<>();
+                }
+                unknown.add(name);
+            }
+        }
+        if (unknown != null) {
+            throw new UnknownContactMethodException(unknown);
+        }
+        return resolved;
+    }
+
+    public boolean contains(String name) {
+        return name != null && contactMethodsByName.containsKey(key(name));
+    }
+
+    public Set<String> getNames() {
+        Set<String> names = new HashSet<>();
+        contactMethodsByName.values().forEach(contactMethod -> names.add(contactMethod.getName()));
+        return names;
+    }
+
+    private static String key(String name) {
+        return name.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,122 @@
+package com.antajia.app.reservationapi.services;
+
+import com.antajia.app.reservationapi.exceptions.IdempotencyKeyReuseException;
+import com.antajia.app.reservationapi.exceptions.IdempotentRequestInProgressException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Remembers the responses of requests sent with an {@code Idempotency-Key}, so a client retry is answered from
+ * memory instead of writing and notifying a second time.
+ * <p>
+ * The first request with a key runs and completes a future that later requests with the same key wait on, so
+ * concurrent duplicates never do the work twice. Keys are held in a size bounded Caffeine cache and expire after
+ * the configured time to live. A request that fails with an exception is forgotten, and its retry runs again.
+ * Keys are scoped to the client that sent them, so two clients picking the same key never see each other's
+ * responses. Keys are only known to this instance.
+ */
+@Component
+public class IdempotencyStore {
+
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+    public static final int MAX_KEY_LENGTH = 255;
+
+    private final Cache<Key, Entry> entries;
+    private final Duration waitTimeout;
+
+    @Autowired
+    public IdempotencyStore(@Value("${reservation.idempotency.max-keys:100000}") long maxKeys,
+                            @Value("${reservation.idempotency.ttl:24h}") Duration ttl,
+                            @Value("${reservation.idempotency.wait-timeout:10s}") Duration waitTimeout) {
+        this.entries = Caffeine.newBuilder()
+                .maximumSize(maxKeys)
+                .expireAfterWrite(ttl)
+                .build();
+        this.waitTimeout = waitTimeout;
+    }
+
+    /**
+     * Runs the action once per client and key, and returns its response to every request of that client carrying
+     * that key.
+     *
+     * @param clientId the client that sent the request, as resolved by the admission control client id resolver
+     * @param key      the client supplied idempotency key
+     * @param request  the request payload; a retry must send an equal one
+     * @param action   produces the response of the first request
+     * @return the response of the first request, marked with {@value #REPLAYED_HEADER} when replayed
+     */
+    public <T> ResponseEntity<T> execute(String clientId, String key, Object request,
+                                         Supplier<ResponseEntity<T>> action) {
+        Key scopedKey = new Key(clientId, key);
+        Entry entry = new Entry(request);
+        Entry existing = entries.asMap().putIfAbsent(scopedKey, entry);
+        if (existing == null) {
+            try {
+                ResponseEntity<T> response = action.get();
+                entry.response.complete(response);
+                return response;
+            } catch (RuntimeException | Error e) {
+                entries.asMap().remove(scopedKey, entry);
+                entry.response.completeExceptionally(e);
+                throw e;
+            }
+        }
+        if (!Objects.equals(existing.request, request)) {
+            throw new IdempotencyKeyReuseException(key);
+        }
+        return replay(await(key, existing));
+    }
+
+    private ResponseEntity<?> await(String key, Entry entry) {
+        try {
+            return entry.response.get(waitTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            throw new IdempotentRequestInProgressException(key);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IdempotentRequestInProgressException(key);
+        } catch (ExecutionException e) {
+            // The first request failed; its waiters see the same failure and may retry.
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> ResponseEntity<T> replay(ResponseEntity<?> response) {
+        return ResponseEntity.status(response.getStatusCode())
+                .headers(response.getHeaders())
+                .header(REPLAYED_HEADER, "true")
+                .body((T) response.getBody());
+    }
+
+    private record Key(String clientId, String key) {
+    }
+
+    private static final class Entry {
+        private final Object request;
+        private final CompletableFuture<ResponseEntity<?>> response = new CompletableFuture<>();
+
+        private Entry(Object request) {
+            this.request = request;
+        }
+    }
+}
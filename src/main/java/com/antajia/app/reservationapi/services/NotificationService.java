@@ -1,89 +1,190 @@
 package com.antajia.app.reservationapi.services;
 
+import com.antajia.app.reservationapi.config.NotificationProperties;
 import com.antajia.app.reservationapi.models.ContactMethod;
 import com.antajia.app.reservationapi.models.Reservation;
+import com.antajia.app.reservationapi.models.ScheduledNotification;
 import com.antajia.app.reservationapi.services.base.BaseNotificationService;
+import com.antajia.app.reservationapi.services.notifications.LoggingNotificationSender;
+import com.antajia.app.reservationapi.services.notifications.NotificationDispatcher;
+import com.antajia.app.reservationapi.services.notifications.NotificationEvent;
+import com.antajia.app.reservationapi.services.notifications.NotificationScheduler;
+import com.antajia.app.reservationapi.services.notifications.NotificationSender;
+import com.antajia.app.reservationapi.services.notifications.NotificationTemplates;
+import com.antajia.app.reservationapi.services.notifications.UnsupportedChannelException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 @Service
 public class NotificationService implements BaseNotificationService {
 
     private static final Logger logger = LoggerFactory.getLogger(NotificationService.class);
-    private final List<String> pendingNotifications = new ArrayList<>();
+    private final NotificationDispatcher notificationDispatcher;
+    private final NotificationScheduler notificationScheduler;
+    private final NotificationProperties properties;
+    private final NotificationTemplates templates;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, NotificationSender> senders = new HashMap<>();
 
+    @Autowired
+    public NotificationService(NotificationDispatcher notificationDispatcher, NotificationScheduler notificationScheduler,
+                               NotificationProperties properties, NotificationTemplates templates,
+                               MeterRegistry meterRegistry, List<NotificationSender> senders) {
+        this.notificationDispatcher = notificationDispatcher;
+        this.notificationScheduler = notificationScheduler;
+        this.properties = properties;
+        this.templates = templates;
+        this.meterRegistry = meterRegistry;
+        for (NotificationSender sender : senders) {
+            // Logging stubs only fill channels no real sender was declared for.
+            this.senders.merge(sender.getChannel(), sender, (existing, candidate) ->
+                    candidate instanceof LoggingNotificationSender ? existing : candidate);
+        }
+    }
+
+    /**
+     * Delivers on the calling thread, for callers such as the outbox relay that retry on their own.
+     *
+     * @throws UnsupportedChannelException when no sender handles the channel
+     */
     @Override
-    public void sendNotification(Reservation reservation, String message) {
-        ContactMethod preferredMethod = getPreferredContactMethod(reservation);
-                    switch (preferredMethod.getName()) {
-                        case "Email":
-                            sendEmailNotification(reservation, message);
-                        case "SMS":
-                            sendSmsNotification(reservation, message);
-                        default:
-                            logger.warn("Unknown contact method for reservation: {}", reservation.getId());
-                    }
+    public void deliver(String channel, Reservation reservation, String message) throws InterruptedException {
+        switch (channel) {
+            case NotificationSender.EMAIL -> notificationDispatcher.deliverOnce(channel, () -> sendEmailNotification(reservation, message));
+            case NotificationSender.SMS -> notificationDispatcher.deliverOnce(channel, () -> sendSmsNotification(reservation, message));
+            default -> throw new UnsupportedChannelException(channel);
+        }
     }
 
     @Override
     public void sendEmailNotification(Reservation reservation, String message) {
-        // Implement email sending logic here
-        logger.info("Sending email notification to: {}", reservation.getEmail());
-        logNotification(reservation, message, true);
+        send(NotificationSender.EMAIL, reservation, message);
     }
 
     @Override
     public void sendSmsNotification(Reservation reservation, String message) {
-        // Implement SMS sending logic here
-        logger.info("Sending SMS notification to: {}", reservation.getPhoneNumber());
-        logNotification(reservation, message, true);
+        send(NotificationSender.SMS, reservation, message);
     }
 
     @Override
     public ContactMethod getPreferredContactMethod(Reservation reservation) {
         // For simplicity, we'll just return the first contact method
+        if (reservation.getContactMethods() == null || reservation.getContactMethods().isEmpty()) {
+            return null;
+        }
         return reservation.getContactMethods().iterator().next();
     }
 
     @Override
     public String formatNotificationMessage(Reservation reservation) {
-        return String.format("Reservation confirmed for %s on %s at %s for %d guests.",
-                reservation.getName(),
-                reservation.getReservationDate(),
-                reservation.getReservationTime(),
-                reservation.getNumberOfGuests());
+        return formatNotificationMessage(NotificationEvent.CREATED, reservation);
+    }
+
+    @Override
+    public String formatNotificationMessage(NotificationEvent event, Reservation reservation) {
+        return templates.render(event, reservation);
     }
 
     @Override
     public void handleNotificationFailure(Reservation reservation, String failureReason) {
         logger.error("Failed to send notification for reservation: {}. Reason: {}", reservation.getId(), failureReason);
+        ContactMethod preferredMethod = getPreferredContactMethod(reservation);
+        Counter.builder("notification.failures")
+                .description("Notifications that could not be delivered after all attempts")
+                .tag("channel", preferredMethod == null ? "none" : preferredMethod.getName())
+                .register(meterRegistry)
+                .increment();
         logNotification(reservation, failureReason, false);
     }
 
     @Override
     public void logNotification(Reservation reservation, String message, boolean success) {
-        String logMessage = String.format("Notification for reservation %d: %s. Success: %b",
-                reservation.getId(), message, success);
+        // Parameterized so nothing is formatted when the level is disabled.
         if (success) {
-            logger.info(logMessage);
+            logger.info("Notification for reservation {}: {}. Success: true", reservation.getId(), message);
         } else {
-            logger.error(logMessage);
+            logger.error("Notification for reservation {}: {}. Success: false", reservation.getId(), message);
         }
     }
 
     @Override
-    public void scheduleNotification(Reservation reservation, String message, long delayInMillis) {
-        // Implement scheduling logic here
-        logger.info("Scheduling notification for reservation: {} with delay: {} ms", reservation.getId(), delayInMillis);
-        pendingNotifications.add(String.format("Scheduled: %s", message));
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void scheduleReminders(Collection<Reservation> reservations) {
+        List<Long> reservationIds = new ArrayList<>(reservations.size());
+        List<ScheduledNotification> reminders = new ArrayList<>(reservations.size());
+        for (Reservation reservation : reservations) {
+            reservationIds.add(reservation.getId());
+            Instant reminderAt = reminderAt(reservation);
+            if (reminderAt != null) {
+                reminders.add(new ScheduledNotification(reservation.getId(),
+                        formatNotificationMessage(NotificationEvent.REMINDER, reservation), reminderAt));
+            }
+        }
+        notificationScheduler.replaceForReservations(reservationIds, reminders);
+    }
+
+    @Override
+    public void cancelScheduledNotifications(Long reservationId) {
+        int cancelled = notificationScheduler.cancelForReservation(reservationId);
+        if (cancelled > 0) {
+            logger.info("Cancelled {} scheduled notifications for reservation: {}", cancelled, reservationId);
+        }
     }
 
     @Override
-    public List<String> getPendingNotifications() {
-        return new ArrayList<>(pendingNotifications);
+    public List<String> getPendingNotifications(int page, int size) {
+        return notificationScheduler.getPending(page, size).stream()
+                .map(notification -> String.format("Scheduled for %s: %s", notification.getFireAt(), notification.getMessage()))
+                .toList();
+    }
+
+    /**
+     * Returns when the reminder of the reservation is due, or {@code null} when that moment has already passed.
+     */
+    private Instant reminderAt(Reservation reservation) {
+        if (reservation.getReservationDate() == null || reservation.getReservationTime() == null) {
+            return null;
+        }
+        Instant reminderAt = LocalDateTime.of(reservation.getReservationDate(), reservation.getReservationTime())
+                .atZone(ZoneId.systemDefault())
+                .toInstant()
+                .minus(properties.getReminderLead());
+        return reminderAt.isAfter(Instant.now()) ? reminderAt : null;
+    }
+
+    /**
+     * Times each delivery attempt against the channel's gateway.
+     */
+    private void send(String channel, Reservation reservation, String message) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "failure";
+        try {
+            senders.get(channel).send(reservation, message);
+            outcome = "success";
+        } finally {
+            sample.stop(Timer.builder("notification.send")
+                    .description("Latency of notification delivery attempts")
+                    .tag("channel", channel)
+                    .tag("outcome", outcome)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry));
+        }
+        logNotification(reservation, message, true);
     }
 }
@@ -0,0 +1,284 @@
+package com.antajia.app.reservationapi.services;
+
+import com.antajia.app.reservationapi.config.OutboxProperties;
+import com.antajia.app.reservationapi.events.OutboxEventRecordedEvent;
+import com.antajia.app.reservationapi.models.ContactMethod;
+import com.antajia.app.reservationapi.models.Reservation;
+import com.antajia.app.reservationapi.services.notifications.UnsupportedChannelException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Delivers the notifications written by {@link ReservationOutbox}, a batch at a time.
+ * <p>
+ * A batch costs a fixed number of statements whatever its size: select the candidates, claim them with a
+ * conditional UPDATE that stamps a token and a lease, read the claimed rows back, then delete the delivered ones
+ * and reschedule the failed ones. The conditional claim stands in for {@code SKIP LOCKED}, so several instances
+ * can drain the same table, and an instance that dies only holds its rows until the lease lapses. Only the
+ * oldest pending event of each reservation is a candidate, so a reservation's notifications go out in the order
+ * they were written, and a failing one holds back the ones behind it until it is delivered or given up on.
+ * Delivery is at least once: a crash between sending and deleting sends the event again. An event for a
+ * contact method no sender handles is given up on at once rather than retried.
+ */
+@Service
+public class OutboxRelay {
+
+    private static final Logger logger = LoggerFactory.getLogger(OutboxRelay.class);
+
+    private static final String SELECT_CANDIDATES = "SELECT o.id FROM reservation_outbox o " +
+            "WHERE o.available_at <= :now AND (o.claimed_until IS NULL OR o.claimed_until < :now) " +
+            "AND NOT EXISTS (SELECT 1 FROM reservation_outbox earlier " +
+            "WHERE earlier.reservation_id = o.reservation_id AND earlier.id < o.id) " +
+            "ORDER BY o.id LIMIT :limit";
+    private static final String CLAIM = "UPDATE reservation_outbox SET claimed_by = :token, claimed_until = :leaseEnd " +
+            "WHERE id IN (:ids) AND (claimed_until IS NULL OR claimed_until < :now)";
+    private static final String SELECT_CLAIMED = "SELECT id, reservation_id, channel, message, name, email, phone_number, " +
+            "attempts FROM reservation_outbox WHERE claimed_by = :token ORDER BY id";
+    private static final String DELETE_EVENTS = "DELETE FROM reservation_outbox WHERE claimed_by = :token AND id IN (:ids)";
+    private static final String RESCHEDULE = "UPDATE reservation_outbox SET attempts = :attempts, available_at = :availableAt, " +
+            "claimed_by = NULL, claimed_until = NULL, last_error = :lastError WHERE id = :id AND claimed_by = :token";
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final NotificationService notificationService;
+    private final OutboxProperties properties;
+    private final Semaphore wakeups = new Semaphore(0);
+    private final Counter delivered;
+    private final Counter retried;
+    private final Counter dead;
+    private final Timer batchTimer;
+    private volatile boolean running;
+    private Thread relay;
+
+    @Autowired
+    public OutboxRelay(NamedParameterJdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+                       NotificationService notificationService, OutboxProperties properties, MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.notificationService = notificationService;
+        this.properties = properties;
+        this.delivered = outcomeCounter(meterRegistry, "delivered");
+        this.retried = outcomeCounter(meterRegistry, "retried");
+        this.dead = outcomeCounter(meterRegistry, "dead");
+        this.batchTimer = Timer.builder("notification.outbox.batch")
+                .description("Duration of one outbox drain, from claim to cleanup")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Starts draining once the application is up, so events left over from a previous run go out first thing.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        if (!properties.isEnabled() || running) {
+            return;
+        }
+        running = true;
+        relay = Thread.ofVirtual().name("outbox-relay").start(this::run);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        Thread current;
+        synchronized (this) {
+            running = false;
+            current = relay;
+        }
+        if (current != null) {
+            current.interrupt();
+            current.join(Duration.ofSeconds(5));
+        }
+    }
+
+    /**
+     * Wakes the relay when a transaction that wrote outbox events commits, instead of waiting for the next poll.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOutboxEventRecorded(OutboxEventRecordedEvent event) {
+        wakeups.release();
+    }
+
+    /**
+     * Claims and delivers one batch.
+     *
+     * @return the number of events claimed, delivered or not
+     */
+    public int drainBatch() throws InterruptedException {
+        String token = UUID.randomUUID().toString();
+        Timer.Sample sample = Timer.start();
+        List<OutboxRow> claimed = claim(token);
+        if (claimed.isEmpty()) {
+            return 0;
+        }
+        Failure[] failures = deliver(claimed);
+
+        Instant now = Instant.now();
+        List<Long> finished = new ArrayList<>(claimed.size());
+        List<SqlParameterSource> rescheduled = new ArrayList<>();
+        for (int i = 0; i < claimed.size(); i++) {
+            OutboxRow row = claimed.get(i);
+            if (failures[i] == null) {
+                finished.add(row.id());
+                delivered.increment();
+            } else if (failures[i].permanent() || row.attempts() + 1 >= properties.getMaxAttempts()) {
+                notificationService.handleNotificationFailure(row.toReservation(), failures[i].reason());
+                finished.add(row.id());
+                dead.increment();
+            } else {
+                rescheduled.add(new MapSqlParameterSource()
+                        .addValue("id", row.id())
+                        .addValue("token", token)
+                        .addValue("attempts", row.attempts() + 1)
+                        .addValue("availableAt", Timestamp.from(now.plus(backoff(row.attempts()))))
+                        .addValue("lastError", truncate(failures[i].reason())));
+                retried.increment();
+            }
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            if (!finished.isEmpty()) {
+                jdbcTemplate.update(DELETE_EVENTS, new MapSqlParameterSource("token", token).addValue("ids", finished));
+            }
+            if (!rescheduled.isEmpty()) {
+                jdbcTemplate.batchUpdate(RESCHEDULE, rescheduled.toArray(SqlParameterSource[]::new));
+            }
+        });
+        sample.stop(batchTimer);
+        return claimed.size();
+    }
+
+    private void run() {
+        while (running) {
+            try {
+                if (drainBatch() < properties.getBatchSize()) {
+                    // Caught up: sleep until the next commit or poll, then take every wakeup that piled up meanwhile.
+                    wakeups.tryAcquire(properties.getPollInterval().toMillis(), TimeUnit.MILLISECONDS);
+                    wakeups.drainPermits();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                logger.error("Outbox drain failed, retrying after the poll interval", e);
+                try {
+                    Thread.sleep(properties.getPollInterval());
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private List<OutboxRow> claim(String token) {
+        return transactionTemplate.execute(status -> {
+            Instant now = Instant.now();
+            MapSqlParameterSource parameters = new MapSqlParameterSource()
+                    .addValue("now", Timestamp.from(now))
+                    .addValue("limit", properties.getBatchSize())
+                    .addValue("token", token)
+                    .addValue("leaseEnd", Timestamp.from(now.plus(properties.getLease())));
+            List<Long> ids = jdbcTemplate.queryForList(SELECT_CANDIDATES, parameters, Long.class);
+            if (ids.isEmpty()) {
+                return List.of();
+            }
+            // Rows another relay claimed since the select fail the recheck and are simply left out.
+            jdbcTemplate.update(CLAIM, parameters.addValue("ids", ids));
+            return jdbcTemplate.query(SELECT_CLAIMED, parameters, (rs, rowNum) -> new OutboxRow(rs.getLong("id"),
+                    rs.getLong("reservation_id"), rs.getString("channel"), rs.getString("message"), rs.getString("name"),
+                    rs.getString("email"), rs.getString("phone_number"), rs.getInt("attempts")));
+        });
+    }
+
+    /**
+     * Delivers the batch concurrently; the claimed rows belong to different reservations, so order is kept.
+     *
+     * @return the failure of each row, or {@code null} where delivery succeeded
+     */
+    private Failure[] deliver(List<OutboxRow> rows) throws InterruptedException {
+        Failure[] failures = new Failure[rows.size()];
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<?>> deliveries = new ArrayList<>(rows.size());
+            for (OutboxRow row : rows) {
+                deliveries.add(executor.submit(() -> {
+                    notificationService.deliver(row.channel(), row.toReservation(), row.message());
+                    return null;
+                }));
+            }
+            for (int i = 0; i < rows.size(); i++) {
+                try {
+                    deliveries.get(i).get();
+                } catch (ExecutionException e) {
+                    failures[i] = new Failure(String.valueOf(e.getCause().getMessage()),
+                            e.getCause() instanceof UnsupportedChannelException);
+                    logger.warn("{} notification for reservation {} failed on attempt {}: {}", rows.get(i).channel(),
+                            rows.get(i).reservationId(), rows.get(i).attempts() + 1, failures[i].reason());
+                }
+            }
+        }
+        return failures;
+    }
+
+    private Duration backoff(int attempts) {
+        Duration delay = properties.getRetryBackoff().multipliedBy(1L << Math.min(attempts, 20));
+        return delay.compareTo(properties.getMaxRetryBackoff()) > 0 ? properties.getMaxRetryBackoff() : delay;
+    }
+
+    private static String truncate(String error) {
+        return error.length() <= MAX_ERROR_LENGTH ? error : error.substring(0, MAX_ERROR_LENGTH);
+    }
+
+    private static Counter outcomeCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("notification.outbox.events")
+                .description("Outbox events by delivery outcome")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private record Failure(String reason, boolean permanent) {
+    }
+
+    private record OutboxRow(long id, long reservationId, String channel, String message, String name, String email,
+                             String phoneNumber, int attempts) {
+
+        /**
+         * Rebuilds the recipient as it was when the event was written; the reservation itself may be gone.
+         */
+        Reservation toReservation() {
+            Reservation reservation = new Reservation();
+            reservation.setId(reservationId);
+            reservation.setName(name);
+            reservation.setEmail(email);
+            reservation.setPhoneNumber(phoneNumber);
+            reservation.setContactMethods(Set.of(new ContactMethod(channel)));
+            return reservation;
+        }
+    }
+}
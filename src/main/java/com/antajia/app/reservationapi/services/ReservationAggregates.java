@@ -0,0 +1,486 @@
+package com.antajia.app.reservationapi.services;
+
+import com.antajia.app.reservationapi.config.AggregateProperties;
+import com.antajia.app.reservationapi.dtos.DailyReportDto;
+import com.antajia.app.reservationapi.dtos.ReservationDto;
+import com.antajia.app.reservationapi.dtos.SlotReportDto;
+import com.antajia.app.reservationapi.models.ContactMethod;
+import com.antajia.app.reservationapi.models.Reservation;
+import com.antajia.app.reservationapi.models.ReservationAggregate.Kind;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * Reservation and guest counts per day, per time slot and per contact method, kept in memory so reports never
+ * scan the reservation tables.
+ * <p>
+ * {@link ReservationService} applies each committed create, update and delete as a delta. Deltas also collect in
+ * a pending map that is written to {@code reservation_aggregates} every flush interval, as one batch of relative
+ * UPDATEs, so the table survives restarts without a write per request. Archived reservations stay counted, so
+ * the retention job leaves the counters alone. {@link #reconcile} recomputes everything from the live and archive
+ * tables and corrects whatever drifted, such as deltas lost in a crash or rows written around the service.
+ */
+@Component
+// The summary table is created with the schema, which has to exist before the counters load.
+@DependsOn("entityManagerFactory")
+@EnableConfigurationProperties(AggregateProperties.class)
+public class ReservationAggregates {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReservationAggregates.class);
+    private static final DateTimeFormatter SLOT_FORMAT = DateTimeFormatter.ofPattern("HH:mm");
+    private static final String DAY_BUCKET = "";
+
+    private static final String SELECT_ALL = "SELECT reservation_date, kind, bucket, reservations, guests FROM reservation_aggregates";
+    private static final String ADD_DELTA = "UPDATE reservation_aggregates SET reservations = reservations + :reservations, " +
+            "guests = guests + :guests, updated_at = :now WHERE reservation_date = :date AND kind = :kind AND bucket = :bucket";
+    private static final String SET_COUNTS = "UPDATE reservation_aggregates SET reservations = :reservations, " +
+            "guests = :guests, updated_at = :now WHERE reservation_date = :date AND kind = :kind AND bucket = :bucket";
+    private static final String INSERT_COUNTS = "INSERT INTO reservation_aggregates " +
+            "(reservation_date, kind, bucket, reservations, guests, updated_at) " +
+            "VALUES (:date, :kind, :bucket, :reservations, :guests, :now)";
+    private static final String DELETE_COUNTS = "DELETE FROM reservation_aggregates " +
+            "WHERE reservation_date = :date AND kind = :kind AND bucket = :bucket";
+
+    private static final String ALL_RESERVATIONS = "(SELECT id, reservation_date, reservation_time, number_of_guests FROM reservations " +
+            "UNION ALL SELECT id, reservation_date, reservation_time, number_of_guests FROM reservations_archive) r";
+    private static final String COUNT_DAYS = "SELECT r.reservation_date, COUNT(*) AS reservations, " +
+            "COALESCE(SUM(r.number_of_guests), 0) AS guests FROM " + ALL_RESERVATIONS + " " +
+            "WHERE r.reservation_date IS NOT NULL GROUP BY r.reservation_date";
+    // Grouped by exact time; the times are folded into slots afterwards, whatever the configured slot length.
+    private static final String COUNT_TIMES = "SELECT r.reservation_date, r.reservation_time, COUNT(*) AS reservations, " +
+            "COALESCE(SUM(r.number_of_guests), 0) AS guests FROM " + ALL_RESERVATIONS + " " +
+            "WHERE r.reservation_date IS NOT NULL AND r.reservation_time IS NOT NULL " +
+            "GROUP BY r.reservation_date, r.reservation_time";
+    private static final String COUNT_CHANNELS = "SELECT r.reservation_date, c.name, COUNT(*) AS reservations, " +
+            "COALESCE(SUM(r.number_of_guests), 0) AS guests FROM " + ALL_RESERVATIONS + " " +
+            "JOIN (SELECT reservation_id, contact_method_id FROM reservation_contact_methods " +
+            "UNION ALL SELECT reservation_id, contact_method_id FROM reservation_contact_methods_archive) rc " +
+            "ON rc.reservation_id = r.id JOIN contact_methods c ON c.id = rc.contact_method_id " +
+            "WHERE r.reservation_date IS NOT NULL GROUP BY r.reservation_date, c.name";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final AggregateProperties properties;
+    private final int slotMinutes;
+    private final Counter corrections;
+    // Guards the two maps below; request threads only hold it for a handful of map updates.
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    // Serializes flushes and reconciles, so the table always equals the totals minus the pending deltas.
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private final Map<LocalDate, DayTotals> totals = new HashMap<>();
+    private Map<AggregateKey, Counts> pending = new HashMap<>();
+
+    @Autowired
+    public ReservationAggregates(NamedParameterJdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+                                 AggregateProperties properties, MeterRegistry meterRegistry,
+                                 @Value("${reservation.capacity.slot-length:30m}") Duration slotLength) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.properties = properties;
+        this.slotMinutes = (int) Math.max(1, slotLength.toMinutes());
+        this.corrections = Counter.builder("reservation.aggregates.corrections")
+                .description("Summary counters found wrong and corrected by a reconcile")
+                .register(meterRegistry);
+        Gauge.builder("reservation.aggregates.pending", this, ReservationAggregates::getPendingCount)
+                .description("Counter changes not yet written to the summary table")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Loads the counters from the summary table.
+     */
+    @PostConstruct
+    public void load() {
+        Map<AggregateKey, Counts> stored = new HashMap<>();
+        jdbcTemplate.query(SELECT_ALL, rs -> {
+            stored.put(new AggregateKey(rs.getDate("reservation_date").toLocalDate(), Kind.valueOf(rs.getString("kind")),
+                    rs.getString("bucket")), new Counts(rs.getLong("reservations"), rs.getLong("guests")));
+        });
+        lock.writeLock().lock();
+        try {
+            totals.clear();
+            stored.forEach((key, counts) -> add(key, counts.reservations, counts.guests));
+        } finally {
+            lock.writeLock().unlock();
+        }
+        logger.info("Loaded {} reservation summary counters", stored.size());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void reconcileOnStartup() {
+        if (properties.isReconcileOnStartup()) {
+            reconcile();
+        }
+    }
+
+    /**
+     * Moves a booking from one place in the counters to another. Either side may be {@code null} for a create
+     * or a delete.
+     */
+    public void apply(Contribution removed, Contribution added) {
+        if (Objects.equals(removed, added)) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (removed != null) {
+                forEachKey(removed, key -> record(key, -1, -removed.guests()));
+            }
+            if (added != null) {
+                forEachKey(added, key -> record(key, 1, added.guests()));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Reports each day of the range, including days without bookings. The cost depends on the number of days and
+     * slots, never on the number of reservations.
+     */
+    public List<DailyReportDto> getDays(LocalDate from, LocalDate to) {
+        List<DailyReportDto> days = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            for (LocalDate date = from; !date.isAfter(to); date = date.plusDays(1)) {
+                days.add(report(date, totals.get(date)));
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return days;
+    }
+
+    /**
+     * Writes the pending deltas to the summary table.
+     *
+     * @return the number of counters written
+     */
+    @Scheduled(fixedDelayString = "${reservation.aggregates.flush-interval:PT5S}")
+    public int flush() {
+        writeLock.lock();
+        try {
+            return flushPending();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    @Scheduled(cron = "${reservation.aggregates.reconcile-cron:0 30 3 * * *}")
+    public void reconcileScheduled() {
+        reconcile();
+    }
+
+    /**
+     * Recomputes every counter from the reservation and archive tables, and corrects the ones that drifted in
+     * memory and in the summary table. Bookings committed while the recount runs may be counted twice until the
+     * next reconcile.
+     *
+     * @return the number of counters corrected
+     */
+    public int reconcile() {
+        writeLock.lock();
+        try {
+            flushPending();
+            Map<AggregateKey, Counts> actual = transactionTemplate.execute(status -> recount());
+            Map<AggregateKey, Counts> wrong = new LinkedHashMap<>();
+            lock.writeLock().lock();
+            try {
+                // Nothing else writes the table while writeLock is held, so it equals the totals minus the deltas
+                // recorded since the flush above.
+                Map<AggregateKey, Counts> stored = flatten();
+                pending.forEach((key, delta) -> stored.computeIfAbsent(key, k -> new Counts(0, 0)).add(-delta.reservations, -delta.guests));
+                Set<AggregateKey> keys = new HashSet<>(stored.keySet());
+                keys.addAll(actual.keySet());
+                for (AggregateKey key : keys) {
+                    Counts expected = actual.getOrDefault(key, Counts.ZERO);
+                    if (!expected.equals(stored.getOrDefault(key, Counts.ZERO))) {
+                        wrong.put(key, expected);
+                    }
+                }
+                totals.clear();
+                actual.forEach((key, counts) -> add(key, counts.reservations, counts.guests));
+                pending.forEach((key, delta) -> add(key, delta.reservations, delta.guests));
+            } finally {
+                lock.writeLock().unlock();
+            }
+            if (!wrong.isEmpty()) {
+                transactionTemplate.executeWithoutResult(status -> writeCounts(wrong));
+                corrections.increment(wrong.size());
+                logger.warn("Reconcile corrected {} reservation summary counters", wrong.size());
+            }
+            return wrong.size();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    public int getPendingCount() {
+        lock.readLock().lock();
+        try {
+            return pending.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private int flushPending() {
+        Map<AggregateKey, Counts> deltas;
+        lock.writeLock().lock();
+        try {
+            if (pending.isEmpty()) {
+                return 0;
+            }
+            deltas = pending;
+            pending = new HashMap<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> writeDeltas(deltas));
+        } catch (RuntimeException e) {
+            lock.writeLock().lock();
+            try {
+                // Put the deltas back ahead of anything recorded meanwhile; the next flush retries them.
+                deltas.forEach((key, delta) -> pending.computeIfAbsent(key, k -> new Counts(0, 0)).add(delta.reservations, delta.guests));
+            } finally {
+                lock.writeLock().unlock();
+            }
+            throw e;
+        }
+        return deltas.size();
+    }
+
+    private void writeDeltas(Map<AggregateKey, Counts> deltas) {
+        Timestamp now = Timestamp.from(Instant.now());
+        List<SqlParameterSource> rows = new ArrayList<>(deltas.size());
+        deltas.forEach((key, delta) -> {
+            if (!delta.equals(Counts.ZERO)) {
+                rows.add(parameters(key, delta, now));
+            }
+        });
+        insertMissing(rows, jdbcTemplate.batchUpdate(ADD_DELTA, rows.toArray(SqlParameterSource[]::new)));
+    }
+
+    private void writeCounts(Map<AggregateKey, Counts> counts) {
+        Timestamp now = Timestamp.from(Instant.now());
+        List<SqlParameterSource> updates = new ArrayList<>();
+        List<SqlParameterSource> deletes = new ArrayList<>();
+        counts.forEach((key, value) -> (value.equals(Counts.ZERO) ? deletes : updates).add(parameters(key, value, now)));
+        if (!deletes.isEmpty()) {
+            jdbcTemplate.batchUpdate(DELETE_COUNTS, deletes.toArray(SqlParameterSource[]::new));
+        }
+        insertMissing(updates, jdbcTemplate.batchUpdate(SET_COUNTS, updates.toArray(SqlParameterSource[]::new)));
+    }
+
+    /**
+     * Inserts the rows whose UPDATE matched nothing; a relative delta on a missing row is its absolute value.
+     */
+    private void insertMissing(List<SqlParameterSource> rows, int[] updated) {
+        List<SqlParameterSource> missing = new ArrayList<>();
+        for (int i = 0; i < updated.length; i++) {
+            if (updated[i] == 0) {
+                missing.add(rows.get(i));
+            }
+        }
+        if (!missing.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_COUNTS, missing.toArray(SqlParameterSource[]::new));
+        }
+    }
+
+    private Map<AggregateKey, Counts> recount() {
+        Map<AggregateKey, Counts> counts = new HashMap<>();
+        jdbcTemplate.query(COUNT_DAYS, rs -> {
+            counts.put(new AggregateKey(rs.getDate(1).toLocalDate(), Kind.DAY, DAY_BUCKET),
+                    new Counts(rs.getLong("reservations"), rs.getLong("guests")));
+        });
+        jdbcTemplate.query(COUNT_TIMES, rs -> {
+            AggregateKey key = new AggregateKey(rs.getDate(1).toLocalDate(), Kind.SLOT, slotBucket(rs.getTime(2).toLocalTime()));
+            counts.computeIfAbsent(key, k -> new Counts(0, 0)).add(rs.getLong("reservations"), rs.getLong("guests"));
+        });
+        jdbcTemplate.query(COUNT_CHANNELS, rs -> {
+            counts.put(new AggregateKey(rs.getDate(1).toLocalDate(), Kind.CHANNEL, rs.getString(2)),
+                    new Counts(rs.getLong("reservations"), rs.getLong("guests")));
+        });
+        return counts;
+    }
+
+    private void record(AggregateKey key, long reservations, long guests) {
+        add(key, reservations, guests);
+        pending.computeIfAbsent(key, k -> new Counts(0, 0)).add(reservations, guests);
+    }
+
+    private void add(AggregateKey key, long reservations, long guests) {
+        DayTotals day = totals.computeIfAbsent(key.date(), date -> new DayTotals());
+        Counts counts = switch (key.kind()) {
+            case DAY -> day.day;
+            case SLOT -> day.slots.computeIfAbsent(key.bucket(), bucket -> new Counts(0, 0));
+            case CHANNEL -> day.channels.computeIfAbsent(key.bucket(), bucket -> new Counts(0, 0));
+        };
+        counts.add(reservations, guests);
+    }
+
+    private Map<AggregateKey, Counts> flatten() {
+        Map<AggregateKey, Counts> flat = new HashMap<>();
+        totals.forEach((date, day) -> {
+            flat.put(new AggregateKey(date, Kind.DAY, DAY_BUCKET), day.day.copy());
+            day.slots.forEach((bucket, counts) -> flat.put(new AggregateKey(date, Kind.SLOT, bucket), counts.copy()));
+            day.channels.forEach((bucket, counts) -> flat.put(new AggregateKey(date, Kind.CHANNEL, bucket), counts.copy()));
+        });
+        return flat;
+    }
+
+    private void forEachKey(Contribution contribution, Consumer<AggregateKey> action) {
+        if (contribution.date() == null) {
+            return;
+        }
+        action.accept(new AggregateKey(contribution.date(), Kind.DAY, DAY_BUCKET));
+        if (contribution.time() != null) {
+            action.accept(new AggregateKey(contribution.date(), Kind.SLOT, slotBucket(contribution.time())));
+        }
+        for (String channel : contribution.channels()) {
+            action.accept(new AggregateKey(contribution.date(), Kind.CHANNEL, channel));
+        }
+    }
+
+    private String slotBucket(LocalTime time) {
+        int minuteOfDay = time.getHour() * 60 + time.getMinute();
+        return LocalTime.MIDNIGHT.plusMinutes(minuteOfDay - minuteOfDay % slotMinutes).format(SLOT_FORMAT);
+    }
+
+    private static DailyReportDto report(LocalDate date, DayTotals day) {
+        if (day == null) {
+            return new DailyReportDto(date, 0, 0, List.of(), Map.of());
+        }
+        List<SlotReportDto> slots = new ArrayList<>(day.slots.size());
+        day.slots.forEach((bucket, counts) -> {
+            if (counts.reservations != 0) {
+                slots.add(new SlotReportDto(LocalTime.parse(bucket, SLOT_FORMAT), counts.reservations, counts.guests));
+            }
+        });
+        Map<String, Long> channels = new TreeMap<>();
+        day.channels.forEach((channel, counts) -> {
+            if (counts.reservations != 0) {
+                channels.put(channel, counts.reservations);
+            }
+        });
+        return new DailyReportDto(date, day.day.reservations, day.day.guests, slots, channels);
+    }
+
+    private static MapSqlParameterSource parameters(AggregateKey key, Counts counts, Timestamp now) {
+        return new MapSqlParameterSource()
+                .addValue("date", Date.valueOf(key.date()))
+                .addValue("kind", key.kind().name())
+                .addValue("bucket", key.bucket())
+                .addValue("reservations", counts.reservations)
+                .addValue("guests", counts.guests)
+                .addValue("now", now);
+    }
+
+    /**
+     * What one reservation adds to the counters: its day, its slot and each of its contact methods.
+     */
+    public record Contribution(LocalDate date, LocalTime time, long guests, Set<String> channels) {
+
+        public static Contribution of(Reservation reservation) {
+            Set<String> channels = reservation.getContactMethods() == null ? Set.of()
+                    : reservation.getContactMethods().stream().map(ContactMethod::getName).collect(Collectors.toUnmodifiableSet());
+            return new Contribution(reservation.getReservationDate(), reservation.getReservationTime(),
+                    guests(reservation.getNumberOfGuests()), channels);
+        }
+
+        public static Contribution of(ReservationDto reservation) {
+            Collection<String> channels = reservation.getContactMethods() == null ? Set.of() : reservation.getContactMethods();
+            return new Contribution(reservation.getReservationDate(), reservation.getReservationTime(),
+                    guests(reservation.getNumberOfGuests()), Set.copyOf(channels));
+        }
+
+        private static long guests(Integer numberOfGuests) {
+            return numberOfGuests == null ? 0 : numberOfGuests;
+        }
+    }
+
+    private record AggregateKey(LocalDate date, Kind kind, String bucket) {
+    }
+
+    private static final class DayTotals {
+        private final Counts day = new Counts(0, 0);
+        private final Map<String, Counts> slots = new TreeMap<>();
+        private final Map<String, Counts> channels = new TreeMap<>();
+    }
+
+    private static final class Counts {
+        private static final Counts ZERO = new Counts(0, 0);
+
+        private long reservations;
+        private long guests;
+
+        private Counts(long reservations, long guests) {
+            this.reservations = reservations;
+            this.guests = guests;
+        }
+
+        private void add(long reservations, long guests) {
+            this.reservations += reservations;
+            this.guests += guests;
+        }
+
+        private Counts copy() {
+            return new Counts(reservations, guests);
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof Counts counts && counts.reservations == reservations && counts.guests == guests;
+        }
+
+        @Override
+        public int hashCode() {
+            return Long.hashCode(reservations * 31 + guests);
+        }
+    }
+}
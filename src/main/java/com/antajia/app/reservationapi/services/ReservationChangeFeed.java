@@ -0,0 +1,264 @@
+package com.antajia.app.reservationapi.services;
+
+import com.antajia.app.reservationapi.config.ChangeFeedProperties;
+import com.antajia.app.reservationapi.dtos.ReservationChangeDto;
+import com.antajia.app.reservationapi.dtos.ReservationDto;
+import com.antajia.app.reservationapi.exceptions.ChangeFeedFullException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pushes committed reservation changes to server-sent event subscribers.
+ * <p>
+ * Each change is serialized once into a ready-made event and numbered; the same event object goes to every
+ * subscriber, so fan-out costs a queue offer per subscriber. The last {@code buffer-size} events stay in a ring
+ * buffer, and a subscriber that reconnects with Last-Event-ID gets the ones it missed, or a {@value #RESET_EVENT}
+ * event when they are gone and it has to reload. Event ids are {@code <epoch>-<sequence>}, the epoch being the
+ * start time of this process, so an id from before a restart is recognised and answered with a reset rather than
+ * matched against unrelated events of the same number. Each subscriber has a bounded queue drained by its own virtual
+ * thread; one that falls {@code queue-capacity} events behind is disconnected rather than slowing the rest, and
+ * resumes from the buffer when it reconnects.
+ */
+@Component
+@EnableConfigurationProperties(ChangeFeedProperties.class)
+public class ReservationChangeFeed {
+
+    public static final String LAST_EVENT_ID_HEADER = "Last-Event-ID";
+    public static final String RESET_EVENT = "reset";
+
+    private static final Logger logger = LoggerFactory.getLogger(ReservationChangeFeed.class);
+    private static final Set<ResponseBodyEmitter.DataWithMediaType> HEARTBEAT = SseEmitter.event().comment("keep-alive").build();
+    // Handed to a dropped subscriber's writer so it stops without waiting for the next heartbeat.
+    private static final ChangeEvent CLOSE = new ChangeEvent(0, Set.of());
+
+    private final ObjectMapper objectMapper;
+    private final ChangeFeedProperties properties;
+    private final long epoch = System.currentTimeMillis();
+    private final ChangeEvent[] buffer;
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final Counter published;
+    private final Counter dropped;
+    // Guarded by this, as are the buffer slots.
+    private long lastEventId;
+
+    @Autowired
+    public ReservationChangeFeed(ObjectMapper objectMapper, ChangeFeedProperties properties, MeterRegistry meterRegistry) {
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+        this.buffer = new ChangeEvent[Math.max(1, properties.getBufferSize())];
+        this.published = Counter.builder("reservation.changes.published")
+                .description("Reservation changes pushed to the change stream").register(meterRegistry);
+        this.dropped = Counter.builder("reservation.changes.dropped")
+                .description("Change stream subscribers disconnected for falling behind").register(meterRegistry);
+        Gauge.builder("reservation.changes.subscribers", subscribers, Set::size)
+                .description("Connected change stream subscribers").register(meterRegistry);
+    }
+
+    public void publishCreated(ReservationDto reservation) {
+        publish(new ReservationChangeDto(ReservationChangeDto.CREATED, reservation.getId(), reservation));
+    }
+
+    public void publishUpdated(ReservationDto reservation) {
+        publish(new ReservationChangeDto(ReservationChangeDto.UPDATED, reservation.getId(), reservation));
+    }
+
+    public void publishDeleted(Long id) {
+        publish(new ReservationChangeDto(ReservationChangeDto.DELETED, id, null));
+    }
+
+    /**
+     * Opens a stream of changes, starting after the given event id when the client is resuming.
+     *
+     * @param lastEventIdHeader the Last-Event-ID the client sent, or {@code null} for live changes only
+     */
+    public SseEmitter subscribe(String lastEventIdHeader) {
+        if (subscribers.size() >= properties.getMaxSubscribers()) {
+            throw new ChangeFeedFullException(properties.getMaxSubscribers());
+        }
+        SseEmitter emitter = new SseEmitter(properties.getTimeout().toMillis());
+        Subscriber subscriber = new Subscriber(emitter);
+        Long resumeAfter = parseEventId(lastEventIdHeader);
+        synchronized (this) {
+            // Replay and registration happen under the publish lock, so no change is missed or sent twice.
+            if (resumeAfter != null) {
+                long oldest = Math.max(1, lastEventId - buffer.length + 1);
+                if (resumeAfter > lastEventId || resumeAfter + 1 < oldest) {
+                    subscriber.replay.add(resetEvent(formatEventId(lastEventId), lastEventId));
+                } else {
+                    for (long id = resumeAfter + 1; id <= lastEventId; id++) {
+                        subscriber.replay.add(buffer[slot(id)]);
+                    }
+                }
+            }
+            subscribers.add(subscriber);
+        }
+        emitter.onCompletion(subscriber::close);
+        emitter.onTimeout(subscriber::close);
+        emitter.onError(error -> subscriber.close());
+        Thread.ofVirtual().name("reservation-changes-subscriber").start(subscriber::run);
+        return emitter;
+    }
+
+    public synchronized long getLastEventId() {
+        return lastEventId;
+    }
+
+    /**
+     * Formats a sequence number the way it goes out in the SSE id field.
+     */
+    public String formatEventId(long sequence) {
+        return epoch + "-" + sequence;
+    }
+
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        subscribers.forEach(Subscriber::close);
+    }
+
+    private void publish(ReservationChangeDto change) {
+        String data;
+        try {
+            data = objectMapper.writeValueAsString(change);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+        synchronized (this) {
+            long id = ++lastEventId;
+            ChangeEvent event = new ChangeEvent(id, SseEmitter.event()
+                    .id(formatEventId(id))
+                    .name(change.getType())
+                    .data(data, MediaType.APPLICATION_JSON)
+                    .build());
+            buffer[slot(id)] = event;
+            for (Subscriber subscriber : subscribers) {
+                subscriber.offer(event);
+            }
+        }
+        published.increment();
+    }
+
+    private static ChangeEvent resetEvent(String id, long lastEventId) {
+        return new ChangeEvent(lastEventId, SseEmitter.event()
+                .id(id)
+                .name(RESET_EVENT)
+                .data("{}", MediaType.APPLICATION_JSON)
+                .build());
+    }
+
+    private int slot(long id) {
+        return (int) (id % buffer.length);
+    }
+
+    /**
+     * @return the sequence number to resume after, {@code null} for none, or {@link Long#MAX_VALUE} when the id
+     *         is not one of this process's and the client has to reset
+     */
+    private Long parseEventId(String lastEventId) {
+        if (lastEventId == null || lastEventId.isBlank()) {
+            return null;
+        }
+        String id = lastEventId.trim();
+        int separator = id.indexOf('-');
+        try {
+            if (separator > 0 && Long.parseLong(id.substring(0, separator)) == epoch) {
+                return Long.parseLong(id.substring(separator + 1));
+            }
+        } catch (NumberFormatException e) {
+            // Falls through to the reset below.
+        }
+        // From an earlier run or not one of ours, so nothing can be replayed; the reset tells the client to reload.
+        return Long.MAX_VALUE;
+    }
+
+    /**
+     * An event ready to write: the SSE fields are built once at publish time and shared by all subscribers.
+     */
+    private record ChangeEvent(long id, Set<ResponseBodyEmitter.DataWithMediaType> items) {
+    }
+
+    private final class Subscriber {
+
+        private final SseEmitter emitter;
+        private final BlockingQueue<ChangeEvent> queue = new ArrayBlockingQueue<>(Math.max(1, properties.getQueueCapacity()));
+        // Filled before the writer starts; never bounded by the queue capacity.
+        private final List<ChangeEvent> replay = new ArrayList<>();
+        private volatile boolean closed;
+
+        private Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        /**
+         * Called with the feed's lock held, so it must never block.
+         */
+        private void offer(ChangeEvent event) {
+            if (closed || queue.offer(event)) {
+                return;
+            }
+            dropped.increment();
+            logger.warn("Disconnecting a change stream subscriber {} events behind", queue.size());
+            close();
+        }
+
+        private void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            subscribers.remove(this);
+            queue.clear();
+            queue.offer(CLOSE);
+        }
+
+        private void run() {
+            try {
+                for (ChangeEvent event : replay) {
+                    emitter.send(event.items());
+                }
+                replay.clear();
+                while (!closed) {
+                    ChangeEvent event = queue.poll(properties.getHeartbeatInterval().toMillis(), TimeUnit.MILLISECONDS);
+                    if (event == CLOSE || closed) {
+                        break;
+                    }
+                    emitter.send(event == null ? HEARTBEAT : event.items());
+                }
+                emitter.complete();
+            } catch (IOException | IllegalStateException e) {
+                // The client went away or the emitter already completed; the container reports it through onError.
+                logger.debug("Change stream subscriber disconnected: {}", e.getMessage());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                emitter.complete();
+            } finally {
+                close();
+            }
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.antajia.app.reservationapi.services;
+
+import com.antajia.app.reservationapi.events.OutboxEventRecordedEvent;
+import com.antajia.app.reservationapi.events.ScheduledNotificationDueEvent;
+import com.antajia.app.reservationapi.models.ContactMethod;
+import com.antajia.app.reservationapi.models.Reservation;
+import com.antajia.app.reservationapi.repositories.ReservationRepository;
+import com.antajia.app.reservationapi.services.notifications.NotificationEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Writes reservation notifications to the {@code reservation_outbox} table inside the transaction that changes
+ * the reservation, so a notification exists exactly when the change committed. Delivery is left to the
+ * {@link OutboxRelay}. Scheduled notifications such as reminders are recorded here when they fall due, in the
+ * transaction that removes them from the scheduler, so they get the same at-least-once delivery.
+ * <p>
+ * Rows are inserted with plain JDBC batches on the transaction's connection, keeping bulk creates at one batch
+ * per flush and out of the persistence context.
+ */
+@Component
+public class ReservationOutbox {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReservationOutbox.class);
+
+    private static final String INSERT_EVENT = "INSERT INTO reservation_outbox " +
+            "(reservation_id, event_type, channel, message, name, email, phone_number, attempts, available_at, created_at) " +
+            "VALUES (:reservationId, :eventType, :channel, :message, :name, :email, :phoneNumber, 0, :now, :now)";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final NotificationService notificationService;
+    private final ReservationRepository reservationRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    public ReservationOutbox(NamedParameterJdbcTemplate jdbcTemplate, NotificationService notificationService,
+                             ReservationRepository reservationRepository, ApplicationEventPublisher eventPublisher) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.notificationService = notificationService;
+        this.reservationRepository = reservationRepository;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public int record(NotificationEvent event, Reservation reservation) {
+        return recordAll(event, List.of(reservation));
+    }
+
+    /**
+     * Records one event per reservation on its preferred channel. Reservations without a contact method get none.
+     *
+     * @return the number of events written
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public int recordAll(NotificationEvent event, Collection<Reservation> reservations) {
+        return insert(event, reservations, reservation -> notificationService.formatNotificationMessage(event, reservation));
+    }
+
+    /**
+     * Records a scheduled notification that fell due, addressed with the reservation's current contact methods.
+     * Runs inside the scheduler's firing transaction.
+     */
+    @EventListener
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void onScheduledNotificationDue(ScheduledNotificationDueEvent event) {
+        Reservation reservation = reservationRepository.findByIdWithContactMethods(event.getReservationId());
+        if (reservation == null) {
+            logger.warn("Dropping scheduled notification for missing reservation: {}", event.getReservationId());
+            return;
+        }
+        insert(NotificationEvent.REMINDER, List.of(reservation), ignored -> event.getMessage());
+    }
+
+    private int insert(NotificationEvent event, Collection<Reservation> reservations, Function<Reservation, String> message) {
+        Timestamp now = Timestamp.from(Instant.now());
+        List<SqlParameterSource> rows = new ArrayList<>(reservations.size());
+        for (Reservation reservation : reservations) {
+            ContactMethod preferredMethod = notificationService.getPreferredContactMethod(reservation);
+            if (preferredMethod == null) {
+                logger.warn("No contact method for reservation: {}", reservation.getId());
+                continue;
+            }
+            rows.add(new MapSqlParameterSource()
+                    .addValue("reservationId", reservation.getId())
+                    .addValue("eventType", event.name())
+                    .addValue("channel", preferredMethod.getName())
+                    .addValue("message", message.apply(reservation))
+                    .addValue("name", reservation.getName())
+                    .addValue("email", reservation.getEmail())
+                    .addValue("phoneNumber", reservation.getPhoneNumber())
+                    .addValue("now", now));
+        }
+        if (rows.isEmpty()) {
+            return 0;
+        }
+        jdbcTemplate.batchUpdate(INSERT_EVENT, rows.toArray(SqlParameterSource[]::new));
+        eventPublisher.publishEvent(new OutboxEventRecordedEvent());
+        return rows.size();
+    }
+}
@@ -0,0 +1,218 @@
+package com.antajia.app.reservationapi.services;
+
+import com.antajia.app.reservationapi.config.CacheConfig;
+import com.antajia.app.reservationapi.config.RetentionProperties;
+import com.antajia.app.reservationapi.models.RetentionRun;
+import com.antajia.app.reservationapi.repositories.RetentionRunRepository;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Moves past reservations into {@code reservations_archive} so the live table only holds what online traffic
+ * reads.
+ * <p>
+ * Each chunk is one transaction of set-based statements: copy the reservations and their contact method links
+ * to the archive tables, delete the originals, and advance the {@link RetentionRun} counters. A crash loses at
+ * most the chunk in flight, which rolls back, and the unfinished run is resumed on the next start. Between
+ * chunks the job sleeps in proportion to the work it just did, and longer while requests wait for connections.
+ */
+@Service
+public class ReservationRetentionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReservationRetentionService.class);
+
+    private static final String SELECT_CHUNK = "SELECT id FROM reservations WHERE reservation_date < :cutoff " +
+            "ORDER BY reservation_date, id LIMIT :limit";
+    private static final String ARCHIVE_RESERVATIONS = "INSERT INTO reservations_archive " +
+            "(id, name, phone_number, email, reservation_date, reservation_time, number_of_guests, version, archived_at) " +
+            "SELECT id, name, phone_number, email, reservation_date, reservation_time, number_of_guests, version, :archivedAt " +
+            "FROM reservations WHERE id IN (:ids)";
+    private static final String ARCHIVE_CONTACT_METHODS = "INSERT INTO reservation_contact_methods_archive " +
+            "(reservation_id, contact_method_id) " +
+            "SELECT reservation_id, contact_method_id FROM reservation_contact_methods WHERE reservation_id IN (:ids)";
+    private static final String DELETE_CONTACT_METHODS = "DELETE FROM reservation_contact_methods WHERE reservation_id IN (:ids)";
+    private static final String DELETE_RESERVATIONS = "DELETE FROM reservations WHERE id IN (:ids)";
+    private static final String RECORD_PROGRESS = "UPDATE retention_runs SET rows_moved = rows_moved + :moved, " +
+            "chunks = chunks + 1, updated_at = :now WHERE id = :runId";
+    private static final String COMPLETE_RUN = "UPDATE retention_runs SET status = :completed, finished_at = :now, " +
+            "updated_at = :now WHERE id = :runId";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final RetentionRunRepository retentionRunRepository;
+    private final RetentionProperties properties;
+    private final CacheManager cacheManager;
+    private final ReservationSearchIndex searchIndex;
+    private final DataSource dataSource;
+    private final Counter rowsMoved;
+    private final Timer chunkTimer;
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final AtomicLong currentRunRows = new AtomicLong();
+
+    @Autowired
+    public ReservationRetentionService(NamedParameterJdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+                                       RetentionRunRepository retentionRunRepository, RetentionProperties properties,
+                                       CacheManager cacheManager, ReservationSearchIndex searchIndex,
+                                       DataSource dataSource, MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.retentionRunRepository = retentionRunRepository;
+        this.properties = properties;
+        this.cacheManager = cacheManager;
+        this.searchIndex = searchIndex;
+        this.dataSource = dataSource;
+        this.rowsMoved = Counter.builder("reservation.retention.rows.moved")
+                .description("Reservations moved to the archive").register(meterRegistry);
+        this.chunkTimer = Timer.builder("reservation.retention.chunk")
+                .description("Duration of one archival chunk transaction").register(meterRegistry);
+        Gauge.builder("reservation.retention.run.rows", currentRunRows, AtomicLong::get)
+                .description("Reservations moved so far by the current or last run").register(meterRegistry);
+        Gauge.builder("reservation.retention.running", running, flag -> flag.get() ? 1 : 0)
+                .description("Whether a retention run is in progress").register(meterRegistry);
+    }
+
+    @Scheduled(cron = "${reservation.retention.cron:0 0 3 * * *}")
+    public void runScheduled() {
+        if (properties.isEnabled()) {
+            archiveBefore(LocalDate.now().minusDays(properties.getHorizon().toDays()));
+        }
+    }
+
+    /**
+     * Picks up a run that was interrupted by a crash or shutdown, off the startup thread.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeInterruptedRun() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        retentionRunRepository.findFirstByStatusOrderByIdDesc(RetentionRun.Status.RUNNING).ifPresent(run -> {
+            logger.info("Resuming retention run {} for reservations before {} after {} rows", run.getId(), run.getCutoff(), run.getRowsMoved());
+            Thread.ofVirtual().name("retention-resume").start(() -> archiveBefore(run.getCutoff()));
+        });
+    }
+
+    /**
+     * Archives reservations dated before the cutoff, until none are left or the run time is used up.
+     *
+     * @return the number of reservations moved by this call
+     */
+    public long archiveBefore(LocalDate cutoff) {
+        if (!running.compareAndSet(false, true)) {
+            logger.info("Retention run already in progress, skipping");
+            return 0;
+        }
+        try {
+            RetentionRun run = retentionRunRepository.findFirstByStatusOrderByIdDesc(RetentionRun.Status.RUNNING)
+                    .orElseGet(() -> new RetentionRun(cutoff, Instant.now()));
+            run.setCutoff(cutoff);
+            run = retentionRunRepository.save(run);
+            currentRunRows.set(run.getRowsMoved());
+            long deadline = System.nanoTime() + properties.getMaxRunTime().toNanos();
+            long moved = 0;
+            int chunk;
+            do {
+                long start = System.nanoTime();
+                chunk = moveChunk(run);
+                moved += chunk;
+                if (chunk > 0) {
+                    throttle(System.nanoTime() - start);
+                }
+            } while (chunk > 0 && System.nanoTime() < deadline && !Thread.currentThread().isInterrupted());
+            if (chunk == 0) {
+                Timestamp now = Timestamp.from(Instant.now());
+                jdbcTemplate.update(COMPLETE_RUN, new MapSqlParameterSource()
+                        .addValue("completed", RetentionRun.Status.COMPLETED.name())
+                        .addValue("now", now)
+                        .addValue("runId", run.getId()));
+            }
+            logger.info("Retention moved {} reservations dated before {}{}", moved, cutoff, chunk == 0 ? "" : ", more remain");
+            return moved;
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private int moveChunk(RetentionRun run) {
+        List<Long> ids = chunkTimer.record(() -> transactionTemplate.execute(status -> {
+            List<Long> chunkIds = jdbcTemplate.queryForList(SELECT_CHUNK, new MapSqlParameterSource()
+                    .addValue("cutoff", run.getCutoff())
+                    .addValue("limit", properties.getChunkSize()), Long.class);
+            if (chunkIds.isEmpty()) {
+                return chunkIds;
+            }
+            MapSqlParameterSource params = new MapSqlParameterSource()
+                    .addValue("ids", chunkIds)
+                    .addValue("archivedAt", Timestamp.from(Instant.now()));
+            jdbcTemplate.update(ARCHIVE_RESERVATIONS, params);
+            jdbcTemplate.update(ARCHIVE_CONTACT_METHODS, params);
+            jdbcTemplate.update(DELETE_CONTACT_METHODS, params);
+            jdbcTemplate.update(DELETE_RESERVATIONS, params);
+            jdbcTemplate.update(RECORD_PROGRESS, new MapSqlParameterSource()
+                    .addValue("moved", chunkIds.size())
+                    .addValue("now", Timestamp.from(Instant.now()))
+                    .addValue("runId", run.getId()));
+            return chunkIds;
+        }));
+        if (ids == null || ids.isEmpty()) {
+            return 0;
+        }
+        Cache cache = cacheManager.getCache(CacheConfig.RESERVATIONS_CACHE);
+        if (cache != null) {
+            ids.forEach(cache::evict);
+        }
+        ids.forEach(searchIndex::remove);
+        rowsMoved.increment(ids.size());
+        currentRunRows.addAndGet(ids.size());
+        return ids.size();
+    }
+
+    private void throttle(long chunkNanos) {
+        long pauseNanos = (long) (chunkNanos * properties.getThrottleRatio());
+        if (connectionsContended()) {
+            pauseNanos = Math.max(pauseNanos, properties.getContentionBackoff().toNanos());
+        }
+        try {
+            TimeUnit.NANOSECONDS.sleep(pauseNanos);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private boolean connectionsContended() {
+        try {
+            if (dataSource.isWrapperFor(HikariDataSource.class)) {
+                HikariDataSource hikari = dataSource.unwrap(HikariDataSource.class);
+                return hikari.getHikariPoolMXBean() != null && hikari.getHikariPoolMXBean().getThreadsAwaitingConnection() > 0;
+            }
+        } catch (SQLException e) {
+            logger.debug("Could not inspect the connection pool", e);
+        }
+        return false;
+    }
+}
@@ -0,0 +1,277 @@
+package com.antajia.app.reservationapi.services;
+
+import com.antajia.app.reservationapi.dtos.ReservationDto;
+import com.antajia.app.reservationapi.repositories.ReservationRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * In-memory prefix index over guest name, email and phone number.
+ * <p>
+ * Terms live in one sorted dictionary, each tagged with the field it came from, and map to a growable
+ * {@code long[]} of reservation ids. A prefix query is a range scan of the dictionary that stops as soon as
+ * enough ids are collected, so its cost depends on the result limit rather than the table size. Names are
+ * split into accent-free lower case words, emails are indexed whole and by local part, and phone numbers by
+ * their digits both forwards and reversed, so a query matches the start or the end of a number.
+ * <p>
+ * The index is rebuilt from the database at startup and kept in step by {@link ReservationService} once
+ * writes commit.
+ */
+@Component
+public class ReservationSearchIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReservationSearchIndex.class);
+
+    private static final char NAME = 'n';
+    private static final char EMAIL = 'e';
+    private static final char PHONE = 'p';
+    private static final char PHONE_REVERSED = 'r';
+    // Fewer digits than this match too many numbers to be useful, so such queries are treated as names.
+    private static final int MIN_PHONE_DIGITS = 3;
+    private static final Pattern PHONE_QUERY = Pattern.compile("[+\\d\\s().-]+");
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{Nd}]+");
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+
+    private final ReservationRepository reservationRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final NavigableMap<String, Postings> postingsByTerm = new TreeMap<>();
+    private final Map<Long, String[]> termsById = new HashMap<>();
+
+    @Autowired
+    public ReservationSearchIndex(ReservationRepository reservationRepository, TransactionTemplate transactionTemplate) {
+        this.reservationRepository = reservationRepository;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    @PostConstruct
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            postingsByTerm.clear();
+            termsById.clear();
+            // Streaming queries need a transaction; the projected DTOs never enter the persistence context.
+            transactionTemplate.executeWithoutResult(status -> {
+                try (Stream<ReservationDto> reservations = reservationRepository.streamAllOrderedById()) {
+                    reservations.forEach(reservation -> insert(reservation.getId(),
+                            terms(reservation.getName(), reservation.getEmail(), reservation.getPhoneNumber())));
+                }
+            });
+            logger.info("Rebuilt reservation search index with {} reservations and {} terms", termsById.size(), postingsByTerm.size());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Adds a reservation, or replaces the indexed fields of one already present.
+     */
+    public void put(Long id, String name, String email, String phoneNumber) {
+        if (id == null) {
+            return;
+        }
+        String[] terms = terms(name, email, phoneNumber);
+        lock.writeLock().lock();
+        try {
+            delete(id);
+            insert(id, terms);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long id) {
+        lock.writeLock().lock();
+        try {
+            delete(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Finds reservations whose name words, email or phone number start with the query. A query of several
+     * words matches names containing a word starting with each of them; a query made of digits and phone
+     * punctuation matches the start or end of the phone number.
+     *
+     * @return up to {@code limit} reservation ids, ordered by the matching term
+     */
+    public List<Long> search(String query, int limit) {
+        if (query == null || query.isBlank() || limit <= 0) {
+            return List.of();
+        }
+        Set<Long> ids = new LinkedHashSet<>();
+        lock.readLock().lock();
+        try {
+            String digits = query.replaceAll("\\D", "");
+            if (PHONE_QUERY.matcher(query.trim()).matches() && digits.length() >= MIN_PHONE_DIGITS) {
+                collect(PHONE + digits, ids, limit, null);
+                collect(PHONE_REVERSED + reverse(digits), ids, limit, null);
+                return new ArrayList<>(ids);
+            }
+            String normalized = normalize(query).trim();
+            if (normalized.indexOf('@') >= 0) {
+                collect(EMAIL + normalized, ids, limit, null);
+                return new ArrayList<>(ids);
+            }
+            String[] words = words(normalized);
+            if (words.length == 0) {
+                return List.of();
+            }
+            // Scan by the longest word, the narrowest range, and check the rest against each candidate.
+            String driver = Arrays.stream(words).max((a, b) -> Integer.compare(a.length(), b.length())).orElseThrow();
+            collect(NAME + driver, ids, limit, words.length > 1 ? words : null);
+            if (words.length == 1) {
+                collect(EMAIL + driver, ids, limit, null);
+            }
+            return new ArrayList<>(ids);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return termsById.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void collect(String prefix, Set<Long> ids, int limit, String[] requiredWords) {
+        for (Postings postings : postingsByTerm.subMap(prefix, true, prefix + Character.MAX_VALUE, false).values()) {
+            for (int i = 0; i < postings.size; i++) {
+                if (ids.size() >= limit) {
+                    return;
+                }
+                long id = postings.ids[i];
+                if (requiredWords == null || hasAllWords(termsById.get(id), requiredWords)) {
+                    ids.add(id);
+                }
+            }
+        }
+    }
+
+    private static boolean hasAllWords(String[] terms, String[] words) {
+        for (String word : words) {
+            boolean found = false;
+            for (String term : terms) {
+                if (term.charAt(0) == NAME && term.startsWith(word, 1)) {
+                    found = true;
+                    break;
+                }
+            }
+            if (!found) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void insert(Long id, String[] terms) {
+        termsById.put(id, terms);
+        for (String term : terms) {
+            postingsByTerm.computeIfAbsent(term, key -> new Postings()).add(id);
+        }
+    }
+
+    private void delete(Long id) {
+        String[] terms = termsById.remove(id);
+        if (terms == null) {
+            return;
+        }
+        for (String term : terms) {
+            Postings postings = postingsByTerm.get(term);
+            if (postings != null && postings.remove(id) && postings.size == 0) {
+                postingsByTerm.remove(term);
+            }
+        }
+    }
+
+    private static String[] terms(String name, String email, String phoneNumber) {
+        Set<String> terms = new LinkedHashSet<>();
+        if (name != null) {
+            for (String word : words(normalize(name))) {
+                terms.add(NAME + word);
+            }
+        }
+        if (email != null && !email.isBlank()) {
+            String normalized = normalize(email.trim());
+            terms.add(EMAIL + normalized);
+            int at = normalized.indexOf('@');
+            if (at > 0) {
+                terms.add(EMAIL + normalized.substring(0, at));
+            }
+        }
+        if (phoneNumber != null) {
+            String digits = phoneNumber.replaceAll("\\D", "");
+            if (!digits.isEmpty()) {
+                terms.add(PHONE + digits);
+                terms.add(PHONE_REVERSED + reverse(digits));
+            }
+        }
+        // Interned so reservations sharing a word or email domain share one string.
+        return terms.stream().map(String::intern).toArray(String[]::new);
+    }
+
+    private static String normalize(String text) {
+        return DIACRITICS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("").toLowerCase(Locale.ROOT);
+    }
+
+    private static String[] words(String text) {
+        return Arrays.stream(NON_WORD.split(text)).filter(word -> !word.isEmpty()).toArray(String[]::new);
+    }
+
+    private static String reverse(String text) {
+        return new StringBuilder(text).reverse().toString();
+    }
+
+    /**
+     * Unordered ids sharing a term. Removal swaps in the last id, which keeps the array dense.
+     */
+    private static final class Postings {
+        private long[] ids = new long[2];
+        private int size;
+
+        void add(long id) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            ids[size++] = id;
+        }
+
+        boolean remove(long id) {
+            for (int i = 0; i < size; i++) {
+                if (ids[i] == id) {
+                    ids[i] = ids[--size];
+                    if (size > 4 && size < ids.length / 4) {
+                        ids = Arrays.copyOf(ids, ids.length / 2);
+                    }
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
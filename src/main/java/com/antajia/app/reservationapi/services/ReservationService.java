@@ -2,63 +2,360 @@ package com.antajia.app.reservationapi.services;
 
 import com.antajia.app.reservationapi.models.Reservation;
 import com.antajia.app.reservationapi.models.ContactMethod;
+import com.antajia.app.reservationapi.config.CacheConfig;
+import com.antajia.app.reservationapi.dtos.BatchItemResultDto;
 import com.antajia.app.reservationapi.dtos.ReservationDto;
+import com.antajia.app.reservationapi.dtos.ReservationPage;
+import com.antajia.app.reservationapi.exceptions.ConcurrentReservationUpdateException;
+import com.antajia.app.reservationapi.exceptions.InvalidReservationException;
+import com.antajia.app.reservationapi.exceptions.SlotFullException;
+import com.antajia.app.reservationapi.exceptions.StaleReservationException;
 import com.antajia.app.reservationapi.repositories.ReservationRepository;
-import com.antajia.app.reservationapi.repositories.ContactMethodRepository;
+import com.antajia.app.reservationapi.repositories.projections.ReservationContactMethodView;
 import com.antajia.app.reservationapi.services.base.BaseReservationService;
+import com.antajia.app.reservationapi.services.notifications.NotificationEvent;
+import com.antajia.app.reservationapi.utils.ReservationCursor;
+import com.fasterxml.jackson.databind.JsonNode;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.OptimisticLockException;
+import jakarta.persistence.PersistenceContext;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.util.ArrayList;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.format.DateTimeParseException;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import java.util.HashSet;
 import java.util.Set;
 
+// Times every public method, tagged with its name, into reservation.service.
+@Timed(value = "reservation.service", histogram = true)
 @Service
 public class ReservationService implements BaseReservationService {
 
+    // Matches the fetch size of the streaming query, so each fetched block costs one contact method query.
+    private static final int STREAM_CHUNK_SIZE = 500;
+    // Entities persisted between flushes of a bulk insert; Hibernate splits each flush into JDBC batches.
+    private static final int BULK_FLUSH_SIZE = 500;
+
     private final ReservationRepository reservationRepository;
-    private final ContactMethodRepository contactMethodRepository;
+    private final ContactMethodRegistry contactMethodRegistry;
+    private final NotificationService notificationService;
+    private final ReservationValidator reservationValidator;
+    private final SlotOccupancyIndex slotOccupancyIndex;
+    private final ReservationSearchIndex searchIndex;
+    private final ReservationOutbox outbox;
+    private final ReservationAggregates aggregates;
+    private final ReservationChangeFeed changeFeed;
+    private final CacheManager cacheManager;
+
+    @PersistenceContext
+    private EntityManager entityManager;
 
     @Autowired
-    public ReservationService(ReservationRepository reservationRepository, ContactMethodRepository contactMethodRepository) {
+    public ReservationService(ReservationRepository reservationRepository, ContactMethodRegistry contactMethodRegistry,
+                              NotificationService notificationService, ReservationValidator reservationValidator,
+                              SlotOccupancyIndex slotOccupancyIndex, ReservationSearchIndex searchIndex,
+                              ReservationOutbox outbox, ReservationAggregates aggregates,
+                              ReservationChangeFeed changeFeed, CacheManager cacheManager) {
         this.reservationRepository = reservationRepository;
-        this.contactMethodRepository = contactMethodRepository;
+        this.contactMethodRegistry = contactMethodRegistry;
+        this.notificationService = notificationService;
+        this.reservationValidator = reservationValidator;
+        this.slotOccupancyIndex = slotOccupancyIndex;
+        this.searchIndex = searchIndex;
+        this.outbox = outbox;
+        this.aggregates = aggregates;
+        this.changeFeed = changeFeed;
+        this.cacheManager = cacheManager;
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<ReservationDto> getAllReservations() {
-        List<ReservationDto> reservationDtos = reservationRepository.findAll().stream()
+        List<ReservationDto> reservationDtos = reservationRepository.findAllWithContactMethods().stream()
                 .map(this::convertToDto)
                 .collect(Collectors.toList());
         return reservationDtos;
     }
     @Override
+    @Transactional(readOnly = true)
+    public ReservationPage getReservationPage(ReservationCursor cursor, int pageSize) {
+        // Ask for one extra row to learn whether another page exists without a COUNT query.
+        Pageable limit = PageRequest.of(0, pageSize + 1);
+        List<ReservationDto> rows = switch (cursor.getSortKey()) {
+            case ID -> reservationRepository.findPageAfterId(cursor.isFirstPage() ? 0L : cursor.getId(), limit);
+            case RESERVATION_DATE -> {
+                if (cursor.isFirstPage()) {
+                    yield reservationRepository.findFirstPageByReservationDate(limit);
+                }
+                yield cursor.getReservationDate() == null
+                        ? reservationRepository.findPageAfterUndatedId(cursor.getId(), limit)
+                        : reservationRepository.findPageAfterDate(cursor.getReservationDate(), cursor.getId(), limit);
+            }
+        };
+        boolean hasNext = rows.size() > pageSize;
+        List<ReservationDto> items = loadContactMethods(hasNext ? rows.subList(0, pageSize) : rows);
+        ReservationCursor nextCursor = hasNext
+                ? ReservationCursor.after(cursor.getSortKey(), items.get(items.size() - 1))
+                : null;
+        return new ReservationPage(items, nextCursor);
+    }
+    @Override
+    @Transactional(readOnly = true)
+    public Slice<ReservationDto> getReservationsInRange(LocalDate fromDate, LocalDate toDate, LocalTime fromTime, LocalTime toTime, Pageable pageable) {
+        Slice<ReservationDto> slice = fromTime == null || toTime == null
+                ? reservationRepository.findByDateRange(fromDate, toDate, pageable)
+                : reservationRepository.findByDateRangeAndTimeWindow(fromDate, toDate, fromTime, toTime, pageable);
+        loadContactMethods(slice.getContent());
+        return slice;
+    }
+    @Override
+    @Transactional(readOnly = true)
+    public void streamAllReservations(Consumer<ReservationDto> consumer) {
+        // Rows are projected straight into DTOs, so nothing accumulates in the persistence context.
+        List<ReservationDto> chunk = new ArrayList<>(STREAM_CHUNK_SIZE);
+        try (Stream<ReservationDto> reservations = reservationRepository.streamAllOrderedById()) {
+            reservations.forEach(reservation -> {
+                chunk.add(reservation);
+                if (chunk.size() == STREAM_CHUNK_SIZE) {
+                    loadContactMethods(chunk).forEach(consumer);
+                    chunk.clear();
+                }
+            });
+        }
+        loadContactMethods(chunk).forEach(consumer);
+    }
+    @Override
+    @Transactional(readOnly = true)
+    public List<ReservationDto> searchReservations(String query, int limit) {
+        List<Long> ids = searchIndex.search(query, limit);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, ReservationDto> reservationsById = reservationRepository.findDtosByIdIn(ids).stream()
+                .collect(Collectors.toMap(ReservationDto::getId, Function.identity()));
+        // Keep the index order; ids deleted since the lookup simply drop out.
+        List<ReservationDto> reservations = ids.stream()
+                .map(reservationsById::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+        return loadContactMethods(reservations);
+    }
+    @Override
+    @Transactional(readOnly = true)
+    // A replica may lag behind a write that was just evicted, so what it returns is never cached.
+    @Cacheable(cacheNames = CacheConfig.RESERVATIONS_CACHE, key = "#id",
+            unless = "#result == null || T(com.antajia.app.reservationapi.utils.ReadWriteRoutingDataSource).lastRoutedToReplica()")
     public Optional<ReservationDto> getReservationById(Long id) {
-        Optional<ReservationDto> reservationDto = reservationRepository.findById(id).map(this::convertToDto);
+        Optional<ReservationDto> reservationDto = Optional.ofNullable(reservationRepository.findByIdWithContactMethods(id))
+                .map(this::convertToDto);
         return reservationDto;
     }
     @Override
+    @Transactional
     public ReservationDto createReservation(ReservationDto reservationDto) {
-        Reservation reservation = convertToEntity(reservationDto);
+        requireValid(reservationDto);
+        // Built field by field rather than with convertToEntity so a client supplied id is never honoured.
+        Reservation reservation = new Reservation();
+        updateReservationFromDto(reservation, reservationDto);
+        admit(reservation);
+        // The INSERT only runs at commit, so the seats are handed back if the transaction does not make it.
+        afterRollback(() -> release(reservation));
         Reservation savedReservation = reservationRepository.save(reservation);
+        outbox.record(NotificationEvent.CREATED, savedReservation);
+        notificationService.scheduleReminders(List.of(savedReservation));
+        indexForSearch(savedReservation);
+        countAfterCommit(null, savedReservation);
         ReservationDto resDto = convertToDto(savedReservation);
+        afterCommit(() -> changeFeed.publishCreated(resDto));
         return resDto;
     }
     @Override
-    public Optional<ReservationDto> updateReservation(Long id, ReservationDto updatedReservationDto) {
-        return reservationRepository.findById(id)
+    @Transactional
+    public List<BatchItemResultDto> createReservations(List<ReservationDto> reservationDtos) {
+        BatchItemResultDto[] results = new BatchItemResultDto[reservationDtos.size()];
+        for (int i = 0; i < reservationDtos.size(); i++) {
+            String error = reservationValidator.validate(reservationDtos.get(i));
+            if (error != null) {
+                results[i] = BatchItemResultDto.rejected(i, error);
+            }
+        }
+        List<ReservationDto> admitted = new ArrayList<>();
+        for (int i = 0; i < reservationDtos.size(); i++) {
+            ReservationDto dto = reservationDtos.get(i);
+            if (results[i] != null) {
+                continue;
+            }
+            if (slotOccupancyIndex.tryReserve(dto.getReservationDate(), dto.getReservationTime(), dto.getNumberOfGuests())) {
+                admitted.add(dto);
+            } else {
+                results[i] = BatchItemResultDto.rejected(i, "Time slot is full");
+            }
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    admitted.forEach(dto -> slotOccupancyIndex.release(dto.getReservationDate(), dto.getReservationTime(), dto.getNumberOfGuests()));
+                    return;
+                }
+                for (BatchItemResultDto result : results) {
+                    if (result != null && result.isCreated()) {
+                        ReservationDto created = result.getReservation();
+                        searchIndex.put(created.getId(), created.getName(), created.getEmail(), created.getPhoneNumber());
+                        aggregates.apply(null, ReservationAggregates.Contribution.of(created));
+                        changeFeed.publishCreated(created);
+                    }
+                }
+            }
+        });
+
+        List<Integer> pendingIndexes = new ArrayList<>(BULK_FLUSH_SIZE);
+        List<Reservation> pending = new ArrayList<>(BULK_FLUSH_SIZE);
+        for (int i = 0; i < reservationDtos.size(); i++) {
+            if (results[i] != null) {
+                continue;
+            }
+            Reservation reservation = new Reservation();
+            updateReservationFromDto(reservation, reservationDtos.get(i));
+            entityManager.persist(reservation);
+            pending.add(reservation);
+            pendingIndexes.add(i);
+            if (pending.size() == BULK_FLUSH_SIZE) {
+                flushBulk(pending, pendingIndexes, results);
+            }
+        }
+        flushBulk(pending, pendingIndexes, results);
+        return List.of(results);
+    }
+    @Override
+    @Transactional
+    public Optional<ReservationDto> updateReservation(Long id, ReservationDto updatedReservationDto, Long expectedVersion) {
+        requireValid(updatedReservationDto);
+        // Row locked, so a concurrent update or delete reads this one's slot and cannot release the old one again.
+        return reservationRepository.findByIdForUpdate(id)
                 .map(reservation -> {
+                    if (expectedVersion != null && !expectedVersion.equals(reservation.getVersion())) {
+                        throw new StaleReservationException(id);
+                    }
+                    LocalDate previousDate = reservation.getReservationDate();
+                    LocalTime previousTime = reservation.getReservationTime();
+                    Integer previousGuests = reservation.getNumberOfGuests();
+                    ReservationAggregates.Contribution previous = ReservationAggregates.Contribution.of(reservation);
                     updateReservationFromDto(reservation, updatedReservationDto);
-                    return convertToDto(reservationRepository.save(reservation));
+                    if (!slotOccupancyIndex.tryMove(previousDate, previousTime, previousGuests,
+                            reservation.getReservationDate(), reservation.getReservationTime(), reservation.getNumberOfGuests())) {
+                        throw new SlotFullException(reservation.getReservationDate(), reservation.getReservationTime(), reservation.getNumberOfGuests());
+                    }
+                    moveBackOnRollback(reservation, previousDate, previousTime, previousGuests);
+                    Reservation savedReservation;
+                    try {
+                        savedReservation = reservationRepository.save(reservation);
+                        // Flushed here so a version conflict surfaces as a conflict rather than at commit.
+                        entityManager.flush();
+                    } catch (RuntimeException e) {
+                        if (e instanceof OptimisticLockingFailureException || e instanceof OptimisticLockException) {
+                            // Another update committed between our read and write.
+                            throw expectedVersion != null ? new StaleReservationException(id) : new ConcurrentReservationUpdateException(id);
+                        }
+                        throw e;
+                    }
+                    outbox.record(NotificationEvent.UPDATED, savedReservation);
+                    notificationService.scheduleReminders(List.of(savedReservation));
+                    indexForSearch(savedReservation);
+                    countAfterCommit(previous, savedReservation);
+                    ReservationDto updated = convertToDto(savedReservation);
+                    evictAfterCommit(id);
+                    afterCommit(() -> changeFeed.publishUpdated(updated));
+                    return updated;
+                });
+    }
+    @Override
+    @Transactional
+    public Optional<ReservationDto> patchReservation(Long id, JsonNode patch, Long expectedVersion) {
+        if (patch == null || !patch.isObject()) {
+            throw new InvalidReservationException("A merge patch must be a JSON object");
+        }
+        return reservationRepository.findByIdForUpdate(id)
+                .map(reservation -> {
+                    if (expectedVersion != null && !expectedVersion.equals(reservation.getVersion())) {
+                        throw new StaleReservationException(id);
+                    }
+                    LocalDate previousDate = reservation.getReservationDate();
+                    LocalTime previousTime = reservation.getReservationTime();
+                    Integer previousGuests = reservation.getNumberOfGuests();
+                    ReservationAggregates.Contribution previous = ReservationAggregates.Contribution.of(reservation);
+                    applyMergePatch(reservation, patch);
+                    boolean slotChanged = !Objects.equals(previousDate, reservation.getReservationDate())
+                            || !Objects.equals(previousTime, reservation.getReservationTime())
+                            || !Objects.equals(previousGuests, reservation.getNumberOfGuests());
+                    if (slotChanged && !slotOccupancyIndex.tryMove(previousDate, previousTime, previousGuests,
+                            reservation.getReservationDate(), reservation.getReservationTime(), reservation.getNumberOfGuests())) {
+                        throw new SlotFullException(reservation.getReservationDate(), reservation.getReservationTime(), reservation.getNumberOfGuests());
+                    }
+                    if (slotChanged) {
+                        moveBackOnRollback(reservation, previousDate, previousTime, previousGuests);
+                    }
+                    try {
+                        // Dirty checking plus @DynamicUpdate: one UPDATE of the changed columns, or none at all.
+                        entityManager.flush();
+                    } catch (RuntimeException e) {
+                        if (e instanceof OptimisticLockingFailureException || e instanceof OptimisticLockException) {
+                            throw expectedVersion != null ? new StaleReservationException(id) : new ConcurrentReservationUpdateException(id);
+                        }
+                        throw e;
+                    }
+                    outbox.record(NotificationEvent.UPDATED, reservation);
+                    notificationService.scheduleReminders(List.of(reservation));
+                    indexForSearch(reservation);
+                    countAfterCommit(previous, reservation);
+                    ReservationDto patched = convertToDto(reservation);
+                    evictAfterCommit(id);
+                    afterCommit(() -> changeFeed.publishUpdated(patched));
+                    return patched;
                 });
     }
     @Override
+    @Transactional
     public boolean deleteReservation(Long id) {
-        return reservationRepository.findById(id)
+        // Row locked first, so a concurrent delete finds nothing and a concurrent update cannot release the slot
+        // again. Contact methods are then fetched into the same instance, the cancellation notice needs them.
+        return reservationRepository.findByIdForUpdate(id)
+                .map(locked -> reservationRepository.findByIdWithContactMethods(id))
                 .map(reservation -> {
                     reservationRepository.delete(reservation);
+                    release(reservation);
+                    afterRollback(() -> slotOccupancyIndex.reserveUnchecked(reservation.getReservationDate(),
+                            reservation.getReservationTime(), reservation.getNumberOfGuests()));
+                    afterCommit(() -> searchIndex.remove(id));
+                    evictAfterCommit(id);
+                    countAfterCommit(ReservationAggregates.Contribution.of(reservation), null);
+                    afterCommit(() -> changeFeed.publishDeleted(id));
+                    notificationService.cancelScheduledNotifications(id);
+                    outbox.record(NotificationEvent.CANCELLED, reservation);
                     return true;
                 })
                 .orElse(false);
@@ -74,6 +371,7 @@ public class ReservationService implements BaseReservationService {
         dto.setReservationDate(reservation.getReservationDate());
         dto.setReservationTime(reservation.getReservationTime());
         dto.setNumberOfGuests(reservation.getNumberOfGuests());
+        dto.setVersion(reservation.getVersion());
         dto.setContactMethods(reservation.getContactMethods().stream()
                 .map(ContactMethod::getName)
                 .collect(Collectors.toSet()));
@@ -83,10 +381,128 @@ public class ReservationService implements BaseReservationService {
     @Override
     public Reservation convertToEntity(ReservationDto dto) {
         Reservation reservation = new Reservation();
+        reservation.setId(dto.getId());
         updateReservationFromDto(reservation, dto);
         return reservation;
     }
 
+    private void admit(Reservation reservation) {
+        if (!slotOccupancyIndex.tryReserve(reservation.getReservationDate(), reservation.getReservationTime(), reservation.getNumberOfGuests())) {
+            throw new SlotFullException(reservation.getReservationDate(), reservation.getReservationTime(), reservation.getNumberOfGuests());
+        }
+    }
+
+    private void release(Reservation reservation) {
+        slotOccupancyIndex.release(reservation.getReservationDate(), reservation.getReservationTime(), reservation.getNumberOfGuests());
+    }
+
+    /**
+     * Puts a moved booking back in its previous slot if the transaction does not commit, whatever made it fail.
+     */
+    private void moveBackOnRollback(Reservation reservation, LocalDate previousDate, LocalTime previousTime, Integer previousGuests) {
+        LocalDate date = reservation.getReservationDate();
+        LocalTime time = reservation.getReservationTime();
+        Integer guests = reservation.getNumberOfGuests();
+        afterRollback(() -> {
+            slotOccupancyIndex.release(date, time, guests);
+            slotOccupancyIndex.reserveUnchecked(previousDate, previousTime, previousGuests);
+        });
+    }
+
+    private void indexForSearch(Reservation reservation) {
+        Long id = reservation.getId();
+        String name = reservation.getName();
+        String email = reservation.getEmail();
+        String phoneNumber = reservation.getPhoneNumber();
+        afterCommit(() -> searchIndex.put(id, name, email, phoneNumber));
+    }
+
+    /**
+     * Drops the cached copy once the write commits. Evicting earlier would let a concurrent lookup cache the row
+     * as it was before the commit, stale for the whole TTL.
+     */
+    private void evictAfterCommit(Long id) {
+        afterCommit(() -> {
+            Cache cache = cacheManager.getCache(CacheConfig.RESERVATIONS_CACHE);
+            if (cache != null) {
+                cache.evict(id);
+            }
+        });
+    }
+
+    /**
+     * Runs the action once the surrounding transaction commits, or straight away outside one, so the in-memory
+     * indexes and the change feed never show a write that rolled back.
+     */
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    /**
+     * Moves the reservation in the summary counters once the transaction commits, from where it was counted
+     * before to where it stands now. Either side may be {@code null} for a create or a delete.
+     */
+    private void countAfterCommit(ReservationAggregates.Contribution before, Reservation after) {
+        ReservationAggregates.Contribution current = after == null ? null : ReservationAggregates.Contribution.of(after);
+        afterCommit(() -> aggregates.apply(before, current));
+    }
+
+    private static void afterRollback(Runnable action) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    action.run();
+                }
+            }
+        });
+    }
+
+    /**
+     * Fills in the contact methods of projected reservations with a single query for the whole batch.
+     */
+    private List<ReservationDto> loadContactMethods(List<ReservationDto> reservations) {
+        if (reservations.isEmpty()) {
+            return reservations;
+        }
+        Map<Long, ReservationDto> reservationsById = new HashMap<>();
+        for (ReservationDto reservation : reservations) {
+            reservation.setContactMethods(new HashSet<>());
+            reservationsById.put(reservation.getId(), reservation);
+        }
+        for (ReservationContactMethodView row : reservationRepository.findContactMethodNamesByReservationIdIn(reservationsById.keySet())) {
+            reservationsById.get(row.getReservationId()).getContactMethods().add(row.getContactMethodName());
+        }
+        return reservations;
+    }
+
+    /**
+     * Writes the persisted chunk as JDBC batches and empties the persistence context to keep memory bounded.
+     */
+    private void flushBulk(List<Reservation> pending, List<Integer> pendingIndexes, BatchItemResultDto[] results) {
+        if (pending.isEmpty()) {
+            return;
+        }
+        entityManager.flush();
+        outbox.recordAll(NotificationEvent.CREATED, pending);
+        notificationService.scheduleReminders(pending);
+        for (int i = 0; i < pending.size(); i++) {
+            results[pendingIndexes.get(i)] = BatchItemResultDto.created(pendingIndexes.get(i), convertToDto(pending.get(i)));
+        }
+        entityManager.clear();
+        pending.clear();
+        pendingIndexes.clear();
+    }
+
     private void updateReservationFromDto(Reservation reservation, ReservationDto dto) {
         reservation.setName(dto.getName());
         reservation.setPhoneNumber(dto.getPhoneNumber());
@@ -94,7 +510,86 @@ public class ReservationService implements BaseReservationService {
         reservation.setReservationDate(dto.getReservationDate());
         reservation.setReservationTime(dto.getReservationTime());
         reservation.setNumberOfGuests(dto.getNumberOfGuests());
-        Set<ContactMethod> contactMethods = new HashSet<>(contactMethodRepository.findAllByNameIn(dto.getContactMethods()));
+        Set<ContactMethod> contactMethods = contactMethodRegistry.resolve(dto.getContactMethods());
         reservation.setContactMethods(contactMethods);
     }
+
+    /**
+     * Copies the fields present in the patch onto the managed entity. Contact methods are only touched when
+     * named, and then changed element by element so Hibernate writes just the added and removed join rows.
+     */
+    private void applyMergePatch(Reservation reservation, JsonNode patch) {
+        Set<String> contactMethodNames = null;
+        Iterator<Map.Entry<String, JsonNode>> fields = patch.fields();
+        while (fields.hasNext()) {
+            Map.Entry<String, JsonNode> field = fields.next();
+            JsonNode value = field.getValue();
+            switch (field.getKey()) {
+                case "name" -> reservation.setName(patchText(field));
+                case "phone_number" -> reservation.setPhoneNumber(patchText(field));
+                case "email" -> reservation.setEmail(patchText(field));
+                case "reservation_date" -> reservation.setReservationDate(value.isNull() ? null : patchTemporal(field, LocalDate::parse));
+                case "reservation_time" -> reservation.setReservationTime(value.isNull() ? null : patchTemporal(field, LocalTime::parse));
+                case "number_of_guests" -> {
+                    // canConvertToInt() alone lets 6.5 through and intValue() would then truncate it.
+                    if (!value.isNull() && !(value.isIntegralNumber() && value.canConvertToInt())) {
+                        throw new InvalidReservationException("number_of_guests must be an integer");
+                    }
+                    reservation.setNumberOfGuests(value.isNull() ? null : value.intValue());
+                }
+                case "contact_methods" -> {
+                    contactMethodNames = new HashSet<>();
+                    if (!value.isNull() && !value.isArray()) {
+                        throw new InvalidReservationException("contact_methods must be an array");
+                    }
+                    for (JsonNode name : value) {
+                        contactMethodNames.add(name.asText());
+                    }
+                    Set<Long> ids = new HashSet<>();
+                    Set<ContactMethod> resolved = contactMethodRegistry.resolve(contactMethodNames);
+                    resolved.forEach(contactMethod -> ids.add(contactMethod.getId()));
+                    Set<Long> current = new HashSet<>();
+                    reservation.getContactMethods().removeIf(contactMethod -> !ids.contains(contactMethod.getId()));
+                    reservation.getContactMethods().forEach(contactMethod -> current.add(contactMethod.getId()));
+                    resolved.stream()
+                            .filter(contactMethod -> !current.contains(contactMethod.getId()))
+                            .forEach(reservation.getContactMethods()::add);
+                }
+                case "id" -> throw new InvalidReservationException("id cannot be changed");
+                default -> throw new InvalidReservationException("Unknown field: " + field.getKey());
+            }
+        }
+        requireValid(new ReservationDto(reservation.getName(), reservation.getPhoneNumber(),
+                reservation.getEmail(), reservation.getReservationDate(), reservation.getReservationTime(),
+                reservation.getNumberOfGuests(), contactMethodNames));
+    }
+
+    /**
+     * Rejects a reservation before it reaches the slot occupancy index, so an empty or negative party never takes
+     * or hands back seats.
+     */
+    private void requireValid(ReservationDto reservationDto) {
+        String error = reservationValidator.validate(reservationDto);
+        if (error != null) {
+            throw new InvalidReservationException(error);
+        }
+    }
+
+    private static String patchText(Map.Entry<String, JsonNode> field) {
+        if (field.getValue().isNull()) {
+            return null;
+        }
+        if (!field.getValue().isTextual()) {
+            throw new InvalidReservationException(field.getKey() + " must be a string");
+        }
+        return field.getValue().textValue();
+    }
+
+    private static <T> T patchTemporal(Map.Entry<String, JsonNode> field, Function<String, T> parser) {
+        try {
+            return parser.apply(patchText(field));
+        } catch (DateTimeParseException e) {
+            throw new InvalidReservationException(field.getKey() + " is not a valid ISO value: " + field.getValue().asText());
+        }
+    }
 }
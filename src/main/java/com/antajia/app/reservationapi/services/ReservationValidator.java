@@ -0,0 +1,48 @@
+package com.antajia.app.reservationapi.services;
+
+import com.antajia.app.reservationapi.dtos.ReservationDto;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Checks reservation payloads before anything is written, so bulk requests can report every problem at once.
+ */
+@Component
+public class ReservationValidator {
+
+    private final ContactMethodRegistry contactMethodRegistry;
+
+    @Autowired
+    public ReservationValidator(ContactMethodRegistry contactMethodRegistry) {
+        this.contactMethodRegistry = contactMethodRegistry;
+    }
+
+    /**
+     * @return a description of the first problem found, or {@code null} if the reservation is valid
+     */
+    public String validate(ReservationDto dto) {
+        if (dto == null) {
+            return "Reservation is missing";
+        }
+        if (dto.getName() == null || dto.getName().isBlank()) {
+            return "name is required";
+        }
+        if (dto.getReservationDate() == null) {
+            return "reservation_date is required";
+        }
+        if (dto.getReservationTime() == null) {
+            return "reservation_time is required";
+        }
+        if (dto.getNumberOfGuests() == null || dto.getNumberOfGuests() < 1) {
+            return "number_of_guests must be at least 1";
+        }
+        if (dto.getContactMethods() != null) {
+            for (String name : dto.getContactMethods()) {
+                if (!contactMethodRegistry.contains(name)) {
+                    return "Unknown contact method: " + name;
+                }
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,154 @@
+package com.antajia.app.reservationapi.services;
+
+import com.antajia.app.reservationapi.dtos.SlotAvailabilityDto;
+import com.antajia.app.reservationapi.repositories.ReservationRepository;
+import com.antajia.app.reservationapi.repositories.projections.SlotOccupancyView;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * In-memory count of booked guests per date and time slot.
+ * <p>
+ * Each slot is an {@link AtomicInteger}, and admission is a compare-and-set loop against the configured capacity,
+ * so concurrent bookings of the same slot cannot overbook it and availability is a single map lookup.
+ * The index is rebuilt from the database at startup for today and later dates, and kept in step by
+ * {@link ReservationService} on create, update and delete. Slots before the date of the last rebuild were never
+ * counted, so bookings, releases and moves touching them are ignored rather than driving a count below zero.
+ */
+@Component
+public class SlotOccupancyIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(SlotOccupancyIndex.class);
+    private static final int MINUTES_PER_DAY = 24 * 60;
+
+    private final ReservationRepository reservationRepository;
+    private final int capacity;
+    private final int slotMinutes;
+    private final Map<Long, AtomicInteger> bookedGuestsBySlot = new ConcurrentHashMap<>();
+    private volatile LocalDate horizon = LocalDate.MIN;
+
+    @Autowired
+    public SlotOccupancyIndex(ReservationRepository reservationRepository,
+                              @Value("${reservation.capacity.guests-per-slot:40}") int capacity,
+                              @Value("${reservation.capacity.slot-length:30m}") Duration slotLength) {
+        this.reservationRepository = reservationRepository;
+        this.capacity = capacity;
+        this.slotMinutes = (int) Math.max(1, slotLength.toMinutes());
+    }
+
+    @PostConstruct
+    public void rebuild() {
+        LocalDate from = LocalDate.now();
+        bookedGuestsBySlot.clear();
+        horizon = from;
+        long reservations = 0;
+        for (SlotOccupancyView slot : reservationRepository.sumGuestsBySlotFrom(from)) {
+            if (slot.getReservationTime() != null && slot.getGuests() != null) {
+                counter(slot.getReservationDate(), slot.getReservationTime()).addAndGet(slot.getGuests().intValue());
+                reservations++;
+            }
+        }
+        logger.info("Rebuilt slot occupancy index from {} booked times", reservations);
+    }
+
+    /**
+     * Books guests into the slot containing the given time if the slot has room.
+     *
+     * @return true if the guests were admitted
+     */
+    public boolean tryReserve(LocalDate date, LocalTime time, Integer guests) {
+        if (!isIndexed(date, time, guests)) {
+            return true;
+        }
+        AtomicInteger booked = counter(date, time);
+        while (true) {
+            int current = booked.get();
+            if (current + guests > capacity) {
+                return false;
+            }
+            if (booked.compareAndSet(current, current + guests)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Books guests without checking capacity. Only used to restore a booking that was already admitted.
+     */
+    public void reserveUnchecked(LocalDate date, LocalTime time, Integer guests) {
+        if (isIndexed(date, time, guests)) {
+            counter(date, time).addAndGet(guests);
+        }
+    }
+
+    /**
+     * Gives back guests previously admitted with {@link #tryReserve}.
+     */
+    public void release(LocalDate date, LocalTime time, Integer guests) {
+        if (isIndexed(date, time, guests)) {
+            counter(date, time).addAndGet(-guests);
+        }
+    }
+
+    /**
+     * Moves a booking to another slot or guest count. Shrinking a booking always succeeds.
+     *
+     * @return true if the new booking was admitted; on false nothing changed
+     */
+    public boolean tryMove(LocalDate oldDate, LocalTime oldTime, Integer oldGuests,
+                           LocalDate newDate, LocalTime newTime, Integer newGuests) {
+        if (isIndexed(oldDate, oldTime, oldGuests) && isIndexed(newDate, newTime, newGuests)
+                && slotKey(oldDate, oldTime) == slotKey(newDate, newTime)) {
+            int delta = newGuests - oldGuests;
+            return delta <= 0 ? adjust(newDate, newTime, delta) : tryReserve(newDate, newTime, delta);
+        }
+        if (!tryReserve(newDate, newTime, newGuests)) {
+            return false;
+        }
+        release(oldDate, oldTime, oldGuests);
+        return true;
+    }
+
+    public SlotAvailabilityDto getAvailability(LocalDate date, LocalTime time) {
+        AtomicInteger booked = bookedGuestsBySlot.get(slotKey(date, time));
+        int bookedGuests = booked != null ? booked.get() : 0;
+        return new SlotAvailabilityDto(date, slotStart(time), capacity, bookedGuests, Math.max(0, capacity - bookedGuests));
+    }
+
+    private boolean adjust(LocalDate date, LocalTime time, int delta) {
+        counter(date, time).addAndGet(delta);
+        return true;
+    }
+
+    private AtomicInteger counter(LocalDate date, LocalTime time) {
+        return bookedGuestsBySlot.computeIfAbsent(slotKey(date, time), key -> new AtomicInteger());
+    }
+
+    private boolean isIndexed(LocalDate date, LocalTime time, Integer guests) {
+        return date != null && time != null && guests != null && guests > 0 && !date.isBefore(horizon);
+    }
+
+    private long slotKey(LocalDate date, LocalTime time) {
+        return date.toEpochDay() * MINUTES_PER_DAY + slotMinuteOfDay(time);
+    }
+
+    private LocalTime slotStart(LocalTime time) {
+        return LocalTime.MIDNIGHT.plusMinutes(slotMinuteOfDay(time));
+    }
+
+    private int slotMinuteOfDay(LocalTime time) {
+        int minuteOfDay = time.getHour() * 60 + time.getMinute();
+        return minuteOfDay - minuteOfDay % slotMinutes;
+    }
+}
@@ -2,12 +2,17 @@ package com.antajia.app.reservationapi.services.base;
 
 import com.antajia.app.reservationapi.models.ContactMethod;
 import com.antajia.app.reservationapi.models.Reservation;
+import com.antajia.app.reservationapi.services.notifications.NotificationEvent;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface BaseNotificationService {
 
-    void sendNotification(Reservation reservation, String message);
+    /**
+     * Delivers the message over the given channel right away, in a single attempt that throws on failure.
+     */
+    void deliver(String channel, Reservation reservation, String message) throws InterruptedException;
 
     void sendEmailNotification(Reservation reservation, String message);
 
@@ -17,11 +22,21 @@ public interface BaseNotificationService {
 
     String formatNotificationMessage(Reservation reservation);
 
+    /**
+     * Renders the message for the given event from its precompiled template.
+     */
+    String formatNotificationMessage(NotificationEvent event, Reservation reservation);
+
     void handleNotificationFailure(Reservation reservation, String failureReason);
 
     void logNotification(Reservation reservation, String message, boolean success);
 
-    void scheduleNotification(Reservation reservation, String message, long delayInMillis);
+    /**
+     * Replaces the reminders of the given reservations inside the caller's transaction, in a single batch.
+     */
+    void scheduleReminders(Collection<Reservation> reservations);
+
+    void cancelScheduledNotifications(Long reservationId);
 
-    List<String> getPendingNotifications();
+    List<String> getPendingNotifications(int page, int size);
 }
@@ -1,10 +1,19 @@
 package com.antajia.app.reservationapi.services.base;
 
+import com.antajia.app.reservationapi.dtos.BatchItemResultDto;
 import com.antajia.app.reservationapi.dtos.ReservationDto;
+import com.antajia.app.reservationapi.dtos.ReservationPage;
 import com.antajia.app.reservationapi.models.Reservation;
+import com.antajia.app.reservationapi.utils.ReservationCursor;
+import com.fasterxml.jackson.databind.JsonNode;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 
+import java.time.LocalDate;
+import java.time.LocalTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 /**
  * Interface for basic reservation service operations such as create, update, delete, and retrieve reservations.
@@ -18,6 +27,43 @@ public interface BaseReservationService {
      */
     List<ReservationDto> getAllReservations();
 
+    /**
+     * Retrieves one keyset page of reservations.
+     *
+     * @param cursor   the position to resume from, see {@link ReservationCursor#first}
+     * @param pageSize the maximum number of reservations to return
+     * @return the page and the cursor of the next page, if any
+     */
+    ReservationPage getReservationPage(ReservationCursor cursor, int pageSize);
+
+    /**
+     * Retrieves reservations between two dates, optionally limited to a daily time window.
+     *
+     * @param fromDate the first date, inclusive
+     * @param toDate   the last date, inclusive
+     * @param fromTime the start of the time window, inclusive, or {@code null} for the whole day
+     * @param toTime   the end of the time window, inclusive, or {@code null} for the whole day
+     * @param pageable the page, page size and sort order
+     * @return one slice of matching reservations
+     */
+    Slice<ReservationDto> getReservationsInRange(LocalDate fromDate, LocalDate toDate, LocalTime fromTime, LocalTime toTime, Pageable pageable);
+
+    /**
+     * Streams every reservation ordered by ID to the given consumer without materializing the table.
+     *
+     * @param consumer receives each reservation as it is read
+     */
+    void streamAllReservations(Consumer<ReservationDto> consumer);
+
+    /**
+     * Finds reservations by the start of a guest name word, email address or phone number.
+     *
+     * @param query the partial name, email or phone number
+     * @param limit the maximum number of reservations to return
+     * @return the matching reservations, best matches first
+     */
+    List<ReservationDto> searchReservations(String query, int limit);
+
     /**
      * Retrieves a reservation by its unique ID.
      *
@@ -34,14 +80,35 @@ public interface BaseReservationService {
      */
     ReservationDto createReservation(ReservationDto reservationDto);
 
+    /**
+     * Creates many reservations in one transaction. Every item is validated before anything is written,
+     * invalid items are reported and skipped, and valid ones are inserted with JDBC batching.
+     *
+     * @param reservationDtos the reservations to create
+     * @return one result per request item, in request order
+     */
+    List<BatchItemResultDto> createReservations(List<ReservationDto> reservationDtos);
+
     /**
      * Updates an existing reservation with new details.
      *
      * @param id the unique ID of the reservation to update
      * @param updatedReservationDto the updated reservation data
+     * @param expectedVersion the version the client last read, or {@code null} to update unconditionally
      * @return an {@link Optional} containing the updated {@link ReservationDto}, or empty if the reservation is not found
      */
-    Optional<ReservationDto> updateReservation(Long id, ReservationDto updatedReservationDto);
+    Optional<ReservationDto> updateReservation(Long id, ReservationDto updatedReservationDto, Long expectedVersion);
+
+    /**
+     * Applies a JSON Merge Patch (RFC 7396) to a reservation. Only the fields present in the patch are written,
+     * and contact methods are left untouched unless the patch names them.
+     *
+     * @param id the unique ID of the reservation to patch
+     * @param patch the merge patch, keyed by the JSON field names of {@link ReservationDto}
+     * @param expectedVersion the version the client last read, or {@code null} to patch unconditionally
+     * @return an {@link Optional} containing the patched {@link ReservationDto}, or empty if the reservation is not found
+     */
+    Optional<ReservationDto> patchReservation(Long id, JsonNode patch, Long expectedVersion);
 
     /**
      * Deletes a reservation by its unique ID.
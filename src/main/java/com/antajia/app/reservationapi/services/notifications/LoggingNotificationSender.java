@@ -0,0 +1,33 @@
+package com.antajia.app.reservationapi.services.notifications;
+
+import com.antajia.app.reservationapi.models.Reservation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.function.Function;
+
+/**
+ * Local stub sender that only logs the recipient. Used until a real gateway is wired in for a channel.
+ */
+public class LoggingNotificationSender implements NotificationSender {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoggingNotificationSender.class);
+
+    private final String channel;
+    private final Function<Reservation, String> recipient;
+
+    public LoggingNotificationSender(String channel, Function<Reservation, String> recipient) {
+        this.channel = channel;
+        this.recipient = recipient;
+    }
+
+    @Override
+    public String getChannel() {
+        return channel;
+    }
+
+    @Override
+    public void send(Reservation reservation, String message) {
+        logger.info("Sending {} notification to: {}", channel, recipient.apply(reservation));
+    }
+}
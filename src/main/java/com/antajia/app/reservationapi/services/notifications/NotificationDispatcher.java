@@ -0,0 +1,58 @@
+package com.antajia.app.reservationapi.services.notifications;
+
+import com.antajia.app.reservationapi.config.NotificationProperties;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Bounds concurrent notification deliveries per channel.
+ * <p>
+ * Each channel has its own concurrency limit so a slow gateway cannot hold every outbox relay thread. Retries,
+ * backoff and giving up are left to the caller, which for all deliveries is the outbox relay.
+ */
+@Component
+public class NotificationDispatcher {
+
+    private final NotificationProperties properties;
+    private final Map<String, Integer> channelConcurrency = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+    private final Map<String, Semaphore> channelPermits = new ConcurrentHashMap<>();
+
+    @Autowired
+    public NotificationDispatcher(NotificationProperties properties) {
+        this.properties = properties;
+        this.channelConcurrency.putAll(properties.getChannelConcurrency());
+    }
+
+    /**
+     * Delivers on the calling thread, once and within the channel's concurrency limit.
+     *
+     * @throws RuntimeException     when the delivery fails
+     * @throws InterruptedException when interrupted while waiting for a permit
+     */
+    public void deliverOnce(String channel, Runnable delivery) throws InterruptedException {
+        Semaphore permits = channelPermits.computeIfAbsent(channel, name -> new Semaphore(channelLimit(name)));
+        permits.acquire();
+        try {
+            delivery.run();
+        } finally {
+            permits.release();
+        }
+    }
+
+    /**
+     * @return the number of deliveries currently holding a permit of the given channel
+     */
+    public int getInFlight(String channel) {
+        Semaphore permits = channelPermits.get(channel);
+        return permits == null ? 0 : channelLimit(channel) - permits.availablePermits();
+    }
+
+    public int channelLimit(String channel) {
+        return channelConcurrency.getOrDefault(channel, properties.getDefaultChannelConcurrency());
+    }
+}
@@ -0,0 +1,11 @@
+package com.antajia.app.reservationapi.services.notifications;
+
+/**
+ * What a notification tells the guest; each event has its own message template.
+ */
+public enum NotificationEvent {
+    CREATED,
+    UPDATED,
+    REMINDER,
+    CANCELLED
+}
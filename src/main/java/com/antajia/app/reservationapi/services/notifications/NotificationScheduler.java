@@ -0,0 +1,223 @@
+package com.antajia.app.reservationapi.services.notifications;
+
+import com.antajia.app.reservationapi.config.NotificationProperties;
+import com.antajia.app.reservationapi.events.ScheduledNotificationDueEvent;
+import com.antajia.app.reservationapi.models.ScheduledNotification;
+import com.antajia.app.reservationapi.repositories.ScheduledNotificationRepository;
+import com.antajia.app.reservationapi.utils.HashedWheelTimer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fires delayed notifications such as reservation reminders.
+ * <p>
+ * Pending timers live in a {@link HashedWheelTimer} for O(1) scheduling and cancelling, and are mirrored in the
+ * {@code scheduled_notifications} table so they are restored after a restart. Firing deletes the row and publishes
+ * the due event in one transaction: a row that is already gone was cancelled and fires nothing, and a failure
+ * keeps the row and tries again after the retry delay, which makes delivery at-least-once across crashes.
+ */
+@Component
+public class NotificationScheduler {
+
+    private static final Logger logger = LoggerFactory.getLogger(NotificationScheduler.class);
+    private static final int RESTORE_BATCH_SIZE = 1000;
+    private static final String DELETE_FOR_RESERVATIONS =
+            "DELETE FROM scheduled_notifications WHERE reservation_id IN (:reservationIds)";
+    private static final String INSERT_NOTIFICATION = "INSERT INTO scheduled_notifications (reservation_id, message, fire_at) " +
+            "VALUES (:reservationId, :message, :fireAt)";
+
+    private final ScheduledNotificationRepository scheduledNotificationRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final NotificationProperties properties;
+    private final ExecutorService firingExecutor = Executors.newVirtualThreadPerTaskExecutor();
+    private final HashedWheelTimer timer;
+    private final Map<Long, Map<Long, HashedWheelTimer.Timeout>> timeoutsByReservation = new ConcurrentHashMap<>();
+
+    @Autowired
+    public NotificationScheduler(ScheduledNotificationRepository scheduledNotificationRepository,
+                                 ApplicationEventPublisher eventPublisher, NamedParameterJdbcTemplate jdbcTemplate,
+                                 TransactionTemplate transactionTemplate, NotificationProperties properties) {
+        this.scheduledNotificationRepository = scheduledNotificationRepository;
+        this.eventPublisher = eventPublisher;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.properties = properties;
+        this.timer = new HashedWheelTimer(properties.getSchedulerTick(), properties.getSchedulerWheelSize(),
+                firingExecutor, Thread.ofPlatform().name("notification-timer").daemon().factory());
+    }
+
+    /**
+     * Persists and schedules a notification for the given reservation.
+     */
+    public void schedule(Long reservationId, String message, Instant fireAt) {
+        ScheduledNotification saved = scheduledNotificationRepository.save(new ScheduledNotification(reservationId, message, fireAt));
+        arm(saved);
+    }
+
+    /**
+     * Replaces the pending notifications of the given reservations as part of the caller's transaction, with one
+     * DELETE and one JDBC batch of INSERTs however many reservations there are. Timers are swapped once the
+     * transaction commits, so a rollback leaves the old ones running.
+     *
+     * @param reservationIds reservations whose pending notifications are dropped
+     * @param notifications  the notifications to schedule instead; their ids are filled in
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void replaceForReservations(Collection<Long> reservationIds, List<ScheduledNotification> notifications) {
+        if (!reservationIds.isEmpty()) {
+            jdbcTemplate.update(DELETE_FOR_RESERVATIONS, new MapSqlParameterSource("reservationIds", reservationIds));
+        }
+        if (!notifications.isEmpty()) {
+            SqlParameterSource[] rows = notifications.stream()
+                    .map(notification -> new MapSqlParameterSource()
+                            .addValue("reservationId", notification.getReservationId())
+                            .addValue("message", notification.getMessage())
+                            .addValue("fireAt", Timestamp.from(notification.getFireAt())))
+                    .toArray(SqlParameterSource[]::new);
+            KeyHolder keyHolder = new GeneratedKeyHolder();
+            jdbcTemplate.batchUpdate(INSERT_NOTIFICATION, rows, keyHolder);
+            List<Map<String, Object>> keys = keyHolder.getKeyList();
+            for (int i = 0; i < notifications.size(); i++) {
+                notifications.get(i).setId(((Number) keys.get(i).values().iterator().next()).longValue());
+            }
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                reservationIds.forEach(NotificationScheduler.this::cancelTimers);
+                notifications.forEach(NotificationScheduler.this::arm);
+            }
+        });
+    }
+
+    /**
+     * Cancels every pending notification of a reservation. Inside a transaction the rows go with it and the timers
+     * are only cancelled once it commits, so a rollback leaves the reminders both stored and armed.
+     *
+     * @return the number of cancelled notifications
+     */
+    public int cancelForReservation(Long reservationId) {
+        int deleted = scheduledNotificationRepository.deleteAllByReservationId(reservationId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cancelTimers(reservationId);
+                }
+            });
+        } else {
+            cancelTimers(reservationId);
+        }
+        return deleted;
+    }
+
+    /**
+     * Returns one page of pending notifications, soonest first. Reads go to the table, so the view is consistent
+     * with concurrent scheduling and firing.
+     */
+    public Page<ScheduledNotification> getPending(int page, int size) {
+        return scheduledNotificationRepository.findAll(PageRequest.of(page, size, Sort.by("fireAt", "id")));
+    }
+
+    public long getPendingCount() {
+        return timer.getPendingTimeouts();
+    }
+
+    /**
+     * Re-arms the timers persisted before the last shutdown. Overdue ones fire on the next tick.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void restore() {
+        long restored = 0;
+        long afterId = 0L;
+        List<ScheduledNotification> batch;
+        do {
+            batch = scheduledNotificationRepository.findBatchAfterId(afterId, PageRequest.of(0, RESTORE_BATCH_SIZE));
+            for (ScheduledNotification notification : batch) {
+                arm(notification);
+                afterId = notification.getId();
+            }
+            restored += batch.size();
+        } while (batch.size() == RESTORE_BATCH_SIZE);
+        if (restored > 0) {
+            logger.info("Restored {} scheduled notifications", restored);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        timer.stop();
+        firingExecutor.shutdown();
+        firingExecutor.awaitTermination(5, TimeUnit.SECONDS);
+    }
+
+    private void cancelTimers(Long reservationId) {
+        Map<Long, HashedWheelTimer.Timeout> timeouts = timeoutsByReservation.remove(reservationId);
+        if (timeouts != null) {
+            timeouts.values().forEach(HashedWheelTimer.Timeout::cancel);
+        }
+    }
+
+    private void arm(ScheduledNotification notification) {
+        arm(notification, Math.max(0, Duration.between(Instant.now(), notification.getFireAt()).toMillis()));
+    }
+
+    private void arm(ScheduledNotification notification, long delayMs) {
+        Long id = notification.getId();
+        Long reservationId = notification.getReservationId();
+        HashedWheelTimer.Timeout timeout = timer.newTimeout(() -> fire(notification), delayMs, TimeUnit.MILLISECONDS);
+        timeoutsByReservation.computeIfAbsent(reservationId, key -> new ConcurrentHashMap<>()).put(id, timeout);
+    }
+
+    private void fire(ScheduledNotification notification) {
+        Long reservationId = notification.getReservationId();
+        timeoutsByReservation.computeIfPresent(reservationId, (key, timeouts) -> {
+            timeouts.remove(notification.getId());
+            return timeouts.isEmpty() ? null : timeouts;
+        });
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                if (scheduledNotificationRepository.deletePending(notification.getId()) > 0) {
+                    eventPublisher.publishEvent(new ScheduledNotificationDueEvent(reservationId, notification.getMessage()));
+                }
+            });
+        } catch (RuntimeException e) {
+            // The delete rolled back with the failure, so the row is still there for a restart to pick up too.
+            logger.error("Failed to fire scheduled notification {} for reservation {}, retrying in {}",
+                    notification.getId(), reservationId, properties.getSchedulerRetryDelay(), e);
+            arm(notification, properties.getSchedulerRetryDelay().toMillis());
+        }
+    }
+}
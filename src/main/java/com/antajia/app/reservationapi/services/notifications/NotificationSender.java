@@ -0,0 +1,20 @@
+package com.antajia.app.reservationapi.services.notifications;
+
+import com.antajia.app.reservationapi.models.Reservation;
+
+/**
+ * Delivers a notification message over a single channel.
+ * Implementations signal a failed delivery by throwing, which makes the dispatcher retry.
+ */
+public interface NotificationSender {
+
+    String EMAIL = "Email";
+    String SMS = "SMS";
+
+    /**
+     * @return the contact method name this sender handles
+     */
+    String getChannel();
+
+    void send(Reservation reservation, String message);
+}
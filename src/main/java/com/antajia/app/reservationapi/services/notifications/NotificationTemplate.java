@@ -0,0 +1,152 @@
+package com.antajia.app.reservationapi.services.notifications;
+
+import com.antajia.app.reservationapi.models.Reservation;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A message template parsed once into literal and field segments.
+ * <p>
+ * Placeholders are {@code {id}}, {@code {name}}, {@code {date}}, {@code {time}} and {@code {guests}}; dates and
+ * times render in ISO form. Rendering appends straight into a builder sized from the previous render, so a
+ * message costs one builder and one string.
+ */
+final class NotificationTemplate {
+
+    private final Object[] segments;
+    private final int literalLength;
+    private volatile int lastLength;
+
+    private NotificationTemplate(Object[] segments, int literalLength) {
+        this.segments = segments;
+        this.literalLength = literalLength;
+        this.lastLength = literalLength + 32;
+    }
+
+    /**
+     * @throws IllegalArgumentException on an unknown placeholder or an unclosed brace
+     */
+    static NotificationTemplate parse(String template) {
+        List<Object> segments = new ArrayList<>();
+        int literalLength = 0;
+        int position = 0;
+        while (position < template.length()) {
+            int open = template.indexOf('{', position);
+            if (open < 0) {
+                open = template.length();
+            }
+            if (open > position) {
+                String literal = template.substring(position, open);
+                segments.add(literal);
+                literalLength += literal.length();
+            }
+            if (open == template.length()) {
+                break;
+            }
+            int close = template.indexOf('}', open);
+            if (close < 0) {
+                throw new IllegalArgumentException("Unclosed placeholder in notification template: " + template);
+            }
+            segments.add(Field.named(template.substring(open + 1, close), template));
+            position = close + 1;
+        }
+        return new NotificationTemplate(segments.toArray(), literalLength);
+    }
+
+    String render(Reservation reservation) {
+        StringBuilder message = new StringBuilder(lastLength);
+        for (Object segment : segments) {
+            if (segment instanceof Field field) {
+                field.append(message, reservation);
+            } else {
+                message.append((String) segment);
+            }
+        }
+        lastLength = Math.max(literalLength, message.length());
+        return message.toString();
+    }
+
+    private enum Field {
+        ID("id") {
+            @Override
+            void append(StringBuilder message, Reservation reservation) {
+                message.append(reservation.getId());
+            }
+        },
+        NAME("name") {
+            @Override
+            void append(StringBuilder message, Reservation reservation) {
+                message.append(reservation.getName());
+            }
+        },
+        DATE("date") {
+            @Override
+            void append(StringBuilder message, Reservation reservation) {
+                appendDate(message, reservation.getReservationDate());
+            }
+        },
+        TIME("time") {
+            @Override
+            void append(StringBuilder message, Reservation reservation) {
+                appendTime(message, reservation.getReservationTime());
+            }
+        },
+        GUESTS("guests") {
+            @Override
+            void append(StringBuilder message, Reservation reservation) {
+                message.append(reservation.getNumberOfGuests());
+            }
+        };
+
+        private final String placeholder;
+
+        Field(String placeholder) {
+            this.placeholder = placeholder;
+        }
+
+        abstract void append(StringBuilder message, Reservation reservation);
+
+        static Field named(String placeholder, String template) {
+            for (Field field : values()) {
+                if (field.placeholder.equals(placeholder)) {
+                    return field;
+                }
+            }
+            throw new IllegalArgumentException("Unknown placeholder {" + placeholder + "} in notification template: " + template);
+        }
+    }
+
+    // Same output as LocalDate.toString() for four digit years, without the intermediate string.
+    private static void appendDate(StringBuilder message, LocalDate date) {
+        if (date == null || date.getYear() < 1000 || date.getYear() > 9999) {
+            message.append(date);
+            return;
+        }
+        message.append(date.getYear()).append('-');
+        appendTwoDigits(message, date.getMonthValue());
+        message.append('-');
+        appendTwoDigits(message, date.getDayOfMonth());
+    }
+
+    // Same output as LocalTime.toString() for times without fractional seconds.
+    private static void appendTime(StringBuilder message, LocalTime time) {
+        if (time == null || time.getNano() != 0) {
+            message.append(time);
+            return;
+        }
+        appendTwoDigits(message, time.getHour());
+        message.append(':');
+        appendTwoDigits(message, time.getMinute());
+        if (time.getSecond() != 0) {
+            message.append(':');
+            appendTwoDigits(message, time.getSecond());
+        }
+    }
+
+    private static void appendTwoDigits(StringBuilder message, int value) {
+        message.append((char) ('0' + value / 10)).append((char) ('0' + value % 10));
+    }
+}
@@ -0,0 +1,67 @@
+package com.antajia.app.reservationapi.services.notifications;
+
+import com.antajia.app.reservationapi.config.NotificationProperties;
+import com.antajia.app.reservationapi.models.Reservation;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Notification templates per event and locale, parsed at startup from {@code reservation.notifications.templates}.
+ * <p>
+ * A locale falls back to its language, then to the configured default locale, then to the built-in English
+ * templates. Bad templates fail startup.
+ */
+@Component
+public class NotificationTemplates {
+
+    private static final Map<NotificationEvent, String> BUILT_IN = Map.of(
+            NotificationEvent.CREATED, "Reservation confirmed for {name} on {date} at {time} for {guests} guests.",
+            NotificationEvent.UPDATED, "Your reservation has been updated: Reservation confirmed for {name} on {date} at {time} for {guests} guests.",
+            NotificationEvent.REMINDER, "Reminder: Reservation confirmed for {name} on {date} at {time} for {guests} guests.",
+            NotificationEvent.CANCELLED, "Reservation cancelled for {name} on {date} at {time}.");
+
+    private final Map<String, Map<NotificationEvent, NotificationTemplate>> templatesByLocale = new HashMap<>();
+    private final Map<NotificationEvent, NotificationTemplate> builtIn = parse(BUILT_IN);
+    private final Locale defaultLocale;
+
+    @Autowired
+    public NotificationTemplates(NotificationProperties properties) {
+        this.defaultLocale = properties.getLocale();
+        properties.getTemplates().forEach((tag, templates) ->
+                templatesByLocale.put(Locale.forLanguageTag(tag.replace('_', '-')).toLanguageTag(), parse(templates)));
+    }
+
+    public String render(NotificationEvent event, Reservation reservation) {
+        return render(event, defaultLocale, reservation);
+    }
+
+    public String render(NotificationEvent event, Locale locale, Reservation reservation) {
+        NotificationTemplate template = lookup(locale, event);
+        if (template == null) {
+            template = lookup(defaultLocale, event);
+        }
+        if (template == null) {
+            template = builtIn.get(event);
+        }
+        return template.render(reservation);
+    }
+
+    private static Map<NotificationEvent, NotificationTemplate> parse(Map<NotificationEvent, String> templates) {
+        Map<NotificationEvent, NotificationTemplate> parsed = new EnumMap<>(NotificationEvent.class);
+        templates.forEach((event, template) -> parsed.put(event, NotificationTemplate.parse(template)));
+        return parsed;
+    }
+
+    private NotificationTemplate lookup(Locale locale, NotificationEvent event) {
+        Map<NotificationEvent, NotificationTemplate> templates = templatesByLocale.get(locale.toLanguageTag());
+        if (templates == null || !templates.containsKey(event)) {
+            templates = templatesByLocale.get(locale.getLanguage());
+        }
+        return templates == null ? null : templates.get(event);
+    }
+}
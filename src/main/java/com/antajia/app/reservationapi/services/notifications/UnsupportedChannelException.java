@@ -0,0 +1,12 @@
+package com.antajia.app.reservationapi.services.notifications;
+
+/**
+ * Thrown when a notification is addressed to a contact method no {@link NotificationSender} handles. Retrying
+ * cannot help, so callers give up on the notification straight away.
+ */
+public class UnsupportedChannelException extends RuntimeException {
+
+    public UnsupportedChannelException(String channel) {
+        super("No sender for contact method: " + channel);
+    }
+}
@@ -0,0 +1,110 @@
+package com.antajia.app.reservationapi.utils;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Concurrency limit that follows observed latency, in the style of a gradient limiter.
+ * <p>
+ * A slow moving average of request latency stands for the latency of an unloaded system. Each completed
+ * request compares its latency with that average: while they agree the limit grows by a queue allowance of
+ * about the square root of the limit, and as latency climbs the ratio between them pulls the limit down.
+ * A request that ended in overload, such as a connection pool timeout, cuts the limit multiplicatively.
+ * Admission itself is a compare-and-set on the in-flight count, so rejected requests cost almost nothing.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    // Samples averaged by the long term latency, as an exponential moving average.
+    private static final int LONG_WINDOW = 600;
+    private static final double BACKOFF_RATIO = 0.9;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double smoothing;
+    private final double rttTolerance;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private volatile int limit;
+    private double estimatedLimit;
+    private double longRttNanos;
+
+    /**
+     * @param initialLimit the limit before any latency has been observed
+     * @param minLimit     the floor the limit never drops below
+     * @param maxLimit     the ceiling the limit never grows above
+     * @param smoothing    how far each sample moves the limit toward its new estimate, between 0 and 1
+     * @param rttTolerance how much slower than the long term average a request may be before the limit shrinks
+     */
+    public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, double smoothing, double rttTolerance) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.smoothing = smoothing;
+        this.rttTolerance = rttTolerance;
+        this.estimatedLimit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+        this.limit = (int) estimatedLimit;
+    }
+
+    /**
+     * @return true if the caller may proceed; it must then call {@link #release} exactly once
+     */
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Ends an admitted request and feeds its latency into the limit.
+     *
+     * @param rttNanos   how long the request took
+     * @param overloaded whether it failed in a way that signals overload
+     */
+    public void release(long rttNanos, boolean overloaded) {
+        int inFlightAtEnd = inFlight.getAndDecrement();
+        synchronized (this) {
+            if (overloaded) {
+                setEstimatedLimit(estimatedLimit * BACKOFF_RATIO);
+                return;
+            }
+            double shortRtt = Math.max(1, rttNanos);
+            longRttNanos = longRttNanos == 0 ? shortRtt : longRttNanos + (shortRtt - longRttNanos) / LONG_WINDOW;
+            // After a sustained latency shift the long average would hold the limit down for too long.
+            if (longRttNanos / shortRtt > 2) {
+                longRttNanos *= 0.95;
+            }
+            // Only grow when the limit is actually being used, or an idle service ends up with an unbounded limit.
+            if (inFlightAtEnd < estimatedLimit / 2) {
+                return;
+            }
+            double gradient = Math.max(0.5, Math.min(1.0, rttTolerance * longRttNanos / shortRtt));
+            double queueAllowance = Math.sqrt(estimatedLimit);
+            double target = estimatedLimit * gradient + queueAllowance;
+            setEstimatedLimit(estimatedLimit * (1 - smoothing) + target * smoothing);
+        }
+    }
+
+    /**
+     * Ends an admitted request without feeding its latency into the limit, for responses such as a streamed export
+     * whose duration follows the size of the result rather than the load.
+     */
+    public void releaseUnmeasured() {
+        inFlight.decrementAndGet();
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    private void setEstimatedLimit(double value) {
+        estimatedLimit = Math.max(minLimit, Math.min(maxLimit, value));
+        limit = (int) estimatedLimit;
+    }
+}
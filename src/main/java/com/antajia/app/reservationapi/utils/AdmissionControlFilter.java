@@ -0,0 +1,189 @@
+package com.antajia.app.reservationapi.utils;
+
+import com.antajia.app.reservationapi.config.AdmissionControlProperties;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.CannotGetJdbcConnectionException;
+import org.springframework.transaction.TransactionTimedOutException;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.sql.SQLTimeoutException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Sheds API requests before they queue for a database connection.
+ * <p>
+ * Each client, as told apart by the {@link ClientIdResolver}, first takes a token from its own {@link TokenBucket},
+ * and gets a 429 when it sends faster than its rate. The request then needs a slot in the read or write
+ * {@link AdaptiveConcurrencyLimiter}, and gets a 503 when the budget is full. Both carry Retry-After. Admitted
+ * requests report their latency back to the limiter, and only a request that failed on a connection pool or query
+ * timeout counts as overload; other errors and 503s, such as a full change feed, say nothing about the database.
+ * An asynchronous response keeps its slot until it completes, without a latency sample, and the configured
+ * unlimited paths skip the budgets. Registered in {@link com.antajia.app.reservationapi.config.AdmissionControlConfig}.
+ */
+public class AdmissionControlFilter extends OncePerRequestFilter {
+
+    private final AdmissionControlProperties properties;
+    private final ClientIdResolver clientIdResolver;
+    private final AdaptiveConcurrencyLimiter reads;
+    private final AdaptiveConcurrencyLimiter writes;
+    private final Cache<String, TokenBucket> bucketsByClient;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    private final Counter rateLimited;
+    private final Counter readsShed;
+    private final Counter writesShed;
+
+    public AdmissionControlFilter(AdmissionControlProperties properties, ClientIdResolver clientIdResolver,
+                                  MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.clientIdResolver = clientIdResolver;
+        this.reads = limiter(properties.getReads());
+        this.writes = limiter(properties.getWrites());
+        this.bucketsByClient = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxClients())
+                .expireAfterAccess(Duration.ofMinutes(10))
+                .build();
+        this.rateLimited = shedCounter(meterRegistry, "rate_limited", "client");
+        this.readsShed = shedCounter(meterRegistry, "overloaded", "read");
+        this.writesShed = shedCounter(meterRegistry, "overloaded", "write");
+        registerBudgetGauges(meterRegistry, "read", reads);
+        registerBudgetGauges(meterRegistry, "write", writes);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        long waitNanos = bucketsByClient.get(clientIdResolver.resolve(request),
+                client -> new TokenBucket(properties.getClientRate(), properties.getClientBurst())).tryConsume();
+        if (waitNanos > 0) {
+            rateLimited.increment();
+            reject(response, HttpStatus.TOO_MANY_REQUESTS, waitNanos);
+            return;
+        }
+        if (isUnlimited(request)) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        boolean read = HttpMethod.GET.matches(request.getMethod()) || HttpMethod.HEAD.matches(request.getMethod());
+        AdaptiveConcurrencyLimiter limiter = read ? reads : writes;
+        if (!limiter.tryAcquire()) {
+            (read ? readsShed : writesShed).increment();
+            reject(response, HttpStatus.SERVICE_UNAVAILABLE, properties.getOverloadRetryAfter().toNanos());
+            return;
+        }
+        long start = System.nanoTime();
+        boolean overloaded = false;
+        boolean async = false;
+        try {
+            filterChain.doFilter(request, response);
+            async = request.isAsyncStarted();
+        } catch (IOException | ServletException | RuntimeException e) {
+            overloaded = isOverload(e);
+            throw e;
+        } finally {
+            if (async) {
+                releaseOnCompletion(request.getAsyncContext(), limiter);
+            } else {
+                limiter.release(System.nanoTime() - start, overloaded);
+            }
+        }
+    }
+
+    private boolean isUnlimited(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return properties.getUnlimitedPaths().stream().anyMatch(pattern -> pathMatcher.match(pattern, path));
+    }
+
+    /**
+     * Holds the slot of a request that went asynchronous, such as a streamed export, until its response is done.
+     */
+    private static void releaseOnCompletion(AsyncContext asyncContext, AdaptiveConcurrencyLimiter limiter) {
+        AtomicBoolean released = new AtomicBoolean();
+        asyncContext.addListener(new AsyncListener() {
+            @Override
+            public void onComplete(AsyncEvent event) {
+                if (released.compareAndSet(false, true)) {
+                    limiter.releaseUnmeasured();
+                }
+            }
+
+            @Override
+            public void onTimeout(AsyncEvent event) {
+            }
+
+            @Override
+            public void onError(AsyncEvent event) {
+            }
+
+            @Override
+            public void onStartAsync(AsyncEvent event) {
+                event.getAsyncContext().addListener(this);
+            }
+        });
+    }
+
+    /**
+     * Whether the request failed because the database could not keep up: no pooled connection in time, or a query
+     * or transaction that ran out of time.
+     */
+    private static boolean isOverload(Throwable failure) {
+        for (Throwable cause = failure; cause != null; cause = cause.getCause() == cause ? null : cause.getCause()) {
+            if (cause instanceof SQLTransientConnectionException || cause instanceof SQLTimeoutException
+                    || cause instanceof CannotGetJdbcConnectionException || cause instanceof QueryTimeoutException
+                    || cause instanceof TransactionTimedOutException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void reject(HttpServletResponse response, HttpStatus status, long retryAfterNanos) {
+        response.setStatus(status.value());
+        // Retry-After is in whole seconds; round up so clients never come back early.
+        response.setHeader(HttpHeaders.RETRY_AFTER,
+                String.valueOf(Math.max(1, (retryAfterNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1))));
+    }
+
+    private AdaptiveConcurrencyLimiter limiter(AdmissionControlProperties.Budget budget) {
+        return new AdaptiveConcurrencyLimiter(budget.getInitialLimit(), budget.getMinLimit(), budget.getMaxLimit(),
+                properties.getSmoothing(), properties.getRttTolerance());
+    }
+
+    private static Counter shedCounter(MeterRegistry meterRegistry, String reason, String budget) {
+        return Counter.builder("http.server.requests.shed")
+                .description("Requests rejected by admission control")
+                .tag("reason", reason)
+                .tag("budget", budget)
+                .register(meterRegistry);
+    }
+
+    private static void registerBudgetGauges(MeterRegistry meterRegistry, String budget, AdaptiveConcurrencyLimiter limiter) {
+        Gauge.builder("http.server.admission.limit", limiter, AdaptiveConcurrencyLimiter::getLimit)
+                .description("Current adaptive concurrency limit")
+                .tag("budget", budget)
+                .register(meterRegistry);
+        Gauge.builder("http.server.admission.in.flight", limiter, AdaptiveConcurrencyLimiter::getInFlight)
+                .description("Admitted requests in progress")
+                .tag("budget", budget)
+                .register(meterRegistry);
+    }
+}
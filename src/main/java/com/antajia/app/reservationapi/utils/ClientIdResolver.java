@@ -0,0 +1,122 @@
+package com.antajia.app.reservationapi.utils;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.security.Principal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Works out which client sent a request, for per-client rate limits and read-your-writes routing.
+ * <p>
+ * An authenticated principal wins. Otherwise the client is the remote address, unless that address belongs to a
+ * trusted proxy, in which case the client id header the proxy set is used. The header is ignored from anyone
+ * else, so a caller cannot take a fresh identity per request or speak for another client. Shared by
+ * {@link AdmissionControlFilter} and {@link ReadYourWritesFilter}, and created in
+ * {@link com.antajia.app.reservationapi.config.AdmissionControlConfig}.
+ */
+public class ClientIdResolver {
+
+    private final String clientIdHeader;
+    private final List<AddressBlock> trustedProxies = new ArrayList<>();
+
+    /**
+     * @param clientIdHeader the header trusted proxies put the client id in
+     * @param trustedProxies addresses or CIDR blocks of the proxies, e.g. {@code 10.0.0.0/8}
+     * @throws IllegalArgumentException when an entry is not an IP address or CIDR block
+     */
+    public ClientIdResolver(String clientIdHeader, List<String> trustedProxies) {
+        this.clientIdHeader = clientIdHeader;
+        for (String trustedProxy : trustedProxies) {
+            this.trustedProxies.add(AddressBlock.parse(trustedProxy));
+        }
+    }
+
+    public String resolve(HttpServletRequest request) {
+        Principal principal = request.getUserPrincipal();
+        if (principal != null) {
+            return "principal:" + principal.getName();
+        }
+        String remoteAddress = request.getRemoteAddr();
+        if (isTrustedProxy(remoteAddress)) {
+            String clientId = request.getHeader(clientIdHeader);
+            if (clientId != null && !clientId.isBlank()) {
+                return "client:" + clientId.trim();
+            }
+        }
+        return remoteAddress;
+    }
+
+    private boolean isTrustedProxy(String remoteAddress) {
+        if (trustedProxies.isEmpty() || remoteAddress == null) {
+            return false;
+        }
+        byte[] address;
+        try {
+            // The container reports a literal address, so this never goes to DNS.
+            address = InetAddress.getByName(remoteAddress).getAddress();
+        } catch (UnknownHostException e) {
+            return false;
+        }
+        for (AddressBlock block : trustedProxies) {
+            if (block.contains(address)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private record AddressBlock(byte[] network, int prefixLength) {
+
+        private static final Pattern IP_LITERAL = Pattern.compile("[0-9A-Fa-f.:]+");
+
+        static AddressBlock parse(String block) {
+            String trimmed = block.trim();
+            int slash = trimmed.indexOf('/');
+            String address = slash < 0 ? trimmed : trimmed.substring(0, slash);
+            // Literals only, so a host name never triggers a DNS lookup.
+            if (!IP_LITERAL.matcher(address).matches()) {
+                throw new IllegalArgumentException("Trusted proxy must be an IP address or CIDR block: " + block);
+            }
+            byte[] network;
+            try {
+                network = InetAddress.getByName(address).getAddress();
+            } catch (UnknownHostException e) {
+                throw new IllegalArgumentException("Trusted proxy must be an IP address or CIDR block: " + block, e);
+            }
+            int prefixLength = network.length * 8;
+            if (slash >= 0) {
+                try {
+                    prefixLength = Integer.parseInt(trimmed.substring(slash + 1));
+                } catch (NumberFormatException e) {
+                    throw new IllegalArgumentException("Invalid prefix length in trusted proxy: " + block, e);
+                }
+                if (prefixLength < 0 || prefixLength > network.length * 8) {
+                    throw new IllegalArgumentException("Invalid prefix length in trusted proxy: " + block);
+                }
+            }
+            return new AddressBlock(network, prefixLength);
+        }
+
+        boolean contains(byte[] address) {
+            if (address.length != network.length) {
+                return false;
+            }
+            int fullBytes = prefixLength / 8;
+            for (int i = 0; i < fullBytes; i++) {
+                if (address[i] != network[i]) {
+                    return false;
+                }
+            }
+            int remainingBits = prefixLength % 8;
+            if (remainingBits == 0) {
+                return true;
+            }
+            int mask = (0xFF << (8 - remainingBits)) & 0xFF;
+            return (address[fullBytes] & mask) == (network[fullBytes] & mask);
+        }
+    }
+}
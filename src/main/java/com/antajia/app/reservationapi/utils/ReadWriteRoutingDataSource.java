@@ -0,0 +1,108 @@
+package com.antajia.app.reservationapi.utils;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sends read-only transactions to the replicas in turn and everything else to the primary.
+ * <p>
+ * The choice is made when a connection is taken, so this has to sit behind a
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}: the transaction manager asks for a
+ * connection before it marks the transaction read-only. Work outside a transaction, and anything run inside
+ * {@link #usePrimary()}, stays on the primary. Replica reads only start once the application is ready, so the
+ * indexes built at startup never see a lagging copy. Registered in
+ * {@link com.antajia.app.reservationapi.config.ReadReplicaConfig}.
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource
+        implements ApplicationListener<ApplicationReadyEvent>, AutoCloseable {
+
+    private static final String PRIMARY = "primary";
+    private static final ThreadLocal<Boolean> PRIMARY_REQUIRED = new ThreadLocal<>();
+    private static final ThreadLocal<Boolean> LAST_ROUTED_TO_REPLICA = ThreadLocal.withInitial(() -> Boolean.FALSE);
+
+    private final List<DataSource> replicas;
+    private final List<String> replicaKeys = new ArrayList<>();
+    private final AtomicInteger next = new AtomicInteger();
+    private volatile boolean replicaReadsEnabled;
+
+    public ReadWriteRoutingDataSource(DataSource primary, List<DataSource> replicas) {
+        this.replicas = List.copyOf(replicas);
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        for (int i = 0; i < replicas.size(); i++) {
+            String key = "replica-" + i;
+            replicaKeys.add(key);
+            targets.put(key, replicas.get(i));
+        }
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+    }
+
+    /**
+     * Keeps the current thread on the primary until the returned scope is closed, read-only transactions included.
+     * Scopes nest.
+     */
+    public static PrimaryScope usePrimary() {
+        Boolean previous = PRIMARY_REQUIRED.get();
+        PRIMARY_REQUIRED.set(Boolean.TRUE);
+        return () -> {
+            if (previous == null) {
+                PRIMARY_REQUIRED.remove();
+            } else {
+                PRIMARY_REQUIRED.set(previous);
+            }
+        };
+    }
+
+    /**
+     * Tells whether the last connection taken on the current thread came from a replica, so callers such as the
+     * reservation cache can avoid keeping what a lagging replica returned.
+     */
+    public static boolean lastRoutedToReplica() {
+        return LAST_ROUTED_TO_REPLICA.get();
+    }
+
+    @Override
+    public void onApplicationEvent(ApplicationReadyEvent event) {
+        replicaReadsEnabled = true;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!replicaReadsEnabled || replicaKeys.isEmpty() || PRIMARY_REQUIRED.get() != null
+                || !TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            LAST_ROUTED_TO_REPLICA.set(Boolean.FALSE);
+            return PRIMARY;
+        }
+        LAST_ROUTED_TO_REPLICA.set(Boolean.TRUE);
+        return replicaKeys.get(Math.floorMod(next.getAndIncrement(), replicaKeys.size()));
+    }
+
+    /**
+     * Closes the replica pools. The primary is a bean of its own and is closed by the container.
+     */
+    @Override
+    public void close() throws Exception {
+        for (DataSource replica : replicas) {
+            if (replica instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+
+    @FunctionalInterface
+    public interface PrimaryScope extends AutoCloseable {
+
+        @Override
+        void close();
+    }
+}
@@ -0,0 +1,62 @@
+package com.antajia.app.reservationapi.utils;
+
+import com.antajia.app.reservationapi.config.ReadReplicaProperties;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Lets a client read its own writes while the replicas catch up.
+ * <p>
+ * A client that wrote within the configured maximum lag has its GET and HEAD requests served from the primary
+ * through {@link ReadWriteRoutingDataSource#usePrimary()}; other clients read from the replicas. Clients are told
+ * apart by the same {@link ClientIdResolver} as admission control, so a caller cannot pin another client to the
+ * primary, and one that sends no client id is still recognised by its address. Bodies streamed
+ * after the request thread returns are not covered and may read a replica. Registered in
+ * {@link com.antajia.app.reservationapi.config.ReadReplicaConfig}.
+ */
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    private final ClientIdResolver clientIdResolver;
+    private final Cache<String, Boolean> recentWriters;
+
+    public ReadYourWritesFilter(ReadReplicaProperties properties, ClientIdResolver clientIdResolver) {
+        this.clientIdResolver = clientIdResolver;
+        this.recentWriters = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxClients())
+                .expireAfterWrite(properties.getMaxLag())
+                .build();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String clientId = clientIdResolver.resolve(request);
+        boolean read = HttpMethod.GET.matches(request.getMethod()) || HttpMethod.HEAD.matches(request.getMethod());
+        if (!read) {
+            try {
+                filterChain.doFilter(request, response);
+            } finally {
+                // A failed write may still have committed part of its work, so only clean rejections are skipped.
+                if (response.getStatus() < 400 || response.getStatus() >= 500) {
+                    recentWriters.put(clientId, Boolean.TRUE);
+                }
+            }
+            return;
+        }
+        if (recentWriters.getIfPresent(clientId) == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        try (ReadWriteRoutingDataSource.PrimaryScope ignored = ReadWriteRoutingDataSource.usePrimary()) {
+            filterChain.doFilter(request, response);
+        }
+    }
+}
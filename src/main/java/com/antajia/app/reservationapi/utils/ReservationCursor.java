@@ -0,0 +1,93 @@
+package com.antajia.app.reservationapi.utils;
+
+import com.antajia.app.reservationapi.dtos.ReservationDto;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Opaque continuation token for keyset (cursor) pagination over reservations.
+ * It carries the sort order and the sort key of the last row of a page, so the next page
+ * resumes with an index seek instead of an OFFSET scan.
+ */
+@Getter
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class ReservationCursor {
+
+    private static final String VERSION = "v1";
+    private static final String SEPARATOR = "|";
+
+    private final SortKey sortKey;
+    private final LocalDate reservationDate;
+    private final Long id;
+
+    /**
+     * Sort orders supported by keyset pagination. The id is always the final tie-breaker.
+     */
+    @Getter
+    @AllArgsConstructor
+    public enum SortKey {
+        ID("id"),
+        RESERVATION_DATE("reservation_date");
+
+        private final String parameterName;
+
+        public static SortKey fromParameter(String value) {
+            for (SortKey sortKey : values()) {
+                if (sortKey.parameterName.equalsIgnoreCase(value)) {
+                    return sortKey;
+                }
+            }
+            throw new IllegalArgumentException("Unsupported sort: " + value);
+        }
+    }
+
+    /**
+     * Position before the first row of the given sort order.
+     */
+    public static ReservationCursor first(SortKey sortKey) {
+        return new ReservationCursor(sortKey, null, null);
+    }
+
+    /**
+     * Position right after the given reservation.
+     */
+    public static ReservationCursor after(SortKey sortKey, ReservationDto reservation) {
+        return new ReservationCursor(sortKey, reservation.getReservationDate(), reservation.getId());
+    }
+
+    public boolean isFirstPage() {
+        return id == null;
+    }
+
+    public String encode() {
+        String raw = VERSION + SEPARATOR + sortKey.name() + SEPARATOR
+                + (reservationDate != null ? reservationDate : "") + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a token previously produced by {@link #encode()}.
+     *
+     * @throws IllegalArgumentException if the token is malformed
+     */
+    public static ReservationCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\" + SEPARATOR, -1);
+            if (parts.length != 4 || !VERSION.equals(parts[0])) {
+                throw new IllegalArgumentException("Malformed cursor");
+            }
+            SortKey sortKey = SortKey.valueOf(parts[1]);
+            LocalDate reservationDate = parts[2].isEmpty() ? null : LocalDate.parse(parts[2]);
+            return new ReservationCursor(sortKey, reservationDate, Long.valueOf(parts[3]));
+        } catch (DateTimeParseException | NumberFormatException e) {
+            throw new IllegalArgumentException("Malformed cursor", e);
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.antajia.app.reservationapi.utils;
+
+import com.antajia.app.reservationapi.models.Reservation;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.MappingException;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Moves the reservation id sequence past existing rows.
+ * <p>
+ * Databases created while reservation ids were IDENTITY columns get a fresh sequence starting at 1,
+ * which would collide with the rows already there. Runs before the {@link Seeder}, and again after the
+ * {@link SyntheticDataGenerator} writes ids of its own.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class ReservationSequenceAligner implements ApplicationRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReservationSequenceAligner.class);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    public ReservationSequenceAligner(JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        align();
+    }
+
+    /**
+     * Restarts the sequence above the highest reservation id if it would hand out ids already in use.
+     */
+    public void align() {
+        try {
+            Dialect dialect = entityManagerFactory.unwrap(SessionFactoryImplementor.class).getJdbcServices().getDialect();
+            Long maxId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM reservations", Long.class);
+            Long nextValue = jdbcTemplate.queryForObject(
+                    dialect.getSequenceSupport().getSequenceNextValString(Reservation.ID_SEQUENCE), Long.class);
+            // A fetched value v reserves the block (v - allocationSize, v] for the pooled optimizer.
+            if (maxId != null && nextValue != null && nextValue - Reservation.ID_ALLOCATION_SIZE < maxId) {
+                long restartWith = maxId + Reservation.ID_ALLOCATION_SIZE;
+                jdbcTemplate.execute("ALTER SEQUENCE " + Reservation.ID_SEQUENCE + " RESTART WITH " + restartWith);
+                logger.info("Restarted {} at {} to skip existing reservation ids", Reservation.ID_SEQUENCE, restartWith);
+            }
+        } catch (DataAccessException | MappingException e) {
+            logger.warn("Could not align {}: {}", Reservation.ID_SEQUENCE, e.getMessage());
+        }
+    }
+}
@@ -6,6 +6,7 @@ import com.antajia.app.reservationapi.repositories.ReservationRepository;
 import com.antajia.app.reservationapi.repositories.ContactMethodRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
 import org.springframework.boot.CommandLineRunner;
 
 import java.time.LocalDate;
@@ -14,6 +15,8 @@ import java.util.Set;
 import java.util.HashSet;
 
 @Configuration
+// The load test profile generates its own data, see SyntheticDataGenerator.
+@Profile("!" + SyntheticDataGenerator.PROFILE)
 public class Seeder implements CommandLineRunner {
 
     private final ReservationRepository reservationRepository;
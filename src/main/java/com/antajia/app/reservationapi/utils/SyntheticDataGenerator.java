@@ -0,0 +1,223 @@
+package com.antajia.app.reservationapi.utils;
+
+import com.antajia.app.reservationapi.config.SyntheticDataProperties;
+import com.antajia.app.reservationapi.models.ContactMethod;
+import com.antajia.app.reservationapi.repositories.ContactMethodRepository;
+import com.antajia.app.reservationapi.services.ReservationAggregates;
+import com.antajia.app.reservationapi.services.ReservationSearchIndex;
+import com.antajia.app.reservationapi.services.SlotOccupancyIndex;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Fills the database with synthetic reservations for load testing, in place of the {@link Seeder}.
+ * <p>
+ * Active only under the {@value #PROFILE} profile. Rows are written with plain JDBC batches, one transaction per
+ * chunk, with chunks inserted in parallel. Every chunk draws from its own random generator derived from the seed
+ * and the chunk number, so the data is the same whatever the thread count. Dates lean toward weekends, times
+ * cluster around lunch and dinner, party sizes favour couples and fours, and contact methods follow a fixed mix.
+ * Ids are assigned directly and the id sequence is moved past them afterwards.
+ */
+@Component
+@Profile(SyntheticDataGenerator.PROFILE)
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+@EnableConfigurationProperties(SyntheticDataProperties.class)
+public class SyntheticDataGenerator implements ApplicationRunner {
+
+    public static final String PROFILE = "loadtest";
+
+    private static final Logger logger = LoggerFactory.getLogger(SyntheticDataGenerator.class);
+
+    private static final String INSERT_RESERVATION = "INSERT INTO reservations " +
+            "(id, name, phone_number, email, reservation_date, reservation_time, number_of_guests, version) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, 0)";
+    private static final String INSERT_CONTACT_METHOD = "INSERT INTO reservation_contact_methods " +
+            "(reservation_id, contact_method_id) VALUES (?, ?)";
+
+    private static final String[] FIRST_NAMES = {"Maria", "James", "Aisha", "Wei", "Sofia", "Liam", "Fatima", "Noah",
+            "Yuki", "Mateo", "Olivia", "Arjun", "Emma", "Kwame", "Chloe", "Diego", "Hana", "Lucas", "Amara", "Ethan",
+            "Isabella", "Omar", "Mia", "Santiago", "Zara", "Elijah", "Leila", "Kenji", "Ava", "Rafael"};
+    private static final String[] LAST_NAMES = {"Garcia", "Smith", "Khan", "Chen", "Rossi", "Murphy", "Haddad",
+            "Johnson", "Tanaka", "Lopez", "Brown", "Patel", "Muller", "Mensah", "Martin", "Reyes", "Kim", "Silva",
+            "Okafor", "Wilson", "Santos", "Nguyen", "Cohen", "Dubois", "Kowalski", "Ivanova", "Andersen", "Cruz"};
+    private static final String[] EMAIL_DOMAINS = {"gmail.com", "yahoo.com", "outlook.com", "icloud.com", "proton.me", "example.org"};
+
+    // Relative booking volume by day of week, Monday first.
+    private static final double[] DAY_WEIGHTS = {0.6, 0.7, 0.8, 1.0, 1.6, 1.8, 1.2};
+    private static final double MAX_DAY_WEIGHT = 1.8;
+    private static final int[] PARTY_SIZES = {1, 2, 3, 4, 5, 6, 7, 8, 10, 12};
+    private static final double[] PARTY_SIZE_CUMULATIVE = {0.08, 0.46, 0.58, 0.80, 0.86, 0.93, 0.95, 0.98, 0.99, 1.0};
+    private static final String[][] CONTACT_MIXES = {{"Email"}, {"SMS"}, {"Phone"}, {"Email", "SMS"}, {}, {"Email", "SMS", "Phone"}};
+    private static final double[] CONTACT_MIX_CUMULATIVE = {0.35, 0.60, 0.70, 0.90, 0.95, 1.0};
+    private static final int FIRST_SEATING = 11 * 60;
+    private static final int LAST_SEATING = 22 * 60 + 30;
+    private static final int TIME_STEP_MINUTES = 15;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ContactMethodRepository contactMethodRepository;
+    private final ReservationSequenceAligner sequenceAligner;
+    private final SlotOccupancyIndex slotOccupancyIndex;
+    private final ReservationSearchIndex searchIndex;
+    private final ReservationAggregates aggregates;
+    private final SyntheticDataProperties properties;
+
+    @Autowired
+    public SyntheticDataGenerator(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+                                  ContactMethodRepository contactMethodRepository, ReservationSequenceAligner sequenceAligner,
+                                  SlotOccupancyIndex slotOccupancyIndex, ReservationSearchIndex searchIndex,
+                                  ReservationAggregates aggregates, SyntheticDataProperties properties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.contactMethodRepository = contactMethodRepository;
+        this.sequenceAligner = sequenceAligner;
+        this.slotOccupancyIndex = slotOccupancyIndex;
+        this.searchIndex = searchIndex;
+        this.aggregates = aggregates;
+        this.properties = properties;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        generate();
+    }
+
+    /**
+     * Generates the configured number of reservations unless the table already has some and appending is off.
+     *
+     * @return the number of reservations inserted
+     */
+    public long generate() throws InterruptedException, ExecutionException {
+        Map<String, Long> contactMethodIds = ensureContactMethods();
+        Long existing = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM reservations", Long.class);
+        if (existing != null && existing > 0 && !properties.isAppend()) {
+            logger.info("Database already holds {} reservations, skipping synthetic data", existing);
+            return 0;
+        }
+        Long maxId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM reservations", Long.class);
+        long firstId = (maxId == null ? 0 : maxId) + 1;
+        LocalDate anchor = properties.getAnchorDate() != null ? properties.getAnchorDate() : LocalDate.now();
+        int total = properties.getReservations();
+        int chunkSize = Math.max(1, properties.getChunkSize());
+        int chunks = (total + chunkSize - 1) / chunkSize;
+
+        long start = System.nanoTime();
+        ExecutorService workers = Executors.newFixedThreadPool(Math.max(1, properties.getThreads()));
+        try {
+            List<Future<?>> pending = new ArrayList<>(chunks);
+            for (int chunk = 0; chunk < chunks; chunk++) {
+                int chunkIndex = chunk;
+                int rows = Math.min(chunkSize, total - chunk * chunkSize);
+                pending.add(workers.submit(() -> insertChunk(chunkIndex, firstId + (long) chunkIndex * chunkSize, rows,
+                        anchor, contactMethodIds)));
+            }
+            for (Future<?> future : pending) {
+                future.get();
+            }
+        } finally {
+            workers.shutdownNow();
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        logger.info("Generated {} reservations in {} s ({} rows/s) with seed {}", total, String.format("%.1f", seconds),
+                Math.round(total / Math.max(seconds, 1e-3)), properties.getSeed());
+
+        sequenceAligner.align();
+        // All of these were built at startup, before any of these rows existed.
+        slotOccupancyIndex.rebuild();
+        searchIndex.rebuild();
+        aggregates.reconcile();
+        return total;
+    }
+
+    private void insertChunk(int chunkIndex, long firstId, int rows, LocalDate anchor, Map<String, Long> contactMethodIds) {
+        SplittableRandom random = new SplittableRandom(properties.getSeed() * 0x9E3779B97F4A7C15L + chunkIndex);
+        List<Object[]> reservations = new ArrayList<>(rows);
+        List<Object[]> contactMethods = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            long id = firstId + i;
+            String firstName = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)];
+            String lastName = LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+            String email = (firstName + "." + lastName + random.nextInt(1000)).toLowerCase(Locale.ROOT)
+                    + "@" + EMAIL_DOMAINS[random.nextInt(EMAIL_DOMAINS.length)];
+            String phoneNumber = "+1" + (2_000_000_000L + random.nextLong(8_000_000_000L));
+            reservations.add(new Object[]{id, firstName + " " + lastName, phoneNumber, email,
+                    nextDate(random, anchor), nextTime(random), PARTY_SIZES[pick(random, PARTY_SIZE_CUMULATIVE)]});
+            for (String contactMethod : CONTACT_MIXES[pick(random, CONTACT_MIX_CUMULATIVE)]) {
+                contactMethods.add(new Object[]{id, contactMethodIds.get(contactMethod)});
+            }
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.batchUpdate(INSERT_RESERVATION, reservations);
+            jdbcTemplate.batchUpdate(INSERT_CONTACT_METHOD, contactMethods);
+        });
+    }
+
+    /**
+     * Draws a date around the anchor, weighted by day of week with rejection sampling.
+     */
+    private LocalDate nextDate(SplittableRandom random, LocalDate anchor) {
+        while (true) {
+            LocalDate date = anchor.plusDays(random.nextInt(-properties.getPastDays(), properties.getFutureDays() + 1));
+            DayOfWeek dayOfWeek = date.getDayOfWeek();
+            if (random.nextDouble() * MAX_DAY_WEIGHT < DAY_WEIGHTS[dayOfWeek.ordinal()]) {
+                return date;
+            }
+        }
+    }
+
+    /**
+     * Draws a seating time from a lunch peak at 12:30 and a larger dinner peak at 19:30, on a 15 minute grid.
+     */
+    private static LocalTime nextTime(SplittableRandom random) {
+        boolean lunch = random.nextDouble() < 0.3;
+        double minutes = lunch ? 12.5 * 60 + random.nextGaussian() * 45 : 19.5 * 60 + random.nextGaussian() * 60;
+        int minuteOfDay = (int) Math.round(minutes / TIME_STEP_MINUTES) * TIME_STEP_MINUTES;
+        minuteOfDay = Math.max(FIRST_SEATING, Math.min(LAST_SEATING, minuteOfDay));
+        return LocalTime.of(minuteOfDay / 60, minuteOfDay % 60);
+    }
+
+    private static int pick(SplittableRandom random, double[] cumulative) {
+        double draw = random.nextDouble();
+        for (int i = 0; i < cumulative.length; i++) {
+            if (draw < cumulative[i]) {
+                return i;
+            }
+        }
+        return cumulative.length - 1;
+    }
+
+    private Map<String, Long> ensureContactMethods() {
+        Map<String, Long> ids = new HashMap<>();
+        contactMethodRepository.findAll().forEach(contactMethod -> ids.put(contactMethod.getName(), contactMethod.getId()));
+        for (String name : new String[]{"Email", "SMS", "Phone"}) {
+            if (!ids.containsKey(name)) {
+                ids.put(name, contactMethodRepository.save(new ContactMethod(name)).getId());
+            }
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,207 @@
+package com.antajia.app.reservationapi;
+
+import com.antajia.app.reservationapi.config.AdmissionControlProperties;
+import com.antajia.app.reservationapi.utils.AdaptiveConcurrencyLimiter;
+import com.antajia.app.reservationapi.utils.AdmissionControlFilter;
+import com.antajia.app.reservationapi.utils.ClientIdResolver;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.CannotGetJdbcConnectionException;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.sql.SQLTransientConnectionException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AdmissionControlTests {
+
+    @Test
+    void limiter_ShouldGrowWhileLatencyHolds_AndShrinkWhenLatencyRises() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(20, 2, 100, 0.2, 1.5);
+
+        saturate(limiter, 10, 10);
+        int grown = limiter.getLimit();
+        assertTrue(grown > 20, "limit should grow at steady latency, was " + grown);
+
+        saturate(limiter, 100, 20);
+        assertTrue(limiter.getLimit() < 20, "limit should shrink when latency rises, was " + limiter.getLimit());
+    }
+
+    @Test
+    void limiter_ShouldBackOff_OnOverload() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(20, 2, 100, 0.2, 1.5);
+
+        assertTrue(limiter.tryAcquire());
+        limiter.release(TimeUnit.MILLISECONDS.toNanos(10), true);
+
+        assertEquals(18, limiter.getLimit());
+        assertEquals(0, limiter.getInFlight());
+    }
+
+    @Test
+    void filter_ShouldAnswer429_WhenClientExceedsItsRate() throws Exception {
+        AdmissionControlProperties properties = new AdmissionControlProperties();
+        properties.setClientRate(1);
+        properties.setClientBurst(2);
+        AdmissionControlFilter filter = filter(properties);
+
+        assertEquals(200, perform(filter, request("10.1.0.1", null)).getStatus());
+        assertEquals(200, perform(filter, request("10.1.0.1", null)).getStatus());
+        MockHttpServletResponse limited = perform(filter, request("10.1.0.1", null));
+
+        assertEquals(429, limited.getStatus());
+        assertEquals("1", limited.getHeader(HttpHeaders.RETRY_AFTER));
+        assertEquals(200, perform(filter, request("10.1.0.2", null)).getStatus());
+    }
+
+    @Test
+    void filter_ShouldIgnoreTheClientIdHeader_FromUntrustedAddresses() throws Exception {
+        AdmissionControlProperties properties = new AdmissionControlProperties();
+        properties.setClientRate(1);
+        properties.setClientBurst(2);
+        AdmissionControlFilter filter = filter(properties);
+
+        assertEquals(200, perform(filter, request("10.1.0.1", "fresh-1")).getStatus());
+        assertEquals(200, perform(filter, request("10.1.0.1", "fresh-2")).getStatus());
+
+        assertEquals(429, perform(filter, request("10.1.0.1", "fresh-3")).getStatus());
+    }
+
+    @Test
+    void filter_ShouldKeyOnTheClientIdHeader_FromTrustedProxies() throws Exception {
+        AdmissionControlProperties properties = new AdmissionControlProperties();
+        properties.setClientRate(1);
+        properties.setClientBurst(1);
+        properties.setTrustedProxies(List.of("10.2.0.0/16"));
+        AdmissionControlFilter filter = filter(properties);
+
+        assertEquals(200, perform(filter, request("10.2.3.4", "client-a")).getStatus());
+        assertEquals(429, perform(filter, request("10.2.3.4", "client-a")).getStatus());
+        assertEquals(200, perform(filter, request("10.2.3.4", "client-b")).getStatus());
+    }
+
+    @Test
+    void filter_ShouldAnswer503_WhenReadBudgetIsFull() throws Exception {
+        AdmissionControlProperties properties = new AdmissionControlProperties();
+        properties.setReads(new AdmissionControlProperties.Budget(1, 1, 1));
+        AdmissionControlFilter filter = filter(properties);
+        MockHttpServletResponse[] nested = new MockHttpServletResponse[1];
+
+        MockHttpServletResponse outer = new MockHttpServletResponse();
+        filter.doFilter(request("10.1.0.1", null), outer, (request, response) -> {
+            // The outer request still holds the only read slot.
+            nested[0] = new MockHttpServletResponse();
+            filter.doFilter(request("10.1.0.2", null), nested[0], (innerRequest, innerResponse) -> { });
+        });
+
+        assertEquals(200, outer.getStatus());
+        assertEquals(503, nested[0].getStatus());
+        assertEquals("1", nested[0].getHeader(HttpHeaders.RETRY_AFTER));
+    }
+
+    @Test
+    void filter_ShouldHoldTheSlotOfAnAsyncRequest_UntilItCompletes() throws Exception {
+        AdmissionControlProperties properties = new AdmissionControlProperties();
+        properties.setReads(new AdmissionControlProperties.Budget(1, 1, 1));
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        AdmissionControlFilter filter = filter(properties, meterRegistry);
+        MockHttpServletRequest streaming = request("10.1.0.1", null);
+        streaming.setAsyncSupported(true);
+
+        filter.doFilter(streaming, new MockHttpServletResponse(), (request, response) -> request.startAsync());
+
+        assertEquals(1, inFlight(meterRegistry));
+        assertEquals(503, perform(filter, request("10.1.0.2", null)).getStatus());
+
+        streaming.getAsyncContext().complete();
+
+        assertEquals(0, inFlight(meterRegistry));
+        assertEquals(200, perform(filter, request("10.1.0.2", null)).getStatus());
+    }
+
+    @Test
+    void filter_ShouldLetUnlimitedPathsPast_AFullBudget() throws Exception {
+        AdmissionControlProperties properties = new AdmissionControlProperties();
+        properties.setReads(new AdmissionControlProperties.Budget(1, 1, 1));
+        AdmissionControlFilter filter = filter(properties);
+        MockHttpServletResponse[] nested = new MockHttpServletResponse[1];
+
+        filter.doFilter(request("10.1.0.1", null), new MockHttpServletResponse(), (request, response) -> {
+            MockHttpServletRequest changes = request("10.1.0.2", null);
+            changes.setRequestURI("/api/reservations/changes");
+            nested[0] = perform(filter, changes);
+        });
+
+        assertEquals(200, nested[0].getStatus());
+    }
+
+    @Test
+    void filter_ShouldOnlyCountPoolAndTimeoutFailures_AsOverload() throws Exception {
+        AdmissionControlProperties properties = new AdmissionControlProperties();
+        properties.setReads(new AdmissionControlProperties.Budget(20, 2, 100));
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        AdmissionControlFilter filter = filter(properties, meterRegistry);
+
+        filter.doFilter(request("10.1.0.1", null), new MockHttpServletResponse(),
+                (request, response) -> ((HttpServletResponse) response).setStatus(503));
+        assertEquals(20, limit(meterRegistry));
+
+        assertThrows(CannotGetJdbcConnectionException.class, () -> filter.doFilter(request("10.1.0.1", null),
+                new MockHttpServletResponse(), (request, response) -> {
+                    throw new CannotGetJdbcConnectionException("Pool exhausted",
+                            new SQLTransientConnectionException("Connection is not available, request timed out"));
+                }));
+        assertEquals(18, limit(meterRegistry));
+    }
+
+    private static void saturate(AdaptiveConcurrencyLimiter limiter, long rttMillis, int rounds) {
+        for (int round = 0; round < rounds; round++) {
+            int admitted = 0;
+            while (limiter.tryAcquire()) {
+                admitted++;
+            }
+            for (int i = 0; i < admitted; i++) {
+                limiter.release(TimeUnit.MILLISECONDS.toNanos(rttMillis), false);
+            }
+        }
+    }
+
+    private static AdmissionControlFilter filter(AdmissionControlProperties properties) {
+        return filter(properties, new SimpleMeterRegistry());
+    }
+
+    private static AdmissionControlFilter filter(AdmissionControlProperties properties, SimpleMeterRegistry meterRegistry) {
+        return new AdmissionControlFilter(properties,
+                new ClientIdResolver(properties.getClientIdHeader(), properties.getTrustedProxies()), meterRegistry);
+    }
+
+    private static double inFlight(SimpleMeterRegistry meterRegistry) {
+        return meterRegistry.get("http.server.admission.in.flight").tag("budget", "read").gauge().value();
+    }
+
+    private static double limit(SimpleMeterRegistry meterRegistry) {
+        return meterRegistry.get("http.server.admission.limit").tag("budget", "read").gauge().value();
+    }
+
+    private static MockHttpServletResponse perform(AdmissionControlFilter filter, MockHttpServletRequest request) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, (servletRequest, servletResponse) -> { });
+        return response;
+    }
+
+    private static MockHttpServletRequest request(String remoteAddress, String clientId) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/reservations");
+        request.setRemoteAddr(remoteAddress);
+        if (clientId != null) {
+            request.addHeader("X-Client-Id", clientId);
+        }
+        return request;
+    }
+}
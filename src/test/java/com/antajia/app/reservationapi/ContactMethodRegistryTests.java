@@ -0,0 +1,100 @@
+package com.antajia.app.reservationapi;
+
+import com.antajia.app.reservationapi.exceptions.UnknownContactMethodException;
+import com.antajia.app.reservationapi.models.ContactMethod;
+import com.antajia.app.reservationapi.repositories.ContactMethodRepository;
+import com.antajia.app.reservationapi.services.ContactMethodRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ContactMethodRegistryTests {
+
+    private final ContactMethodRepository repository = Mockito.mock(ContactMethodRepository.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ContactMethodRegistry registry = new ContactMethodRegistry(repository, meterRegistry);
+
+    private final ContactMethod email = new ContactMethod(1L, "Email", null);
+    private final ContactMethod sms = new ContactMethod(2L, "SMS", null);
+
+    @BeforeEach
+    void load() {
+        when(repository.findAll()).thenReturn(List.of(email, sms));
+        registry.load();
+    }
+
+    @Test
+    void resolve_ShouldMatchNamesIgnoringCaseAndSurroundingSpace() {
+        Set<ContactMethod> resolved = registry.resolve(Set.of("email", " SMS "));
+
+        assertEquals(Set.of(email, sms), resolved);
+        assertEquals(2, lookups("hit"));
+        assertEquals(0, lookups("miss"));
+    }
+
+    @Test
+    void resolve_ShouldReturnNothing_ForNoNames() {
+        assertTrue(registry.resolve(null).isEmpty());
+        assertTrue(registry.resolve(Set.of()).isEmpty());
+        assertEquals(0, lookups("hit") + lookups("miss"));
+    }
+
+    @Test
+    void resolve_ShouldRejectUnknownNames_AndCountEveryLookup() {
+        Set<String> names = new HashSet<>();
+        names.add("Email");
+        names.add("Pigeon");
+        names.add(null);
+
+        UnknownContactMethodException exception = assertThrows(UnknownContactMethodException.class,
+                () -> registry.resolve(names));
+
+        assertTrue(exception.getMessage().contains("Pigeon"));
+        assertFalse(exception.getMessage().contains("Email"));
+        assertEquals(1, lookups("hit"));
+        assertEquals(2, lookups("miss"));
+    }
+
+    @Test
+    void refresh_ShouldSwapInTheReloadedContactMethods() {
+        ContactMethod phone = new ContactMethod(3L, "Phone", null);
+        when(repository.findAll()).thenReturn(List.of(email, phone));
+
+        registry.refresh();
+
+        assertTrue(registry.contains("phone"));
+        assertFalse(registry.contains("SMS"));
+        assertEquals(Set.of("Email", "Phone"), registry.getNames());
+        assertThrows(UnknownContactMethodException.class, () -> registry.resolve(Set.of("SMS")));
+        assertEquals(2, meterRegistry.get("contact.method.registry.refreshes").counter().count());
+        assertEquals(2, meterRegistry.get("contact.method.registry.size").gauge().value());
+        verify(repository, times(2)).findAll();
+    }
+
+    @Test
+    void lookups_ShouldNotTouchTheDatabase() {
+        registry.resolve(Set.of("Email"));
+        registry.contains("SMS");
+        registry.getNames();
+
+        verify(repository, times(1)).findAll();
+        Mockito.verifyNoMoreInteractions(repository);
+    }
+
+    private double lookups(String result) {
+        return meterRegistry.get("contact.method.registry.lookups").tag("result", result).counter().count();
+    }
+}
@@ -0,0 +1,114 @@
+package com.antajia.app.reservationapi;
+
+import com.antajia.app.reservationapi.utils.SyntheticDataGenerator;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Drives the same read load against the application on Tomcat platform threads and on virtual threads, and
+ * prints throughput, latency and pinning for each. Each mode runs in its own in-memory database, seeded by the
+ * loadtest profile with the same synthetic reservations, and with the same JDBC pool size, so the only difference
+ * is the execution model and every request spends real time blocked on JDBC. Run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+class ExecutionModeLoadBenchmarkTests {
+
+    private static final int CLIENTS = 1_000;
+    private static final int REQUESTS_PER_CLIENT = 20;
+    private static final int RESERVATIONS = 200_000;
+    private static final String PATH = "/api/reservations/range?from=2024-01-01&to=2026-12-31&size=50";
+
+    @Test
+    void compareExecutionModes_UnderConcurrentReadLoad() throws Exception {
+        System.out.printf("%10s %12s %10s %10s %8s%n", "mode", "requests/s", "p50 (ms)", "p99 (ms)", "pinned");
+        for (boolean virtualThreads : new boolean[]{false, true}) {
+            try (ConfigurableApplicationContext context = new SpringApplicationBuilder(ReservationapiApplication.class)
+                    .profiles(SyntheticDataGenerator.PROFILE)
+                    .properties("server.port=0",
+                            "spring.threads.virtual.enabled=" + virtualThreads,
+                            "spring.datasource.url=jdbc:h2:mem:load-" + virtualThreads + ";DB_CLOSE_DELAY=-1",
+                            "spring.jpa.show-sql=false",
+                            "reservation.synthetic-data.reservations=" + RESERVATIONS,
+                            // Keeps the generated dates inside the queried range
+                            "reservation.synthetic-data.anchor-date=2025-06-01",
+                            "reservation.retention.enabled=false",
+                            // Measures the execution modes themselves, not what the limiter lets through
+                            "reservation.admission.enabled=false")
+                    .run()) {
+                int port = context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+                runLoad(port);
+                LoadResult result = runLoad(port);
+                long pinned = context.getBean(MeterRegistry.class).find("jvm.threads.virtual.pinned").timers().stream()
+                        .mapToLong(Timer::count)
+                        .sum();
+                System.out.printf("%10s %12.0f %10.1f %10.1f %8d%n", virtualThreads ? "virtual" : "platform",
+                        result.throughput(), result.percentileMillis(50), result.percentileMillis(99), pinned);
+                assertEquals(0, result.failures());
+            }
+        }
+    }
+
+    private LoadResult runLoad(int port) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + PATH)).GET().build();
+        long[] latencies = new long[CLIENTS * REQUESTS_PER_CLIENT];
+        AtomicInteger failures = new AtomicInteger();
+        long start = System.nanoTime();
+        try (HttpClient client = HttpClient.newBuilder().executor(Executors.newVirtualThreadPerTaskExecutor()).build();
+             ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int c = 0; c < CLIENTS; c++) {
+                int offset = c * REQUESTS_PER_CLIENT;
+                futures.add(clients.submit(() -> {
+                    for (int i = 0; i < REQUESTS_PER_CLIENT; i++) {
+                        long sent = System.nanoTime();
+                        try {
+                            if (client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() != 200) {
+                                failures.incrementAndGet();
+                            }
+                        } catch (Exception e) {
+                            failures.incrementAndGet();
+                        }
+                        latencies[offset + i] = System.nanoTime() - sent;
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+        Arrays.sort(latencies);
+        return new LoadResult(latencies, elapsed, failures.get());
+    }
+
+    private record LoadResult(long[] sortedLatencies, long elapsedNanos, int failures) {
+
+        double throughput() {
+            return sortedLatencies.length / (elapsedNanos / 1e9);
+        }
+
+        double percentileMillis(int percentile) {
+            int index = Math.min(sortedLatencies.length - 1, sortedLatencies.length * percentile / 100);
+            return sortedLatencies[index] / 1e6;
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.antajia.app.reservationapi;
+
+import com.antajia.app.reservationapi.utils.HashedWheelTimer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HashedWheelTimerTests {
+
+    private HashedWheelTimer timer;
+
+    @BeforeEach
+    void setUp() {
+        timer = new HashedWheelTimer(Duration.ofMillis(10), 8, Runnable::run, Executors.defaultThreadFactory());
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        timer.stop();
+    }
+
+    @Test
+    void newTimeout_ShouldFireAfterDelay_IncludingDelaysLongerThanOneRevolution() throws InterruptedException {
+        CountDownLatch fired = new CountDownLatch(2);
+        long start = System.nanoTime();
+
+        timer.newTimeout(fired::countDown, 20, TimeUnit.MILLISECONDS);
+        timer.newTimeout(fired::countDown, 250, TimeUnit.MILLISECONDS);
+
+        assertTrue(fired.await(5, TimeUnit.SECONDS));
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) >= 250);
+        assertEquals(0, timer.getPendingTimeouts());
+    }
+
+    @Test
+    void cancel_ShouldPreventTaskFromRunning() throws InterruptedException {
+        AtomicInteger runs = new AtomicInteger();
+        HashedWheelTimer.Timeout timeout = timer.newTimeout(runs::incrementAndGet, 50, TimeUnit.MILLISECONDS);
+
+        assertTrue(timeout.cancel());
+        Thread.sleep(150);
+
+        assertEquals(0, runs.get());
+        assertFalse(timeout.cancel());
+        assertEquals(0, timer.getPendingTimeouts());
+    }
+}
@@ -0,0 +1,102 @@
+package com.antajia.app.reservationapi;
+
+import com.antajia.app.reservationapi.exceptions.IdempotentRequestInProgressException;
+import com.antajia.app.reservationapi.services.IdempotencyStore;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class IdempotencyStoreTests {
+
+    private static final String CLIENT = "10.0.0.1";
+
+    private final IdempotencyStore store = new IdempotencyStore(100, Duration.ofMinutes(5), Duration.ofSeconds(5));
+
+    @Test
+    void execute_ShouldMakeConcurrentDuplicatesWaitForTheFirstRequest() throws Exception {
+        AtomicInteger runs = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<ResponseEntity<String>> first = CompletableFuture.supplyAsync(() -> store.execute(CLIENT, "key", "body", () -> {
+            runs.incrementAndGet();
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return ResponseEntity.status(HttpStatus.CREATED).body("created");
+        }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        CompletableFuture<ResponseEntity<String>> duplicate = CompletableFuture.supplyAsync(() -> store.execute(CLIENT, "key", "body", () -> {
+            runs.incrementAndGet();
+            return ResponseEntity.ok("duplicate");
+        }));
+        Thread.sleep(50);
+        assertFalse(duplicate.isDone());
+        release.countDown();
+
+        assertEquals("created", first.get(5, TimeUnit.SECONDS).getBody());
+        ResponseEntity<String> replayed = duplicate.get(5, TimeUnit.SECONDS);
+        assertEquals(HttpStatus.CREATED, replayed.getStatusCode());
+        assertEquals("created", replayed.getBody());
+        assertEquals("true", replayed.getHeaders().getFirst(IdempotencyStore.REPLAYED_HEADER));
+        assertEquals(1, runs.get());
+    }
+
+    @Test
+    void execute_ShouldKeepKeysOfDifferentClientsApart() {
+        ResponseEntity<String> first = store.execute(CLIENT, "shared", "body", () -> ResponseEntity.ok("first"));
+        ResponseEntity<String> second = store.execute("10.0.0.2", "shared", "body", () -> ResponseEntity.ok("second"));
+        ResponseEntity<String> retried = store.execute("10.0.0.2", "shared", "body", () -> ResponseEntity.ok("again"));
+
+        assertEquals("first", first.getBody());
+        assertEquals("second", second.getBody());
+        assertFalse(second.getHeaders().containsKey(IdempotencyStore.REPLAYED_HEADER));
+        assertEquals("second", retried.getBody());
+        assertEquals("true", retried.getHeaders().getFirst(IdempotencyStore.REPLAYED_HEADER));
+    }
+
+    @Test
+    void execute_ShouldForgetKey_WhenFirstRequestFails() {
+        assertThrows(IllegalStateException.class, () -> store.execute(CLIENT, "failing", "body", () -> {
+            throw new IllegalStateException("database down");
+        }));
+
+        ResponseEntity<String> retried = store.execute(CLIENT, "failing", "body", () -> ResponseEntity.ok("retried"));
+        assertEquals("retried", retried.getBody());
+    }
+
+    @Test
+    void execute_ShouldGiveUp_WhenFirstRequestOutlivesWaitTimeout() throws Exception {
+        IdempotencyStore impatient = new IdempotencyStore(100, Duration.ofMinutes(5), Duration.ofMillis(50));
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture.runAsync(() -> impatient.execute(CLIENT, "slow", "body", () -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return ResponseEntity.ok("done");
+        }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        assertThrows(IdempotentRequestInProgressException.class,
+                () -> impatient.execute(CLIENT, "slow", "body", () -> ResponseEntity.ok("duplicate")));
+        release.countDown();
+    }
+}
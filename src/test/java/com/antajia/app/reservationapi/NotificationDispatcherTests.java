@@ -0,0 +1,88 @@
+package com.antajia.app.reservationapi;
+
+import com.antajia.app.reservationapi.config.NotificationProperties;
+import com.antajia.app.reservationapi.services.notifications.NotificationDispatcher;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class NotificationDispatcherTests {
+
+    @Test
+    void deliverOnce_ShouldNeverExceedTheChannelLimit() throws InterruptedException {
+        NotificationDispatcher dispatcher = new NotificationDispatcher(properties(Map.of("SMS", 2)));
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger peak = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+
+        for (int i = 0; i < 10; i++) {
+            threads.add(Thread.ofVirtual().start(() -> {
+                try {
+                    dispatcher.deliverOnce("SMS", () -> {
+                        peak.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                        await(release);
+                        inFlight.decrementAndGet();
+                    });
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }));
+        }
+        while (dispatcher.getInFlight("SMS") < 2) {
+            Thread.sleep(5);
+        }
+        release.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(2, peak.get());
+        assertEquals(0, dispatcher.getInFlight("SMS"));
+    }
+
+    @Test
+    void deliverOnce_ShouldAttemptOnce_AndGiveThePermitBack_WhenDeliveryFails() {
+        NotificationDispatcher dispatcher = new NotificationDispatcher(properties(Map.of()));
+        AtomicInteger attempts = new AtomicInteger();
+
+        assertThrows(IllegalStateException.class, () -> dispatcher.deliverOnce("Email", () -> {
+            attempts.incrementAndGet();
+            throw new IllegalStateException("gateway down");
+        }));
+
+        assertEquals(1, attempts.get());
+        assertEquals(0, dispatcher.getInFlight("Email"));
+    }
+
+    @Test
+    void channelLimit_ShouldMatchNamesIgnoringCase_AndFallBackToTheDefault() {
+        NotificationDispatcher dispatcher = new NotificationDispatcher(properties(Map.of("Email", 16)));
+
+        assertEquals(16, dispatcher.channelLimit("email"));
+        assertEquals(8, dispatcher.channelLimit("Phone"));
+    }
+
+    private static NotificationProperties properties(Map<String, Integer> channelConcurrency) {
+        NotificationProperties properties = new NotificationProperties();
+        properties.setChannelConcurrency(channelConcurrency);
+        return properties;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,182 @@
+package com.antajia.app.reservationapi;
+
+import com.antajia.app.reservationapi.dtos.ReservationDto;
+import com.antajia.app.reservationapi.events.ScheduledNotificationDueEvent;
+import com.antajia.app.reservationapi.models.ScheduledNotification;
+import com.antajia.app.reservationapi.repositories.ScheduledNotificationRepository;
+import com.antajia.app.reservationapi.services.ReservationService;
+import com.antajia.app.reservationapi.services.notifications.NotificationScheduler;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.event.EventListener;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = {
+        "reservation.notifications.scheduler-tick=10ms",
+        "reservation.notifications.scheduler-retry-delay=50ms",
+        "reservation.outbox.enabled=false",
+        "reservation.retention.enabled=false"
+})
+@ActiveProfiles("local")
+class NotificationSchedulerTests {
+
+    private static final Long RESERVATION_ID = 9_100_000_001L;
+
+    @Autowired
+    private NotificationScheduler scheduler;
+
+    @Autowired
+    private ScheduledNotificationRepository scheduledNotificationRepository;
+
+    @Autowired
+    private ReservationService reservationService;
+
+    @Autowired
+    private DueEvents dueEvents;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void clear() {
+        scheduler.cancelForReservation(RESERVATION_ID);
+        dueEvents.received.clear();
+    }
+
+    @AfterEach
+    void cleanUp() {
+        scheduler.cancelForReservation(RESERVATION_ID);
+    }
+
+    @Test
+    void schedule_ShouldPersistTheNotification_UntilItIsCancelled() {
+        long pending = scheduler.getPendingCount();
+
+        scheduler.schedule(RESERVATION_ID, "later", Instant.now().plusSeconds(3600));
+
+        assertEquals(1, countRows(RESERVATION_ID));
+        assertEquals(pending + 1, scheduler.getPendingCount());
+        assertEquals(1, scheduler.cancelForReservation(RESERVATION_ID));
+        assertEquals(0, countRows(RESERVATION_ID));
+    }
+
+    @Test
+    void cancelForReservation_ShouldKeepTheTimer_WhenTheTransactionRollsBack() {
+        scheduler.schedule(RESERVATION_ID, "kept", Instant.now().plusSeconds(3600));
+        long pending = scheduler.getPendingCount();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            scheduler.cancelForReservation(RESERVATION_ID);
+            assertEquals(pending, scheduler.getPendingCount());
+            status.setRollbackOnly();
+        });
+
+        assertEquals(1, countRows(RESERVATION_ID));
+        assertEquals(pending, scheduler.getPendingCount());
+
+        transactionTemplate.executeWithoutResult(status -> scheduler.cancelForReservation(RESERVATION_ID));
+
+        assertEquals(0, countRows(RESERVATION_ID));
+        assertEquals(pending - 1, scheduler.getPendingCount());
+    }
+
+    @Test
+    void fire_ShouldPublishOnce_AndDeleteTheRow() throws InterruptedException {
+        scheduler.schedule(RESERVATION_ID, "now", Instant.now());
+
+        ScheduledNotificationDueEvent event = dueEvents.received.poll(5, TimeUnit.SECONDS);
+
+        assertNotNull(event);
+        assertEquals("now", event.getMessage());
+        assertEquals(0, countRows(RESERVATION_ID));
+        assertNull(dueEvents.received.poll(200, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    void restore_ShouldFireNotificationsPersistedBeforeARestart() throws InterruptedException {
+        // Written straight to the table, as if by an instance that stopped before it was due.
+        scheduledNotificationRepository.save(new ScheduledNotification(RESERVATION_ID, "restored", Instant.now().minusSeconds(1)));
+
+        scheduler.restore();
+
+        ScheduledNotificationDueEvent event = dueEvents.received.poll(5, TimeUnit.SECONDS);
+        assertNotNull(event);
+        assertEquals("restored", event.getMessage());
+        assertEquals(0, countRows(RESERVATION_ID));
+    }
+
+    @Test
+    void fire_ShouldKeepTheRowAndRetry_WhenPublishingFails() throws InterruptedException {
+        dueEvents.failNext.set(true);
+
+        scheduler.schedule(RESERVATION_ID, "flaky", Instant.now());
+
+        ScheduledNotificationDueEvent event = dueEvents.received.poll(5, TimeUnit.SECONDS);
+        assertNotNull(event);
+        assertEquals("flaky", event.getMessage());
+        assertEquals(0, countRows(RESERVATION_ID));
+    }
+
+    @Test
+    void createReservation_ShouldScheduleItsReminder_AndDeleteShouldCancelIt() {
+        ReservationDto reservation = reservationService.createReservation(new ReservationDto("Reminder Guest",
+                "+639170000004", "reminder@test.com", LocalDate.now().plusDays(30), LocalTime.of(19, 0), 2, Set.of("Email")));
+        assertEquals(1, countRows(reservation.getId()));
+
+        assertTrue(reservationService.deleteReservation(reservation.getId()));
+
+        assertEquals(0, countRows(reservation.getId()));
+    }
+
+    private long countRows(Long reservationId) {
+        return scheduledNotificationRepository.findAll().stream()
+                .filter(notification -> notification.getReservationId().equals(reservationId))
+                .count();
+    }
+
+    @TestConfiguration
+    static class Config {
+
+        @Bean
+        DueEvents dueEvents() {
+            return new DueEvents();
+        }
+    }
+
+    static class DueEvents {
+
+        final BlockingQueue<ScheduledNotificationDueEvent> received = new LinkedBlockingQueue<>();
+        final AtomicBoolean failNext = new AtomicBoolean();
+
+        @EventListener
+        public void onDue(ScheduledNotificationDueEvent event) {
+            if (!RESERVATION_ID.equals(event.getReservationId())) {
+                return;
+            }
+            if (failNext.compareAndSet(true, false)) {
+                throw new IllegalStateException("Simulated failure");
+            }
+            received.add(event);
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.antajia.app.reservationapi;
+
+import com.antajia.app.reservationapi.config.NotificationProperties;
+import com.antajia.app.reservationapi.models.Reservation;
+import com.antajia.app.reservationapi.services.notifications.NotificationEvent;
+import com.antajia.app.reservationapi.services.notifications.NotificationTemplates;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class NotificationTemplatesTests {
+
+    private final Reservation reservation = new Reservation("Mark Daspat", "1234567890", "mark@chemistry.com",
+            LocalDate.of(2024, 12, 2), LocalTime.of(9, 5), 4, Set.of());
+
+    @Test
+    void render_ShouldMatchTheFormerStringFormatOutput() {
+        NotificationTemplates templates = new NotificationTemplates(new NotificationProperties());
+
+        assertEquals(String.format("Reservation confirmed for %s on %s at %s for %d guests.",
+                        reservation.getName(), reservation.getReservationDate(), reservation.getReservationTime(), reservation.getNumberOfGuests()),
+                templates.render(NotificationEvent.CREATED, reservation));
+        reservation.setReservationTime(LocalTime.of(21, 30, 15));
+        assertEquals("Reminder: Reservation confirmed for Mark Daspat on 2024-12-02 at 21:30:15 for 4 guests.",
+                templates.render(NotificationEvent.REMINDER, reservation));
+    }
+
+    @Test
+    void render_ShouldFallBackFromRegionToLanguageToBuiltIn() {
+        NotificationProperties properties = new NotificationProperties();
+        properties.setTemplates(Map.of("fil", Map.of(NotificationEvent.CREATED, "Kumpirmado: {name}, {date} {time}, {guests} bisita")));
+        NotificationTemplates templates = new NotificationTemplates(properties);
+
+        assertEquals("Kumpirmado: Mark Daspat, 2024-12-02 09:05, 4 bisita",
+                templates.render(NotificationEvent.CREATED, Locale.forLanguageTag("fil-PH"), reservation));
+        assertEquals("Reservation cancelled for Mark Daspat on 2024-12-02 at 09:05.",
+                templates.render(NotificationEvent.CANCELLED, Locale.forLanguageTag("fil-PH"), reservation));
+    }
+
+    @Test
+    void constructor_ShouldRejectUnknownPlaceholders() {
+        NotificationProperties properties = new NotificationProperties();
+        properties.setTemplates(Map.of("en", Map.of(NotificationEvent.CREATED, "Hello {nickname}")));
+
+        assertThrows(IllegalArgumentException.class, () -> new NotificationTemplates(properties));
+    }
+}
@@ -0,0 +1,155 @@
+package com.antajia.app.reservationapi;
+
+import com.antajia.app.reservationapi.dtos.ReservationDto;
+import com.antajia.app.reservationapi.models.OutboxEvent;
+import com.antajia.app.reservationapi.repositories.OutboxEventRepository;
+import com.antajia.app.reservationapi.services.OutboxRelay;
+import com.antajia.app.reservationapi.services.ReservationService;
+import com.antajia.app.reservationapi.services.notifications.NotificationEvent;
+import com.antajia.app.reservationapi.services.notifications.NotificationScheduler;
+import com.antajia.app.reservationapi.services.notifications.NotificationSender;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = {
+        "reservation.outbox.enabled=false",
+        "reservation.outbox.retry-backoff=0s",
+        "reservation.retention.enabled=false"
+})
+@ActiveProfiles("local")
+class OutboxRelayTests {
+
+    @Autowired
+    private OutboxRelay relay;
+
+    @Autowired
+    private ReservationService reservationService;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private NotificationScheduler notificationScheduler;
+
+    @SpyBean(name = "emailNotificationSender")
+    private NotificationSender emailSender;
+
+    private final List<Long> created = new ArrayList<>();
+
+    @BeforeEach
+    void clearOutbox() {
+        outboxEventRepository.deleteAll();
+    }
+
+    @AfterEach
+    void deleteReservations() {
+        created.forEach(reservationService::deleteReservation);
+        outboxEventRepository.deleteAll();
+    }
+
+    @Test
+    void drainBatch_ShouldDeliverEventsOfAReservationInOrder_AndDeleteThem() throws Exception {
+        ReservationDto reservation = create("Outbox Guest");
+        reservation.setNumberOfGuests(3);
+        reservationService.updateReservation(reservation.getId(), reservation, null);
+        assertEquals(List.of(NotificationEvent.CREATED, NotificationEvent.UPDATED), eventTypes(reservation.getId()));
+
+        // Only the oldest event of a reservation is claimable, so the update waits for the next drain.
+        assertEquals(1, relay.drainBatch());
+        assertEquals(List.of(NotificationEvent.UPDATED), eventTypes(reservation.getId()));
+        assertEquals(1, relay.drainBatch());
+        assertEquals(0, relay.drainBatch());
+
+        assertTrue(outboxEventRepository.findAll().isEmpty());
+        Mockito.verify(emailSender, Mockito.times(2)).send(Mockito.any(), Mockito.any());
+    }
+
+    @Test
+    void drainBatch_ShouldDeliverOneEventPerReservation_InASingleBatch() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            create("Batch Guest " + i);
+        }
+
+        assertEquals(5, relay.drainBatch());
+
+        assertTrue(outboxEventRepository.findAll().isEmpty());
+        Mockito.verify(emailSender, Mockito.times(5)).send(Mockito.any(), Mockito.any());
+    }
+
+    @Test
+    void drainBatch_ShouldKeepFailedEventForRetry() throws Exception {
+        Mockito.doThrow(new IllegalStateException("gateway down")).doCallRealMethod()
+                .when(emailSender).send(Mockito.any(), Mockito.any());
+        ReservationDto reservation = create("Retry Guest");
+
+        assertEquals(1, relay.drainBatch());
+        OutboxEvent failed = outboxEventRepository.findByReservationIdOrderByIdAsc(reservation.getId()).get(0);
+        assertEquals(1, failed.getAttempts());
+        assertEquals("gateway down", failed.getLastError());
+        assertNull(failed.getClaimedBy());
+
+        assertEquals(1, relay.drainBatch());
+        assertTrue(outboxEventRepository.findByReservationIdOrderByIdAsc(reservation.getId()).isEmpty());
+        Mockito.verify(emailSender, Mockito.times(2)).send(Mockito.any(), Mockito.any());
+    }
+
+    @Test
+    void drainBatch_ShouldGiveUpAtOnce_OnAChannelWithoutSender() throws Exception {
+        ReservationDto reservation = create("Phone Guest", "Phone");
+
+        assertEquals(1, relay.drainBatch());
+
+        assertTrue(outboxEventRepository.findByReservationIdOrderByIdAsc(reservation.getId()).isEmpty());
+        Mockito.verify(emailSender, Mockito.never()).send(Mockito.any(), Mockito.any());
+    }
+
+    @Test
+    void dueReminder_ShouldBeDeliveredThroughTheOutbox() throws Exception {
+        ReservationDto reservation = create("Reminder Guest");
+        assertEquals(1, relay.drainBatch());
+
+        notificationScheduler.schedule(reservation.getId(), "See you soon", Instant.now());
+        long deadline = System.nanoTime() + 5_000_000_000L;
+        while (eventTypes(reservation.getId()).isEmpty() && System.nanoTime() < deadline) {
+            Thread.sleep(20);
+        }
+        assertEquals(List.of(NotificationEvent.REMINDER), eventTypes(reservation.getId()));
+
+        assertEquals(1, relay.drainBatch());
+        Mockito.verify(emailSender).send(Mockito.any(), Mockito.eq("See you soon"));
+    }
+
+    private ReservationDto create(String name) {
+        return create(name, NotificationSender.EMAIL);
+    }
+
+    private ReservationDto create(String name, String contactMethod) {
+        ReservationDto reservation = reservationService.createReservation(new ReservationDto(name, "+639170000000",
+                "outbox@test.com", LocalDate.of(2031, 3, 14), LocalTime.of(19, 0), 2, Set.of(contactMethod)));
+        created.add(reservation.getId());
+        return reservation;
+    }
+
+    private List<NotificationEvent> eventTypes(Long reservationId) {
+        return outboxEventRepository.findByReservationIdOrderByIdAsc(reservationId).stream()
+                .map(OutboxEvent::getEventType)
+                .toList();
+    }
+}
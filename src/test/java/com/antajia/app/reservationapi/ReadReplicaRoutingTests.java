@@ -0,0 +1,198 @@
+package com.antajia.app.reservationapi;
+
+import com.antajia.app.reservationapi.config.CacheConfig;
+import com.antajia.app.reservationapi.dtos.ReservationDto;
+import com.antajia.app.reservationapi.models.Reservation;
+import com.antajia.app.reservationapi.repositories.ReservationRepository;
+import com.antajia.app.reservationapi.services.ReservationService;
+import com.antajia.app.reservationapi.utils.ReadWriteRoutingDataSource;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.not;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Runs against two in-memory H2 databases. H2 does not replicate, so each test starts by copying the primary into
+ * the replica, and anything written afterwards is "lag" the replica has not caught up with yet.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:read-replica-primary;DB_CLOSE_DELAY=-1",
+        "spring.datasource.username=sa",
+        "reservation.read-replicas.enabled=true",
+        "reservation.read-replicas.replicas[0].url=" + ReadReplicaRoutingTests.REPLICA_URL,
+        "reservation.read-replicas.replicas[0].username=sa",
+        "reservation.read-replicas.max-lag=30s",
+        "reservation.outbox.enabled=false",
+        "reservation.retention.enabled=false"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("local")
+class ReadReplicaRoutingTests {
+
+    static final String REPLICA_URL = "jdbc:h2:mem:read-replica-copy;DB_CLOSE_DELAY=-1";
+    private static final String WRITER = "10.3.0.1";
+    private static final String READER = "10.3.0.2";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private HikariDataSource primaryDataSource;
+
+    @Autowired
+    private ReservationService reservationService;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    private final JdbcTemplate replica = new JdbcTemplate(new DriverManagerDataSource(REPLICA_URL, "sa", ""));
+    private final List<Long> created = new ArrayList<>();
+
+    @BeforeEach
+    void replicate() throws IOException {
+        Path script = Files.createTempFile("replica", ".sql");
+        try {
+            String path = script.toAbsolutePath().toString().replace('\\', '/');
+            new JdbcTemplate(primaryDataSource).execute("SCRIPT TO '" + path + "'");
+            replica.execute("DROP ALL OBJECTS");
+            replica.execute("RUNSCRIPT FROM '" + path + "'");
+        } finally {
+            Files.deleteIfExists(script);
+        }
+    }
+
+    @AfterEach
+    void deleteReservations() {
+        created.forEach(reservationService::deleteReservation);
+    }
+
+    @Test
+    void readOnlyTransactions_ShouldReadTheReplica_WhileOtherWorkStaysOnThePrimary() {
+        replica.update("UPDATE reservations SET name = ? WHERE name = ?", "Replica Copy", "Zhack Ariya");
+
+        assertTrue(names(reservationService.getAllReservations()).contains("Replica Copy"));
+
+        List<String> primaryNames = transactionTemplate.execute(status -> reservationRepository.findAll().stream()
+                .map(Reservation::getName)
+                .toList());
+        assertTrue(primaryNames.contains("Zhack Ariya"));
+
+        try (ReadWriteRoutingDataSource.PrimaryScope ignored = ReadWriteRoutingDataSource.usePrimary()) {
+            assertTrue(names(reservationService.getAllReservations()).contains("Zhack Ariya"));
+        }
+    }
+
+    @Test
+    void reads_ShouldGoToThePrimary_ForAClientThatJustWrote() throws Exception {
+        ReservationDto reservation = new ReservationDto("Fresh Guest", "+639170000003", "replica@test.com",
+                LocalDate.of(2032, 9, 1), LocalTime.of(19, 0), 2, Set.of("Email"));
+
+        String body = mockMvc.perform(post("/api/reservations")
+                        .with(remoteAddress(WRITER))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(reservation)))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        created.add(objectMapper.readValue(body, ReservationDto.class).getId());
+
+        mockMvc.perform(get("/api/reservations").with(remoteAddress(WRITER)))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("Fresh Guest")));
+        mockMvc.perform(get("/api/reservations").with(remoteAddress(READER)))
+                .andExpect(status().isOk())
+                .andExpect(content().string(not(containsString("Fresh Guest"))));
+    }
+
+    @Test
+    void getById_ShouldNotCacheAReplicaRead_ThatTheWriterWouldThenBeServed() throws Exception {
+        Long id = reservationService.createReservation(new ReservationDto("Cached Guest", "+639170000007",
+                "cached@test.com", LocalDate.of(2032, 9, 3), LocalTime.of(19, 0), 2, Set.of("Email"))).getId();
+        created.add(id);
+        replicate();
+        cacheManager.getCache(CacheConfig.RESERVATIONS_CACHE).clear();
+
+        mockMvc.perform(patch("/api/reservations/" + id)
+                        .with(remoteAddress(WRITER))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\": \"Renamed Guest\"}"))
+                .andExpect(status().isOk());
+
+        // Another client misses the cache and reads the lagging replica.
+        mockMvc.perform(get("/api/reservations/" + id).with(remoteAddress(READER)))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("Cached Guest")));
+        mockMvc.perform(get("/api/reservations/" + id).with(remoteAddress(WRITER)))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("Renamed Guest")));
+    }
+
+    @Test
+    void clientIdHeader_ShouldNotPinAnotherClientToThePrimary() throws Exception {
+        ReservationDto reservation = new ReservationDto("Spoofed Guest", "+639170000005", "spoof@test.com",
+                LocalDate.of(2032, 9, 2), LocalTime.of(19, 0), 2, Set.of("Email"));
+
+        String body = mockMvc.perform(post("/api/reservations")
+                        .with(remoteAddress(WRITER))
+                        .header("X-Client-Id", "reader")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(reservation)))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        created.add(objectMapper.readValue(body, ReservationDto.class).getId());
+
+        // Headers are only trusted from configured proxies, so the write counts for the writer's address alone.
+        mockMvc.perform(get("/api/reservations").with(remoteAddress(READER)).header("X-Client-Id", "reader"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(not(containsString("Spoofed Guest"))));
+    }
+
+    private static RequestPostProcessor remoteAddress(String address) {
+        return request -> {
+            request.setRemoteAddr(address);
+            return request;
+        };
+    }
+
+    private static List<String> names(List<ReservationDto> reservations) {
+        return reservations.stream().map(ReservationDto::getName).toList();
+    }
+}
@@ -0,0 +1,103 @@
+package com.antajia.app.reservationapi;
+
+import com.antajia.app.reservationapi.dtos.DailyReportDto;
+import com.antajia.app.reservationapi.dtos.ReservationDto;
+import com.antajia.app.reservationapi.dtos.SlotReportDto;
+import com.antajia.app.reservationapi.services.ReservationAggregates;
+import com.antajia.app.reservationapi.services.ReservationService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = {
+        "reservation.outbox.enabled=false",
+        "reservation.retention.enabled=false"
+})
+@ActiveProfiles("local")
+class ReservationAggregatesTests {
+
+    private static final LocalDate DAY = LocalDate.of(2033, 5, 20);
+    private static final long OUTSIDE_ID = 9_000_000_001L;
+
+    @Autowired
+    private ReservationAggregates aggregates;
+
+    @Autowired
+    private ReservationService reservationService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final List<Long> created = new ArrayList<>();
+
+    @AfterEach
+    void cleanUp() {
+        created.forEach(reservationService::deleteReservation);
+        jdbcTemplate.update("DELETE FROM reservations WHERE id = ?", OUTSIDE_ID);
+        aggregates.reconcile();
+    }
+
+    @Test
+    void apply_ShouldTrackCreatesUpdatesAndDeletes_AndFlushMatchingTheRecount() {
+        ReservationDto dinner = create(LocalTime.of(19, 10), 4, Set.of("Email", "SMS"));
+        ReservationDto lunch = create(LocalTime.of(12, 0), 2, Set.of("SMS"));
+        ReservationDto cancelled = create(LocalTime.of(12, 15), 6, Set.of("Email"));
+        dinner.setNumberOfGuests(5);
+        dinner.setContactMethods(Set.of("Email"));
+        reservationService.updateReservation(dinner.getId(), dinner, null);
+        reservationService.deleteReservation(cancelled.getId());
+        created.remove(cancelled.getId());
+
+        DailyReportDto report = aggregates.getDays(DAY, DAY).get(0);
+        assertEquals(2, report.getReservations());
+        assertEquals(7, report.getGuests());
+        assertEquals(List.of(new SlotReportDto(LocalTime.of(12, 0), 1, 2), new SlotReportDto(LocalTime.of(19, 0), 1, 5)),
+                report.getSlots());
+        assertEquals(Map.of("Email", 1L, "SMS", 1L), report.getContactMethods());
+
+        aggregates.flush();
+        assertEquals(0, aggregates.getPendingCount());
+        // The flushed table and the in-memory counters agree with a full recount.
+        assertEquals(0, aggregates.reconcile());
+        assertEquals(report, aggregates.getDays(DAY, DAY).get(0));
+        assertEquals(2, jdbcTemplate.queryForObject("SELECT reservations FROM reservation_aggregates " +
+                "WHERE reservation_date = ? AND kind = 'DAY'", Long.class, DAY));
+        assertEquals(0, aggregates.getDays(DAY.plusDays(1), DAY.plusDays(1)).get(0).getReservations());
+    }
+
+    @Test
+    void reconcile_ShouldCorrectDrift_FromRowsWrittenAroundTheService() {
+        create(LocalTime.of(20, 0), 2, Set.of("Email"));
+        jdbcTemplate.update("INSERT INTO reservations (id, name, reservation_date, reservation_time, number_of_guests, version) " +
+                "VALUES (?, 'Walk In', ?, ?, 3, 0)", OUTSIDE_ID, DAY, LocalTime.of(20, 5));
+        assertEquals(1, aggregates.getDays(DAY, DAY).get(0).getReservations());
+
+        assertTrue(aggregates.reconcile() > 0);
+
+        DailyReportDto report = aggregates.getDays(DAY, DAY).get(0);
+        assertEquals(2, report.getReservations());
+        assertEquals(5, report.getGuests());
+        assertEquals(List.of(new SlotReportDto(LocalTime.of(20, 0), 2, 5)), report.getSlots());
+        assertEquals(0, aggregates.reconcile());
+    }
+
+    private ReservationDto create(LocalTime time, int guests, Set<String> contactMethods) {
+        ReservationDto reservation = reservationService.createReservation(new ReservationDto("Aggregate Guest",
+                "+639170000001", "aggregates@test.com", DAY, time, guests, contactMethods));
+        created.add(reservation.getId());
+        return reservation;
+    }
+}
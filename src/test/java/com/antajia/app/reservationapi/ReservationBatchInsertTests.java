@@ -0,0 +1,173 @@
+package com.antajia.app.reservationapi;
+
+import com.antajia.app.reservationapi.dtos.BatchItemResultDto;
+import com.antajia.app.reservationapi.dtos.ReservationDto;
+import com.antajia.app.reservationapi.services.ReservationService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Asserts that a bulk create writes each table with one JDBC batch, counted at the connection, so statements
+ * issued through JdbcTemplate are seen as well as Hibernate's.
+ */
+@SpringBootTest(properties = {
+        "reservation.outbox.enabled=false",
+        "reservation.retention.enabled=false"
+})
+@ActiveProfiles("local")
+class ReservationBatchInsertTests {
+
+    private static final int RESERVATIONS = 30;
+
+    @Autowired
+    private ReservationService reservationService;
+
+    private final List<Long> created = new ArrayList<>();
+
+    @AfterEach
+    void deleteReservations() {
+        created.forEach(reservationService::deleteReservation);
+    }
+
+    @Test
+    void createReservations_ShouldWriteEachTableInOneJdbcBatch() {
+        List<ReservationDto> reservations = new ArrayList<>();
+        for (int i = 0; i < RESERVATIONS; i++) {
+            reservations.add(new ReservationDto("Batch Guest " + i, "+63917000" + (1000 + i), "batch" + i + "@test.com",
+                    LocalDate.now().plusDays(60 + i), LocalTime.of(18, 30), 2, Set.of("Email")));
+        }
+
+        StatementLog.start();
+        List<BatchItemResultDto> results;
+        try {
+            results = reservationService.createReservations(reservations);
+        } finally {
+            StatementLog.stop();
+        }
+        results.forEach(result -> created.add(result.getReservation().getId()));
+
+        assertTrue(results.stream().allMatch(BatchItemResultDto::isCreated));
+        for (String table : List.of("reservations", "reservation_outbox", "scheduled_notifications")) {
+            String insert = "insert into " + table + " ";
+            assertEquals(1, StatementLog.count("prepare", insert), "prepared inserts into " + table);
+            assertEquals(1, StatementLog.count("batch", insert), "batches into " + table);
+            assertEquals(0, StatementLog.count("execute", insert), "single-row inserts into " + table);
+        }
+    }
+
+    @TestConfiguration
+    static class Config {
+
+        @Bean
+        static BeanPostProcessor statementLoggingDataSource() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    return bean instanceof DataSource dataSource && !(bean instanceof StatementLog)
+                            ? new StatementLog(dataSource) : bean;
+                }
+            };
+        }
+    }
+
+    /**
+     * Records, for the thread between {@link #start()} and {@link #stop()}, every statement prepared and how it was
+     * executed.
+     */
+    static class StatementLog extends DelegatingDataSource {
+
+        private static final ThreadLocal<Boolean> RECORDING = new ThreadLocal<>();
+        private static final List<String> ENTRIES = new ArrayList<>();
+
+        StatementLog(DataSource target) {
+            super(target);
+        }
+
+        static synchronized void start() {
+            ENTRIES.clear();
+            RECORDING.set(Boolean.TRUE);
+        }
+
+        static void stop() {
+            RECORDING.remove();
+        }
+
+        static synchronized long count(String kind, String sqlPrefix) {
+            return ENTRIES.stream().filter(entry -> entry.startsWith(kind + ":" + sqlPrefix)).count();
+        }
+
+        private static synchronized void record(String kind, String sql) {
+            if (RECORDING.get() != null) {
+                ENTRIES.add(kind + ":" + sql.trim().toLowerCase(Locale.ROOT));
+            }
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            return logging(super.getConnection());
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            return logging(super.getConnection(username, password));
+        }
+
+        private static Connection logging(Connection connection) {
+            return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                    (proxy, method, args) -> {
+                        Object result = invoke(connection, method, args);
+                        if (method.getName().equals("prepareStatement") && result instanceof PreparedStatement statement) {
+                            String sql = (String) args[0];
+                            record("prepare", sql);
+                            return logging(statement, sql);
+                        }
+                        return result;
+                    });
+        }
+
+        private static PreparedStatement logging(PreparedStatement statement, String sql) {
+            return (PreparedStatement) Proxy.newProxyInstance(PreparedStatement.class.getClassLoader(),
+                    new Class<?>[]{PreparedStatement.class}, (proxy, method, args) -> {
+                        switch (method.getName()) {
+                            case "executeBatch", "executeLargeBatch" -> record("batch", sql);
+                            case "execute", "executeUpdate", "executeLargeUpdate" -> record("execute", sql);
+                            default -> {
+                            }
+                        }
+                        return invoke(statement, method, args);
+                    });
+        }
+
+        private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.antajia.app.reservationapi;
+
+import com.antajia.app.reservationapi.dtos.ReservationDto;
+import com.antajia.app.reservationapi.services.ReservationChangeFeed;
+import com.antajia.app.reservationapi.services.ReservationService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.fail;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+@SpringBootTest(properties = {
+        "reservation.outbox.enabled=false",
+        "reservation.retention.enabled=false"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("local")
+class ReservationChangeFeedTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ReservationChangeFeed changeFeed;
+
+    @Autowired
+    private ReservationService reservationService;
+
+    private final List<Long> created = new ArrayList<>();
+
+    @AfterEach
+    void deleteReservations() {
+        created.forEach(reservationService::deleteReservation);
+    }
+
+    @Test
+    void streamChanges_ShouldReplayMissedChanges_ThenPushLiveOnes() throws Exception {
+        long before = changeFeed.getLastEventId();
+        ReservationDto missed = create("Missed Guest");
+
+        MockHttpServletResponse response = subscribe(changeFeed.formatEventId(before));
+        awaitContent(response, "id:" + changeFeed.formatEventId(before + 1) + "\nevent:created\n", "Missed Guest");
+
+        missed.setNumberOfGuests(3);
+        reservationService.updateReservation(missed.getId(), missed, null);
+        awaitContent(response, "id:" + changeFeed.formatEventId(before + 2) + "\nevent:updated\n");
+        reservationService.deleteReservation(missed.getId());
+        created.remove(missed.getId());
+        awaitContent(response, "id:" + changeFeed.formatEventId(before + 3) + "\nevent:deleted\n");
+    }
+
+    @Test
+    void streamChanges_ShouldSendReset_WhenTheLastEventIdIsNotBuffered() throws Exception {
+        MockHttpServletResponse response = subscribe(changeFeed.formatEventId(Long.MAX_VALUE - 1));
+
+        awaitContent(response, "event:" + ReservationChangeFeed.RESET_EVENT + "\n");
+    }
+
+    @Test
+    void streamChanges_ShouldSendReset_ForAnIdFromBeforeARestart() throws Exception {
+        create("Restart Guest");
+        long last = changeFeed.getLastEventId();
+        // Same sequence number as a buffered event, but issued by an earlier process.
+        String previousRun = "1-" + (last - 1);
+
+        MockHttpServletResponse response = subscribe(previousRun);
+
+        awaitContent(response, "id:" + changeFeed.formatEventId(last) + "\nevent:" + ReservationChangeFeed.RESET_EVENT + "\n");
+    }
+
+    private MockHttpServletResponse subscribe(String lastEventId) throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/reservations/changes")
+                        .accept(MediaType.TEXT_EVENT_STREAM)
+                        .header(ReservationChangeFeed.LAST_EVENT_ID_HEADER, lastEventId))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return result.getResponse();
+    }
+
+    private ReservationDto create(String name) {
+        ReservationDto reservation = reservationService.createReservation(new ReservationDto(name, "+639170000002",
+                "changes@test.com", LocalDate.of(2032, 8, 1), LocalTime.of(18, 0), 2, Set.of("Email")));
+        created.add(reservation.getId());
+        return reservation;
+    }
+
+    private static void awaitContent(MockHttpServletResponse response, String... expected) throws Exception {
+        long deadline = System.nanoTime() + 5_000_000_000L;
+        String content = "";
+        while (System.nanoTime() < deadline) {
+            content = response.getContentAsString();
+            if (List.of(expected).stream().allMatch(content::contains)) {
+                return;
+            }
+            Thread.sleep(20);
+        }
+        fail("Stream never contained " + List.of(expected) + ", got: " + content);
+    }
+}
@@ -1,30 +1,55 @@
 package com.antajia.app.reservationapi;
 
+import com.antajia.app.reservationapi.config.ContentNegotiationConfig;
 import com.antajia.app.reservationapi.controllers.ReservationController;
+import com.antajia.app.reservationapi.dtos.BatchItemResultDto;
+import com.antajia.app.reservationapi.dtos.DailyReportDto;
 import com.antajia.app.reservationapi.dtos.ReservationDto;
-import com.antajia.app.reservationapi.services.NotificationService;
+import com.antajia.app.reservationapi.dtos.ReservationPage;
+import com.antajia.app.reservationapi.dtos.SlotAvailabilityDto;
+import com.antajia.app.reservationapi.dtos.SlotReportDto;
+import com.antajia.app.reservationapi.exceptions.StaleReservationException;
+import com.antajia.app.reservationapi.exceptions.UnknownContactMethodException;
+import com.antajia.app.reservationapi.services.IdempotencyStore;
+import com.antajia.app.reservationapi.services.ReservationAggregates;
+import com.antajia.app.reservationapi.services.ReservationChangeFeed;
 import com.antajia.app.reservationapi.services.ReservationService;
+import com.antajia.app.reservationapi.services.SlotOccupancyIndex;
+import com.antajia.app.reservationapi.utils.ClientIdResolver;
+import com.antajia.app.reservationapi.utils.ReservationCursor;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.context.TestConfiguration;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.time.LocalDate;
 import java.time.LocalTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(ReservationController.class)
+@Import({ContentNegotiationConfig.class, IdempotencyStore.class})
 public class ReservationControllerTests {
     @Autowired
     private MockMvc mockMvc;
@@ -33,7 +58,13 @@ public class ReservationControllerTests {
     private ReservationService reservationService;
 
     @MockBean
-    private NotificationService notificationService;
+    private SlotOccupancyIndex slotOccupancyIndex;
+
+    @MockBean
+    private ReservationAggregates aggregates;
+
+    @MockBean
+    private ReservationChangeFeed changeFeed;
 
     @Autowired
     private ObjectMapper objectMapper;
@@ -48,13 +79,120 @@ public class ReservationControllerTests {
                 new ReservationDto("James Hetfield", "0987654321", "james@metalworld.com", LocalDate.of(2024, 12, 25), LocalTime.of(10, 30), 2, Set.of("Email"))
         );
 
-        when(reservationService.getAllReservations()).thenReturn(reservations);
+        when(reservationService.getReservationPage(Mockito.any(ReservationCursor.class), Mockito.anyInt()))
+                .thenReturn(new ReservationPage(reservations, null));
 
         mockMvc.perform(get("/api/reservations")
                         .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("X-Next-Cursor"))
+                .andExpect(content().json(objectMapper.writeValueAsString(reservations)));
+    }
+
+    @Test
+    public void getAllReservations_ShouldReturnNextCursor_WhenMorePagesExist() throws Exception {
+        ReservationDto reservation = new ReservationDto("Karl Roy", "1234567890", "karl@pot.com", LocalDate.of(2024, 11, 22), LocalTime.of(12, 30), 4, Set.of("SMS"));
+        reservation.setId(7L);
+        ReservationCursor next = ReservationCursor.after(ReservationCursor.SortKey.RESERVATION_DATE, reservation);
+
+        when(reservationService.getReservationPage(Mockito.any(ReservationCursor.class), Mockito.eq(1)))
+                .thenReturn(new ReservationPage(List.of(reservation), next));
+
+        mockMvc.perform(get("/api/reservations?limit=1&sort=reservation_date")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Next-Cursor", next.encode()))
+                .andExpect(content().json(objectMapper.writeValueAsString(List.of(reservation))));
+    }
+
+    @Test
+    public void getAllReservations_ShouldReturnBadRequest_WhenCursorIsMalformed() throws Exception {
+        mockMvc.perform(get("/api/reservations?cursor=not-a-cursor")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+    }
+    //endregion
+
+    //region GET Range Test
+    @Test
+    public void getReservationsInRange_ShouldReturnReservationsAndNextPage() throws Exception {
+        List<ReservationDto> reservations = List.of(
+                new ReservationDto("Karl Roy", "1234567890", "karl@pot.com", LocalDate.of(2025, 1, 12), LocalTime.of(19, 30), 4, Set.of("SMS")));
+
+        when(reservationService.getReservationsInRange(Mockito.eq(LocalDate.of(2025, 1, 12)), Mockito.eq(LocalDate.of(2025, 1, 18)),
+                Mockito.eq(LocalTime.of(18, 0)), Mockito.eq(LocalTime.of(22, 0)), Mockito.any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(reservations, Pageable.ofSize(1), true));
+
+        mockMvc.perform(get("/api/reservations/range?from=2025-01-12&to=2025-01-18&start_time=18:00&end_time=22:00&size=1")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Next-Page", "1"))
+                .andExpect(content().json(objectMapper.writeValueAsString(reservations)));
+    }
+
+    @Test
+    public void getReservationsInRange_ShouldReturnBadRequest_WhenRangeIsInverted() throws Exception {
+        mockMvc.perform(get("/api/reservations/range?from=2025-01-18&to=2025-01-12")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+    }
+    //endregion
+
+    //region GET Availability Test
+    @Test
+    public void getAvailability_ShouldReturnSlotCapacity() throws Exception {
+        SlotAvailabilityDto availability = new SlotAvailabilityDto(LocalDate.of(2025, 1, 12), LocalTime.of(18, 30), 40, 12, 28);
+        when(slotOccupancyIndex.getAvailability(LocalDate.of(2025, 1, 12), LocalTime.of(18, 45))).thenReturn(availability);
+
+        mockMvc.perform(get("/api/reservations/availability?date=2025-01-12&time=18:45")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(content().json(objectMapper.writeValueAsString(availability)));
+    }
+    //endregion
+
+    //region GET Daily Report Test
+    @Test
+    public void getDailyReport_ShouldReturnCountersOfEachDay() throws Exception {
+        List<DailyReportDto> report = List.of(new DailyReportDto(LocalDate.of(2025, 1, 12), 3, 10,
+                List.of(new SlotReportDto(LocalTime.of(18, 30), 3, 10)), Map.of("SMS", 2L, "Email", 1L)));
+        when(aggregates.getDays(LocalDate.of(2025, 1, 12), LocalDate.of(2025, 1, 12))).thenReturn(report);
+
+        mockMvc.perform(get("/api/reservations/reports/daily?from=2025-01-12&to=2025-01-12")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(content().json(objectMapper.writeValueAsString(report)));
+    }
+
+    @Test
+    public void getDailyReport_ShouldReturnBadRequest_WhenRangeIsTooLong() throws Exception {
+        mockMvc.perform(get("/api/reservations/reports/daily?from=2020-01-01&to=2025-01-01"))
+                .andExpect(status().isBadRequest());
+        Mockito.verifyNoInteractions(aggregates);
+    }
+
+    //endregion
+
+    //region GET Search Test
+    @Test
+    public void searchReservations_ShouldReturnMatches_WithCappedLimit() throws Exception {
+        List<ReservationDto> reservations = List.of(
+                new ReservationDto("Karl Roy", "1234567890", "karl@pot.com", LocalDate.of(2025, 1, 12), LocalTime.of(19, 30), 4, Set.of("SMS")));
+
+        when(reservationService.searchReservations("karl", 100)).thenReturn(reservations);
+
+        mockMvc.perform(get("/api/reservations/search?q=karl&limit=1000")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
                 .andExpect(content().json(objectMapper.writeValueAsString(reservations)));
     }
+
+    @Test
+    public void searchReservations_ShouldReturnBadRequest_WhenQueryIsBlank() throws Exception {
+        mockMvc.perform(get("/api/reservations/search").param("q", " ")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+    }
     //endregion
 
     //region GET Test
@@ -70,6 +208,37 @@ public class ReservationControllerTests {
                 .andExpect(content().json(objectMapper.writeValueAsString(reservation)));
     }
 
+    @Test
+    public void getReservationById_ShouldReturnNotModified_WhenETagMatches() throws Exception {
+        ReservationDto reservation = new ReservationDto("Mark Daspat", "1234567890", "mark@chemistry.com", LocalDate.of(2024, 12, 22), LocalTime.of(11, 30), 4, Set.of("SMS"));
+        reservation.setVersion(3L);
+        when(reservationService.getReservationById(1L)).thenReturn(Optional.of(reservation));
+
+        mockMvc.perform(get("/api/reservations/1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"3\""));
+
+        mockMvc.perform(get("/api/reservations/1")
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"3\""))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    public void getReservationById_ShouldReturnCbor_WhenAccepted() throws Exception {
+        ReservationDto reservation = new ReservationDto("Mark Daspat", "1234567890", "mark@chemistry.com", LocalDate.of(2024, 12, 22), LocalTime.of(11, 30), 4, Set.of("SMS"));
+        when(reservationService.getReservationById(1L)).thenReturn(Optional.of(reservation));
+
+        byte[] body = mockMvc.perform(get("/api/reservations/1")
+                        .accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andExpect(header().string(HttpHeaders.VARY, containsString(HttpHeaders.ACCEPT)))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        assertEquals(objectMapper.readTree(objectMapper.writeValueAsString(reservation)), new CBORMapper().readTree(body));
+    }
+
     @Test
     public void getReservationById_ShouldReturnNotFound_WhenReservationDoesNotExist() throws Exception {
 
@@ -97,6 +266,111 @@ public class ReservationControllerTests {
                 .andExpect(status().isCreated())
                 .andExpect(content().json(objectMapper.writeValueAsString(createdReservation)));
     }
+
+    @Test
+    public void createReservation_ShouldReturnBadRequest_WhenContactMethodIsUnknown() throws Exception {
+        ReservationDto reservation = new ReservationDto("Zhack Ariya", "1234567890", "zhacky@test.com", LocalDate.of(2025, 12, 12), LocalTime.of(12, 12), 4, Set.of("Pigeon"));
+
+        when(reservationService.createReservation(Mockito.any(ReservationDto.class)))
+                .thenThrow(new UnknownContactMethodException(Set.of("Pigeon")));
+
+        mockMvc.perform(post("/api/reservations")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(reservation)))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void createReservation_ShouldReplayResponse_WhenIdempotencyKeyIsRepeated() throws Exception {
+        ReservationDto reservation = new ReservationDto("Zhack Ariya", "1234567890", "zhacky@test.com", LocalDate.of(2025, 12, 12), LocalTime.of(12, 12), 4, Set.of("SMS"));
+        ReservationDto createdReservation = new ReservationDto("Zhack Ariya", "1234567890", "zhacky@test.com", LocalDate.of(2025, 12, 12), LocalTime.of(12, 12), 4, Set.of("SMS"));
+        createdReservation.setId(42L);
+
+        when(reservationService.createReservation(Mockito.any(ReservationDto.class))).thenReturn(createdReservation);
+
+        mockMvc.perform(post("/api/reservations")
+                        .header(IdempotencyStore.IDEMPOTENCY_KEY_HEADER, "retry-me")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(reservation)))
+                .andExpect(status().isCreated())
+                .andExpect(header().doesNotExist(IdempotencyStore.REPLAYED_HEADER));
+        mockMvc.perform(post("/api/reservations")
+                        .header(IdempotencyStore.IDEMPOTENCY_KEY_HEADER, "retry-me")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(reservation)))
+                .andExpect(status().isCreated())
+                .andExpect(header().string(IdempotencyStore.REPLAYED_HEADER, "true"))
+                .andExpect(content().json(objectMapper.writeValueAsString(createdReservation)));
+
+        Mockito.verify(reservationService, Mockito.times(1)).createReservation(Mockito.any(ReservationDto.class));
+    }
+
+    @Test
+    public void createReservation_ShouldReturnUnprocessableEntity_WhenIdempotencyKeyIsReusedWithAnotherBody() throws Exception {
+        ReservationDto reservation = new ReservationDto("Zhack Ariya", "1234567890", "zhacky@test.com", LocalDate.of(2025, 12, 12), LocalTime.of(12, 12), 4, Set.of("SMS"));
+        ReservationDto other = new ReservationDto("Zhack Ariya", "1234567890", "zhacky@test.com", LocalDate.of(2025, 12, 12), LocalTime.of(12, 12), 6, Set.of("SMS"));
+
+        when(reservationService.createReservation(Mockito.any(ReservationDto.class))).thenReturn(reservation);
+
+        mockMvc.perform(post("/api/reservations")
+                        .header(IdempotencyStore.IDEMPOTENCY_KEY_HEADER, "reused")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(reservation)))
+                .andExpect(status().isCreated());
+        mockMvc.perform(post("/api/reservations")
+                        .header(IdempotencyStore.IDEMPOTENCY_KEY_HEADER, "reused")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(other)))
+                .andExpect(status().isUnprocessableEntity());
+    }
+
+    @Test
+    public void createReservation_ShouldKeepIdempotencyKeysOfDifferentClientsApart() throws Exception {
+        ReservationDto reservation = new ReservationDto("Zhack Ariya", "1234567890", "zhacky@test.com", LocalDate.of(2025, 12, 12), LocalTime.of(12, 12), 4, Set.of("SMS"));
+        ReservationDto createdReservation = new ReservationDto("Zhack Ariya", "1234567890", "zhacky@test.com", LocalDate.of(2025, 12, 12), LocalTime.of(12, 12), 4, Set.of("SMS"));
+        createdReservation.setId(42L);
+
+        when(reservationService.createReservation(Mockito.any(ReservationDto.class))).thenReturn(createdReservation);
+
+        mockMvc.perform(post("/api/reservations")
+                        .with(request -> {
+                            request.setRemoteAddr("10.0.0.1");
+                            return request;
+                        })
+                        .header(IdempotencyStore.IDEMPOTENCY_KEY_HEADER, "shared")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(reservation)))
+                .andExpect(status().isCreated());
+        mockMvc.perform(post("/api/reservations")
+                        .with(request -> {
+                            request.setRemoteAddr("10.0.0.2");
+                            return request;
+                        })
+                        .header(IdempotencyStore.IDEMPOTENCY_KEY_HEADER, "shared")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(reservation)))
+                .andExpect(status().isCreated())
+                .andExpect(header().doesNotExist(IdempotencyStore.REPLAYED_HEADER));
+
+        Mockito.verify(reservationService, Mockito.times(2)).createReservation(Mockito.any(ReservationDto.class));
+    }
+
+    @Test
+    public void createReservations_ShouldReturnMultiStatus_WhenSomeItemsAreRejected() throws Exception {
+        ReservationDto valid = new ReservationDto("Zhack Ariya", "1234567890", "zhacky@test.com", LocalDate.of(2025, 12, 12), LocalTime.of(12, 12), 4, Set.of("SMS"));
+        ReservationDto invalid = new ReservationDto(null, "1234567890", "zhacky@test.com", LocalDate.of(2025, 12, 12), LocalTime.of(12, 12), 4, Set.of("SMS"));
+        List<BatchItemResultDto> results = List.of(
+                BatchItemResultDto.created(0, valid),
+                BatchItemResultDto.rejected(1, "name is required"));
+
+        when(reservationService.createReservations(Mockito.anyList())).thenReturn(results);
+
+        mockMvc.perform(post("/api/reservations/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(valid, invalid))))
+                .andExpect(status().isMultiStatus())
+                .andExpect(content().json(objectMapper.writeValueAsString(results)));
+    }
     //endregion
 
     //region PUT Test
@@ -104,7 +378,7 @@ public class ReservationControllerTests {
     public void updateReservation_ShouldReturnUpdatedReservation() throws Exception {
         // Arrange
         ReservationDto updatedReservation = new ReservationDto("Zhack Alawi", "1234567890", "zhacky@test.com", LocalDate.now(), LocalTime.now(), 5, Set.of("Email"));
-        when(reservationService.updateReservation(Mockito.eq(1L), Mockito.any(ReservationDto.class)))
+        when(reservationService.updateReservation(Mockito.eq(1L), Mockito.any(ReservationDto.class), Mockito.isNull()))
                 .thenReturn(Optional.of(updatedReservation));
 
         // Act & Assert
@@ -115,9 +389,27 @@ public class ReservationControllerTests {
                 .andExpect(content().json(objectMapper.writeValueAsString(updatedReservation)));
     }
 
+    @Test
+    public void updateReservation_ShouldReturnPreconditionFailed_WhenIfMatchIsStale() throws Exception {
+        when(reservationService.updateReservation(Mockito.eq(1L), Mockito.any(ReservationDto.class), Mockito.eq(2L)))
+                .thenThrow(new StaleReservationException(1L));
+
+        mockMvc.perform(put("/api/reservations/1")
+                        .header(HttpHeaders.IF_MATCH, "\"2\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new ReservationDto())))
+                .andExpect(status().isPreconditionFailed());
+
+        mockMvc.perform(put("/api/reservations/1")
+                        .header(HttpHeaders.IF_MATCH, "W/\"2\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new ReservationDto())))
+                .andExpect(status().isPreconditionFailed());
+    }
+
     @Test
     public void updateReservation_ShouldReturnNotFound_WhenReservationDoesNotExist() throws Exception {
-        when(reservationService.updateReservation(Mockito.eq(1L), Mockito.any(ReservationDto.class))).thenReturn(Optional.empty());
+        when(reservationService.updateReservation(Mockito.eq(1L), Mockito.any(ReservationDto.class), Mockito.isNull())).thenReturn(Optional.empty());
 
         mockMvc.perform(put("/api/reservations/1")
                         .contentType(MediaType.APPLICATION_JSON)
@@ -125,6 +417,23 @@ public class ReservationControllerTests {
                 .andExpect(status().isNotFound());
     }
 
+    @Test
+    public void patchReservation_ShouldPassMergePatchThrough() throws Exception {
+        ReservationDto patchedReservation = new ReservationDto("Zhack Alawi", "1234567890", "zhacky@test.com", LocalDate.of(2025, 12, 12), LocalTime.of(12, 12), 6, Set.of("Email"));
+        patchedReservation.setVersion(4L);
+        when(reservationService.patchReservation(Mockito.eq(1L),
+                Mockito.eq(objectMapper.readTree("{\"number_of_guests\": 6}")), Mockito.eq(3L)))
+                .thenReturn(Optional.of(patchedReservation));
+
+        mockMvc.perform(patch("/api/reservations/1")
+                        .header(HttpHeaders.IF_MATCH, "\"3\"")
+                        .contentType("application/merge-patch+json")
+                        .content("{\"number_of_guests\": 6}"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"4\""))
+                .andExpect(content().json(objectMapper.writeValueAsString(patchedReservation)));
+    }
+
     //endregion
 
     //region DELETE Test
@@ -147,4 +456,13 @@ public class ReservationControllerTests {
     }
 
     //endregion
+
+    @TestConfiguration
+    static class Config {
+
+        @Bean
+        ClientIdResolver clientIdResolver() {
+            return new ClientIdResolver("X-Client-Id", List.of());
+        }
+    }
 }
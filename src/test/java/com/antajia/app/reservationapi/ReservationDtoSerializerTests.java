@@ -0,0 +1,46 @@
+package com.antajia.app.reservationapi;
+
+import com.antajia.app.reservationapi.dtos.ReservationDto;
+import com.antajia.app.reservationapi.dtos.ReservationDtoSerializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * The hand-written serializer must produce byte-for-byte what reflective Jackson produces from the DTO.
+ */
+class ReservationDtoSerializerTests {
+
+    private final ObjectMapper reflectiveMapper = Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+    private final ObjectMapper streamingMapper = Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .serializers(new ReservationDtoSerializer())
+            .build();
+
+    @Test
+    void serialize_ShouldMatchReflectiveOutput() throws Exception {
+        ReservationDto complete = new ReservationDto(42L, "Mark Daspat", "+639171234567", "mark@chemistry.com",
+                LocalDate.of(2024, 12, 2), LocalTime.of(9, 5), 4);
+        complete.setContactMethods(Set.of("Email", "SMS"));
+        ReservationDto withSeconds = new ReservationDto(7L, "Zhack \"Z\" Ariya", null, "z@test.com",
+                LocalDate.of(987, 1, 31), LocalTime.of(23, 59, 59), 1);
+        withSeconds.setContactMethods(Set.of());
+        ReservationDto withNanos = new ReservationDto(8L, "Ana", "1", "a@test.com",
+                LocalDate.of(2025, 6, 1), LocalTime.of(18, 0, 0, 500_000_000), 2);
+        ReservationDto empty = new ReservationDto();
+
+        for (ReservationDto reservation : List.of(complete, withSeconds, withNanos, empty)) {
+            assertEquals(reflectiveMapper.writeValueAsString(reservation), streamingMapper.writeValueAsString(reservation));
+        }
+    }
+}
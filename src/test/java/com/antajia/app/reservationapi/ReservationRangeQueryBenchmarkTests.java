@@ -0,0 +1,92 @@
+package com.antajia.app.reservationapi;
+
+import com.antajia.app.reservationapi.services.ReservationService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Shows that date range and time window queries stay flat as the reservations table grows, because they are
+ * index range scans on idx_reservations_date_time. Run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+@SpringBootTest
+@ActiveProfiles("local")
+@TestPropertySource(properties = "spring.jpa.show-sql=false")
+class ReservationRangeQueryBenchmarkTests {
+
+    private static final int[] TABLE_SIZES = {10_000, 100_000, 1_000_000, 3_000_000};
+    private static final int DAYS = 3 * 365;
+    private static final int ITERATIONS = 200;
+    private static final long ID_OFFSET = 1_000_000_000L;
+
+    @Autowired
+    private ReservationService reservationService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void rangeQueries_ShouldStayFlat_AsTableGrows() {
+        LocalDate from = LocalDate.of(2025, 6, 1);
+        PageRequest page = PageRequest.of(0, 50, Sort.by("reservationDate", "reservationTime", "id"));
+        int inserted = 0;
+
+        System.out.printf("%12s %16s %16s%n", "rows", "week p50 (us)", "window p50 (us)");
+        for (int size : TABLE_SIZES) {
+            insertRows(inserted, size);
+            inserted = size;
+
+            long weekMicros = medianMicros(() -> reservationService.getReservationsInRange(from, from.plusDays(6), null, null, page));
+            long windowMicros = medianMicros(() -> reservationService.getReservationsInRange(from, from.plusDays(6),
+                    LocalTime.of(18, 0), LocalTime.of(22, 0), page));
+            System.out.printf("%12d %16d %16d%n", size, weekMicros, windowMicros);
+        }
+
+        List<String> plan = jdbcTemplate.queryForList("EXPLAIN SELECT id FROM reservations " +
+                "WHERE reservation_date BETWEEN DATE '2025-06-01' AND DATE '2025-06-07' " +
+                "AND reservation_time BETWEEN TIME '18:00:00' AND TIME '22:00:00'", String.class);
+        assertTrue(plan.get(0).toUpperCase().contains("IDX_RESERVATIONS_DATE_TIME"), plan.get(0));
+    }
+
+    /**
+     * Generates rows with set-based SQL; dates are spread over three years and times over the opening hours.
+     */
+    private void insertRows(int fromRow, int toRow) {
+        jdbcTemplate.update("INSERT INTO reservations " +
+                        "(id, name, phone_number, email, reservation_date, reservation_time, number_of_guests) " +
+                        "SELECT ? + X, 'Guest ' || X, '+63900' || X, 'guest' || X || '@test.com', " +
+                        "DATEADD('DAY', MOD(X, ?), DATE '2024-01-01'), " +
+                        "DATEADD('MINUTE', MOD(X, 24) * 30, TIME '11:00:00'), 1 + MOD(X, 8) " +
+                        "FROM SYSTEM_RANGE(?, ?)",
+                ID_OFFSET, DAYS, fromRow + 1, toRow);
+        jdbcTemplate.execute("ANALYZE");
+    }
+
+    private static long medianMicros(Runnable query) {
+        for (int i = 0; i < ITERATIONS / 4; i++) {
+            query.run();
+        }
+        long[] samples = new long[ITERATIONS];
+        for (int i = 0; i < ITERATIONS; i++) {
+            long start = System.nanoTime();
+            query.run();
+            samples[i] = (System.nanoTime() - start) / 1_000;
+        }
+        Arrays.sort(samples);
+        return samples[ITERATIONS / 2];
+    }
+}
@@ -0,0 +1,215 @@
+package com.antajia.app.reservationapi;
+
+import com.antajia.app.reservationapi.config.CacheConfig;
+import com.antajia.app.reservationapi.dtos.ReservationDto;
+import com.antajia.app.reservationapi.dtos.ReservationPage;
+import com.antajia.app.reservationapi.exceptions.InvalidReservationException;
+import com.antajia.app.reservationapi.models.ContactMethod;
+import com.antajia.app.reservationapi.models.OutboxEvent;
+import com.antajia.app.reservationapi.models.Reservation;
+import com.antajia.app.reservationapi.repositories.ContactMethodRepository;
+import com.antajia.app.reservationapi.repositories.OutboxEventRepository;
+import com.antajia.app.reservationapi.repositories.ReservationRepository;
+import com.antajia.app.reservationapi.services.ReservationService;
+import com.antajia.app.reservationapi.services.notifications.NotificationEvent;
+import com.antajia.app.reservationapi.utils.ReservationCursor;
+import com.antajia.app.reservationapi.utils.SqlStatementCounter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.transaction.TestTransaction;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Asserts that the GET read path costs a constant number of SQL statements, whatever the page size.
+ */
+@SpringBootTest
+@ActiveProfiles("local")
+@Transactional
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class ReservationReadPathTests {
+
+    private static final int EXTRA_RESERVATIONS = 40;
+
+    @Autowired
+    private ReservationService reservationService;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private ContactMethodRepository contactMethodRepository;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager.getCache(CacheConfig.RESERVATIONS_CACHE).clear();
+        Set<ContactMethod> contactMethods = contactMethodRepository.findAllByNameIn(Set.of("Email", "SMS"));
+        for (int i = 0; i < EXTRA_RESERVATIONS; i++) {
+            reservationRepository.save(new Reservation("Guest " + i, "+63900000" + i, "guest" + i + "@test.com",
+                    LocalDate.of(2025, 1, 1).plusDays(i % 7), LocalTime.of(18, 0), 2, new HashSet<>(contactMethods)));
+        }
+        entityManager.flush();
+        entityManager.clear();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void getReservationPage_ShouldUseConstantStatementCount_RegardlessOfPageSize() {
+        ReservationPage smallPage = reservationService.getReservationPage(ReservationCursor.first(ReservationCursor.SortKey.ID), 5);
+        long smallPageStatements = statistics.getPrepareStatementCount();
+
+        entityManager.clear();
+        statistics.clear();
+        ReservationPage largePage = reservationService.getReservationPage(ReservationCursor.first(ReservationCursor.SortKey.RESERVATION_DATE), EXTRA_RESERVATIONS);
+        long largePageStatements = statistics.getPrepareStatementCount();
+
+        assertEquals(2, smallPageStatements);
+        assertEquals(smallPageStatements, largePageStatements);
+        assertEquals(5, smallPage.getItems().size());
+        assertEquals(EXTRA_RESERVATIONS, largePage.getItems().size());
+        largePage.getItems().forEach(reservation -> assertFalse(reservation.getContactMethods().isEmpty()));
+    }
+
+    @Test
+    void getReservationById_ShouldUseSingleStatement() {
+        Long id = reservationService.getReservationPage(ReservationCursor.first(ReservationCursor.SortKey.ID), 1)
+                .getItems().get(0).getId();
+        entityManager.clear();
+        statistics.clear();
+
+        ReservationDto reservation = reservationService.getReservationById(id).orElseThrow();
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertFalse(reservation.getContactMethods().isEmpty());
+    }
+
+    @Test
+    void sqlStatementCounter_ShouldMatchHibernateStatistics() {
+        SqlStatementCounter.start();
+        reservationService.getReservationPage(ReservationCursor.first(ReservationCursor.SortKey.ID), 5);
+
+        assertEquals(statistics.getPrepareStatementCount(), SqlStatementCounter.stop());
+        assertEquals(0, SqlStatementCounter.stop());
+    }
+
+    @Test
+    void getReservationById_ShouldServeRepeatedLookupsFromCache_UntilAnUpdateCommits() {
+        Long id = reservationService.getReservationPage(ReservationCursor.first(ReservationCursor.SortKey.ID), 1)
+                .getItems().get(0).getId();
+        ReservationDto cached = reservationService.getReservationById(id).orElseThrow();
+        statistics.clear();
+
+        assertEquals(cached, reservationService.getReservationById(id).orElseThrow());
+        assertEquals(0, statistics.getPrepareStatementCount());
+
+        ReservationDto update = new ReservationDto("Renamed Guest", cached.getPhoneNumber(), cached.getEmail(),
+                cached.getReservationDate(), cached.getReservationTime(), cached.getNumberOfGuests(), cached.getContactMethods());
+        reservationService.updateReservation(id, update, null);
+        entityManager.flush();
+        entityManager.clear();
+
+        // Not committed yet, and rolled back below, so the cached copy is still the right one.
+        assertEquals(cached, reservationService.getReservationById(id).orElseThrow());
+        TestTransaction.end();
+        assertEquals(cached, reservationService.getReservationById(id).orElseThrow());
+
+        // From here on each call commits on its own.
+        try {
+            reservationService.updateReservation(id, update, null);
+            assertEquals("Renamed Guest", reservationService.getReservationById(id).orElseThrow().getName());
+        } finally {
+            reservationService.updateReservation(id, new ReservationDto(cached.getName(), cached.getPhoneNumber(),
+                    cached.getEmail(), cached.getReservationDate(), cached.getReservationTime(),
+                    cached.getNumberOfGuests(), cached.getContactMethods()), null);
+        }
+    }
+
+    @Test
+    void patchReservation_ShouldWriteChangedColumnOnly_WithoutTouchingContactMethods() throws Exception {
+        ReservationDto original = reservationService.getReservationPage(ReservationCursor.first(ReservationCursor.SortKey.ID), 1)
+                .getItems().get(0);
+        int guests = original.getNumberOfGuests() + 1;
+        entityManager.clear();
+        statistics.clear();
+
+        ReservationDto patched = reservationService.patchReservation(original.getId(),
+                new ObjectMapper().readTree("{\"number_of_guests\": " + guests + "}"), null).orElseThrow();
+
+        assertEquals(guests, patched.getNumberOfGuests());
+        assertEquals(original.getName(), patched.getName());
+        assertEquals(original.getContactMethods(), patched.getContactMethods());
+        assertEquals(1, statistics.getEntityUpdateCount());
+        assertEquals(0, statistics.getCollectionUpdateCount());
+        assertEquals(0, statistics.getCollectionRecreateCount());
+        // Load, single-column UPDATE, and the contact methods of the response; the outbox row goes over plain JDBC.
+        assertEquals(3, statistics.getPrepareStatementCount());
+        List<OutboxEvent> outbox = outboxEventRepository.findByReservationIdOrderByIdAsc(original.getId());
+        assertEquals(1, outbox.size());
+        assertEquals(NotificationEvent.UPDATED, outbox.get(0).getEventType());
+    }
+
+    @Test
+    void patchReservation_ShouldRejectNumberOfGuests_ThatIsNotAWholeNumber() throws Exception {
+        ReservationDto original = reservationService.getReservationPage(ReservationCursor.first(ReservationCursor.SortKey.ID), 1)
+                .getItems().get(0);
+        ObjectMapper objectMapper = new ObjectMapper();
+
+        for (String guests : List.of("6.5", "6.0", "\"6\"", "1e10")) {
+            assertThrows(InvalidReservationException.class, () -> reservationService.patchReservation(original.getId(),
+                    objectMapper.readTree("{\"number_of_guests\": " + guests + "}"), null));
+        }
+        entityManager.clear();
+
+        assertEquals(original.getNumberOfGuests(), reservationService.getReservationById(original.getId())
+                .orElseThrow().getNumberOfGuests());
+    }
+
+    @Test
+    void streamAllReservations_ShouldLoadContactMethodsPerChunk() {
+        List<ReservationDto> streamed = new ArrayList<>();
+
+        reservationService.streamAllReservations(streamed::add);
+
+        // One streaming query plus one contact method query for the single chunk.
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertEquals(reservationRepository.count(), streamed.size());
+        streamed.forEach(reservation -> assertTrue(reservation.getContactMethods() != null));
+    }
+}
@@ -0,0 +1,86 @@
+package com.antajia.app.reservationapi;
+
+import com.antajia.app.reservationapi.models.ContactMethod;
+import com.antajia.app.reservationapi.models.Reservation;
+import com.antajia.app.reservationapi.models.RetentionRun;
+import com.antajia.app.reservationapi.repositories.ContactMethodRepository;
+import com.antajia.app.reservationapi.repositories.ReservationRepository;
+import com.antajia.app.reservationapi.repositories.RetentionRunRepository;
+import com.antajia.app.reservationapi.services.ReservationRetentionService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@ActiveProfiles("local")
+@Transactional
+class ReservationRetentionServiceTests {
+
+    private static final LocalDate CUTOFF = LocalDate.of(2001, 1, 1);
+
+    @Autowired
+    private ReservationRetentionService retentionService;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private ContactMethodRepository contactMethodRepository;
+
+    @Autowired
+    private RetentionRunRepository retentionRunRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Test
+    void archiveBefore_ShouldMovePastReservationsAndTheirContactMethods() {
+        Set<ContactMethod> contactMethods = contactMethodRepository.findAllByNameIn(Set.of("Email", "SMS"));
+        List<Long> pastIds = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            pastIds.add(reservationRepository.save(new Reservation("Past Guest " + i, "+6390000000" + i, "past" + i + "@test.com",
+                    CUTOFF.minusDays(i + 1), LocalTime.of(19, 0), 2, new HashSet<>(contactMethods))).getId());
+        }
+        Long currentId = reservationRepository.save(new Reservation("Current Guest", "+639000000009", "current@test.com",
+                CUTOFF, LocalTime.of(19, 0), 2, new HashSet<>(contactMethods))).getId();
+        entityManager.flush();
+        entityManager.clear();
+
+        long moved = retentionService.archiveBefore(CUTOFF);
+        entityManager.clear();
+
+        assertEquals(pastIds.size(), moved);
+        pastIds.forEach(id -> assertFalse(reservationRepository.existsById(id)));
+        assertTrue(reservationRepository.existsById(currentId));
+        assertEquals(pastIds.size(), jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM reservations_archive WHERE reservation_date < ?", Integer.class, CUTOFF));
+        assertEquals(pastIds.size() * contactMethods.size(), jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM reservation_contact_methods_archive a JOIN reservations_archive r ON r.id = a.reservation_id " +
+                        "WHERE r.reservation_date < ?", Integer.class, CUTOFF));
+        RetentionRun run = retentionRunRepository.findAll().stream()
+                .filter(candidate -> candidate.getCutoff().equals(CUTOFF))
+                .findFirst()
+                .orElseThrow();
+        assertEquals(RetentionRun.Status.COMPLETED, run.getStatus());
+        assertEquals(pastIds.size(), run.getRowsMoved());
+    }
+}
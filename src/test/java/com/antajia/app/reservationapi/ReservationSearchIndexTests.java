@@ -0,0 +1,68 @@
+package com.antajia.app.reservationapi;
+
+import com.antajia.app.reservationapi.repositories.ReservationRepository;
+import com.antajia.app.reservationapi.services.ReservationSearchIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ReservationSearchIndexTests {
+
+    private final ReservationSearchIndex index = new ReservationSearchIndex(Mockito.mock(ReservationRepository.class),
+            Mockito.mock(TransactionTemplate.class));
+
+    @BeforeEach
+    void setUp() {
+        index.put(1L, "James Hetfield", "james@metalworld.com", "+1 (098) 765-4321");
+        index.put(2L, "Karl Roy", "karl@pot.com", "1234567890");
+        index.put(3L, "Jos\u00e9 Jameson", "jj@example.com", "555 0100");
+    }
+
+    @Test
+    void search_ShouldMatchNameWordPrefixes_IgnoringCaseAndAccents() {
+        assertEquals(List.of(1L, 3L), index.search("jam", 10));
+        assertEquals(List.of(3L), index.search("JOSE", 10));
+        assertEquals(List.of(3L), index.search("jam jos", 10));
+    }
+
+    @Test
+    void search_ShouldMatchPhoneNumberStartOrEnd_IgnoringPunctuation() {
+        assertEquals(List.of(2L), index.search("123-45", 10));
+        assertEquals(List.of(1L), index.search("4321", 10));
+        assertEquals(List.of(3L), index.search("0100", 10));
+    }
+
+    @Test
+    void search_ShouldMatchEmail() {
+        assertEquals(List.of(2L), index.search("karl@p", 10));
+        assertEquals(List.of(3L), index.search("jj", 10));
+    }
+
+    @Test
+    void put_ShouldReplacePreviousTerms_AndRemoveShouldDropReservation() {
+        index.put(2L, "Karla Royce", "karla@pot.com", "1234567890");
+        assertEquals(List.of(2L), index.search("royce", 10));
+        assertTrue(index.search("karl roy", 10).contains(2L));
+
+        index.put(1L, "Kirk Hammett", "kirk@metalworld.com", null);
+        assertEquals(List.of(3L), index.search("jam", 10));
+
+        index.remove(3L);
+        assertTrue(index.search("jam", 10).isEmpty());
+        assertEquals(2, index.size());
+    }
+
+    @Test
+    void search_ShouldStopAtLimit() {
+        for (long id = 10; id < 1010; id++) {
+            index.put(id, "Guest " + id, null, null);
+        }
+        assertEquals(5, index.search("guest", 5).size());
+    }
+}
@@ -0,0 +1,135 @@
+package com.antajia.app.reservationapi;
+
+import com.antajia.app.reservationapi.dtos.ReservationDto;
+import com.antajia.app.reservationapi.exceptions.InvalidReservationException;
+import com.antajia.app.reservationapi.services.ReservationService;
+import com.antajia.app.reservationapi.services.SlotOccupancyIndex;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Races two writers on the same reservation and checks the slot occupancy index gives its seats back once, and
+ * that invalid parties never reach the index.
+ */
+@SpringBootTest(properties = {
+        "reservation.outbox.enabled=false",
+        "reservation.retention.enabled=false"
+})
+@ActiveProfiles("local")
+class ReservationSlotConcurrencyTests {
+
+    private static final LocalDate DATE = LocalDate.now().plusDays(90);
+
+    @Autowired
+    private ReservationService reservationService;
+
+    @Autowired
+    private SlotOccupancyIndex slotOccupancyIndex;
+
+    private final List<Long> created = new ArrayList<>();
+
+    @AfterEach
+    void deleteReservations() {
+        created.forEach(reservationService::deleteReservation);
+    }
+
+    @Test
+    void concurrentDeletes_ShouldReleaseTheSlotOnce() throws Exception {
+        LocalTime time = LocalTime.of(13, 0);
+        int before = booked(time);
+        Long id = create("Deleted Twice", time);
+        assertEquals(before + 4, booked(time));
+
+        List<Boolean> deleted = race(() -> reservationService.deleteReservation(id));
+
+        assertEquals(1, deleted.stream().filter(Boolean::booleanValue).count());
+        assertEquals(before, booked(time));
+    }
+
+    @Test
+    void concurrentMoves_ShouldReleaseTheOldSlotOnce() throws Exception {
+        LocalTime from = LocalTime.of(14, 0);
+        LocalTime to = LocalTime.of(15, 0);
+        int beforeFrom = booked(from);
+        int beforeTo = booked(to);
+        Long id = create("Moved Twice", from);
+
+        race(() -> reservationService.updateReservation(id, reservation("Moved Twice", to), null));
+
+        assertEquals(beforeFrom, booked(from));
+        assertEquals(beforeTo + 4, booked(to));
+    }
+
+    @Test
+    void invalidParties_ShouldBeRejected_WithoutTouchingTheSlot() {
+        LocalTime time = LocalTime.of(16, 0);
+        int before = booked(time);
+        ReservationDto negative = reservation("Negative Party", time);
+        negative.setNumberOfGuests(-3);
+
+        assertThrows(InvalidReservationException.class, () -> reservationService.createReservation(negative));
+        assertEquals(before, booked(time));
+
+        Long id = create("Shrinking Party", time);
+        ReservationDto empty = reservation("Shrinking Party", time);
+        empty.setNumberOfGuests(0);
+        assertThrows(InvalidReservationException.class, () -> reservationService.updateReservation(id, empty, null));
+        ReservationDto undated = reservation("Shrinking Party", time);
+        undated.setReservationDate(null);
+        assertThrows(InvalidReservationException.class, () -> reservationService.updateReservation(id, undated, null));
+        assertEquals(before + 4, booked(time));
+    }
+
+    private Long create(String name, LocalTime time) {
+        Long id = reservationService.createReservation(reservation(name, time)).getId();
+        created.add(id);
+        return id;
+    }
+
+    private static ReservationDto reservation(String name, LocalTime time) {
+        return new ReservationDto(name, "+639170000006", "race@test.com", DATE, time, 4, Set.of("Email"));
+    }
+
+    private int booked(LocalTime time) {
+        return slotOccupancyIndex.getAvailability(DATE, time).getBookedGuests();
+    }
+
+    private static <T> List<T> race(Callable<T> writer) throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            List<Future<T>> futures = new ArrayList<>();
+            for (int i = 0; i < 2; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return writer.call();
+                }));
+            }
+            start.countDown();
+            List<T> results = new ArrayList<>();
+            for (Future<T> future : futures) {
+                results.add(future.get());
+            }
+            return results;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
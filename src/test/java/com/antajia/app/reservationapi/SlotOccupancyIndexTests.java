@@ -0,0 +1,81 @@
+package com.antajia.app.reservationapi;
+
+import com.antajia.app.reservationapi.repositories.ReservationRepository;
+import com.antajia.app.reservationapi.services.SlotOccupancyIndex;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SlotOccupancyIndexTests {
+
+    private static final LocalDate DATE = LocalDate.of(2025, 2, 14);
+
+    private final SlotOccupancyIndex index = new SlotOccupancyIndex(Mockito.mock(ReservationRepository.class), 40, Duration.ofMinutes(30));
+
+    @Test
+    void tryReserve_ShouldNeverOverbook_UnderConcurrentBookings() throws InterruptedException {
+        AtomicInteger admitted = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            threads.add(Thread.ofPlatform().start(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                if (index.tryReserve(DATE, LocalTime.of(19, 10), 3)) {
+                    admitted.incrementAndGet();
+                }
+            }));
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(13, admitted.get());
+        assertEquals(39, index.getAvailability(DATE, LocalTime.of(19, 0)).getBookedGuests());
+    }
+
+    @Test
+    void tryMove_ShouldKeepOldBooking_WhenTargetSlotIsFull() {
+        assertTrue(index.tryReserve(DATE, LocalTime.of(18, 0), 4));
+        assertTrue(index.tryReserve(DATE, LocalTime.of(20, 0), 38));
+
+        assertFalse(index.tryMove(DATE, LocalTime.of(18, 0), 4, DATE, LocalTime.of(20, 15), 4));
+        assertEquals(4, index.getAvailability(DATE, LocalTime.of(18, 0)).getBookedGuests());
+
+        assertTrue(index.tryMove(DATE, LocalTime.of(18, 0), 4, DATE, LocalTime.of(18, 20), 10));
+        assertEquals(10, index.getAvailability(DATE, LocalTime.of(18, 0)).getBookedGuests());
+    }
+
+    @Test
+    void releaseAndMove_ShouldIgnoreSlotsBeforeTheRebuild() {
+        LocalDate yesterday = LocalDate.now().minusDays(1);
+        LocalDate tomorrow = LocalDate.now().plusDays(1);
+        index.rebuild();
+
+        index.release(yesterday, LocalTime.of(19, 0), 4);
+        assertEquals(0, index.getAvailability(yesterday, LocalTime.of(19, 0)).getBookedGuests());
+
+        assertTrue(index.tryMove(yesterday, LocalTime.of(19, 0), 4, tomorrow, LocalTime.of(19, 0), 4));
+        assertEquals(0, index.getAvailability(yesterday, LocalTime.of(19, 0)).getBookedGuests());
+        assertEquals(4, index.getAvailability(tomorrow, LocalTime.of(19, 0)).getBookedGuests());
+
+        assertTrue(index.tryMove(tomorrow, LocalTime.of(19, 0), 4, yesterday, LocalTime.of(19, 0), 4));
+        assertEquals(0, index.getAvailability(tomorrow, LocalTime.of(19, 0)).getBookedGuests());
+        assertEquals(0, index.getAvailability(yesterday, LocalTime.of(19, 0)).getBookedGuests());
+    }
+}
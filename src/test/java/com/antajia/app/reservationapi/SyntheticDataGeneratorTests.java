@@ -0,0 +1,55 @@
+package com.antajia.app.reservationapi;
+
+import com.antajia.app.reservationapi.services.ReservationSearchIndex;
+import com.antajia.app.reservationapi.utils.SyntheticDataGenerator;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = {
+        "reservation.synthetic-data.reservations=3000",
+        "reservation.synthetic-data.chunk-size=1000",
+        "reservation.synthetic-data.threads=3",
+        "reservation.synthetic-data.anchor-date=2025-06-01",
+        "reservation.retention.enabled=false"
+})
+@ActiveProfiles(SyntheticDataGenerator.PROFILE)
+class SyntheticDataGeneratorTests {
+
+    private static final String FINGERPRINT = "SELECT id, name, phone_number, email, reservation_date, reservation_time, " +
+            "number_of_guests FROM reservations ORDER BY id";
+
+    @Autowired
+    private SyntheticDataGenerator generator;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ReservationSearchIndex searchIndex;
+
+    @Test
+    void generate_ShouldFillDatabaseOnStartup_AndReproduceTheSameRowsFromTheSeed() throws Exception {
+        assertEquals(3000, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM reservations", Long.class));
+        assertEquals(3000, searchIndex.size());
+        assertTrue(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM reservations " +
+                "WHERE reservation_date NOT BETWEEN DATE '2024-06-01' AND DATE '2025-08-30' " +
+                "OR number_of_guests NOT BETWEEN 1 AND 12", Long.class) == 0);
+        assertTrue(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM reservation_contact_methods", Long.class) > 2000);
+        List<Map<String, Object>> generated = jdbcTemplate.queryForList(FINGERPRINT);
+
+        jdbcTemplate.update("DELETE FROM reservation_contact_methods");
+        jdbcTemplate.update("DELETE FROM reservations");
+        assertEquals(3000, generator.generate());
+
+        assertEquals(generated, jdbcTemplate.queryForList(FINGERPRINT));
+    }
+}